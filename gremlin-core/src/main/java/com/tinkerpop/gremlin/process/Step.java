@@ -110,6 +110,45 @@ public interface Step<S, E> extends Iterator<Traverser<E>>, Cloneable {
      */
     public void setLabel(final String label);
 
+    /**
+     * Get the id of this step, which is its index in the {@link Traversal}.
+     * The id is what a {@link Traverser} routes itself by, while the label is for the user.
+     * The default implementation looks the step up in its traversal, which is linear in the number of steps.
+     * As the id is read for every traverser that a step routes, implementations should hold their id and override this.
+     *
+     * @return the id of the step
+     */
+    public default int getId() {
+        return this.getTraversal().getSteps().indexOf(this);
+    }
+
+    /**
+     * Set the id of this step.
+     * The id is maintained by {@link com.tinkerpop.gremlin.process.util.TraversalHelper} as steps are added and removed.
+     * The default implementation is a no-op as the default id is looked up in the traversal.
+     *
+     * @param id the id for this step
+     */
+    public default void setId(final int id) {
+
+    }
+
+    /**
+     * Fill the provided array, from its first index on, with the next traversers of the step.
+     * Fewer traversers than the length of the array may be provided even if the step is not exhausted.
+     * By default, the step is adapted to batches by iterating it one traverser at a time.
+     *
+     * @param batch the array to fill with traversers
+     * @return the number of traversers provided, where 0 denotes that the step has no more traversers
+     */
+    public default int nextBatch(final Traverser.Admin<E>[] batch) {
+        int count = 0;
+        while (count < batch.length && this.hasNext()) {
+            batch[count++] = (Traverser.Admin<E>) this.next();
+        }
+        return count;
+    }
+
     /**
      * A static singleton denoting that the current "spot" in the Step contains no object.
      */
@@ -17,7 +17,6 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiConsumer;
@@ -172,15 +171,12 @@ public interface Traversal<S, E> extends Iterator<E>, Cloneable {
      * @return the collection now filled
      */
     public default <C extends Collection<E>> C fill(final C collection) {
-        try {
-            this.applyStrategies(TraversalEngine.STANDARD);
-            // use the end step so the results are bulked
-            final Step<?, E> endStep = TraversalHelper.getEnd(this);
-            while (true) {
-                final Traverser<E> traverser = endStep.next();
-                TraversalHelper.addToCollection(collection, traverser.get(), traverser.bulk());
-            }
-        } catch (final NoSuchElementException ignored) {
+        this.applyStrategies(TraversalEngine.STANDARD);
+        // use the end step so the results are bulked
+        final Step<?, E> endStep = TraversalHelper.getEnd(this);
+        while (endStep.hasNext()) {
+            final Traverser<E> traverser = endStep.next();
+            TraversalHelper.addToCollection(collection, traverser.get(), traverser.bulk());
         }
         return collection;
     }
@@ -193,14 +189,11 @@ public interface Traversal<S, E> extends Iterator<E>, Cloneable {
      * @return the fully drained traversal
      */
     public default Traversal iterate() {
-        try {
-            this.applyStrategies(TraversalEngine.STANDARD);
-            // use the end step so the results are bulked
-            final Step<?, E> endStep = TraversalHelper.getEnd(this);
-            while (true) {
-                endStep.next();
-            }
-        } catch (final NoSuchElementException ignored) {
+        this.applyStrategies(TraversalEngine.STANDARD);
+        // use the end step so the results are bulked
+        final Step<?, E> endStep = TraversalHelper.getEnd(this);
+        while (endStep.hasNext()) {
+            endStep.next();
         }
         return this;
     }
@@ -214,12 +207,8 @@ public interface Traversal<S, E> extends Iterator<E>, Cloneable {
      * @param <E2>     the known output type of the traversal
      */
     public default <E2> void forEachRemaining(final Class<E2> endType, final Consumer<E2> consumer) {
-        try {
-            while (true) {
-                consumer.accept((E2) next());
-            }
-        } catch (final NoSuchElementException ignore) {
-
+        while (this.hasNext()) {
+            consumer.accept((E2) this.next());
         }
     }
 
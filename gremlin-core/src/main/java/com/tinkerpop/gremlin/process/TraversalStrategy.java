@@ -29,4 +29,16 @@ public interface TraversalStrategy {
         return Collections.emptySet();
     }
 
+    /**
+     * Whether the strategy decides how to change a traversal by the classes and labels of its steps alone and only
+     * changes a traversal by adding, removing and reordering its steps.  If so, a strategy that leaves a traversal as
+     * it is leaves every traversal of the same shape as it is, and so may be skipped for that shape by a
+     * {@link com.tinkerpop.gremlin.process.util.TraversalPlanCache}.
+     *
+     * @return whether the strategy depends only on the shape of a traversal
+     */
+    public default boolean dependsOnlyOnShape() {
+        return false;
+    }
+
 }
@@ -100,7 +100,18 @@ public interface Traverser<T> extends Serializable, Comparable<Traverser<T>> {
      */
     public interface Admin<T> extends Traverser<T>, Attachable<Admin<T>> {
 
-        public static final String HALT = Graph.System.system("halt");
+        /**
+         * The step id of a traverser that has no future step.
+         */
+        public static final int HALT = -1;
+
+        /**
+         * The future of a traverser that has no future step.
+         *
+         * @deprecated As of release 3.0.0.M6, compare {@link Traverser.Admin#getStepId()} to {@link Traverser.Admin#HALT}.
+         */
+        @Deprecated
+        public static final String HALT_FUTURE = Graph.System.system("halt");
 
         /**
          * Set the current object location of the traverser.
@@ -129,21 +140,53 @@ public interface Traverser<T> extends Serializable, Comparable<Traverser<T>> {
         public void resetLoops();
 
         /**
-         * Return the future step of the traverser as signified by the steps as-label.
+         * Return the id of the future step of the traverser, which is the index of the step in its traversal.
          * This is typically used in multi-machine systems that require the movement of
          * traversers between different traversal instances.
          *
-         * @return The future step for the traverser
+         * @return The id of the future step for the traverser
          */
-        public String getFuture();
+        public int getStepId();
 
         /**
-         * Set the future of the traverser as signified by the step's label.
+         * Set the future of the traverser as signified by the step's id.
          * If the future is {@link Traverser.Admin#HALT}, then {@link Traverser.Admin#isHalted()} is true.
          *
+         * @param stepId The id of the future step of the traverser
+         */
+        public void setStepId(final int stepId);
+
+        /**
+         * Return the future step of the traverser as signified by the default label of the step with its id.
+         *
+         * @return The future step for the traverser
+         * @deprecated As of release 3.0.0.M6, replaced by {@link Traverser.Admin#getStepId()}.
+         */
+        @Deprecated
+        public default String getFuture() {
+            final int stepId = this.getStepId();
+            return HALT == stepId ? HALT_FUTURE : Graph.System.system(Integer.toString(stepId));
+        }
+
+        /**
+         * Set the future of the traverser as signified by the default label of a step, which is the system key of
+         * its id.  A label given by the user can not be resolved to a step without its traversal.
+         *
          * @param label The future labeled step of the traverser
+         * @deprecated As of release 3.0.0.M6, replaced by {@link Traverser.Admin#setStepId(int)}.
          */
-        public void setFuture(final String label);
+        @Deprecated
+        public default void setFuture(final String label) {
+            if (label.equals(HALT_FUTURE))
+                this.setStepId(HALT);
+            else {
+                try {
+                    this.setStepId(Integer.parseInt(Graph.System.unSystem(label)));
+                } catch (final NumberFormatException e) {
+                    throw new IllegalArgumentException("The label does not signify a step id, use setStepId() instead: " + label);
+                }
+            }
+        }
 
         /**
          * Set the number of traversers represented by this traverser.
@@ -159,13 +202,13 @@ public interface Traverser<T> extends Serializable, Comparable<Traverser<T>> {
          * @return Whether the traverser is done executing or not
          */
         public default boolean isHalted() {
-            return getFuture().equals(HALT);
+            return HALT == getStepId();
         }
 
         /*
           A helper that sets the future of the traverser to {@link Traverser.Admin#HALT}.
         public default void halt() {
-            this.setFuture(HALT);
+            this.setStepId(HALT);
         } */
 
         /**
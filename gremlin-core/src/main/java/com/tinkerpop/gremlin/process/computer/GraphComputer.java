@@ -52,6 +52,19 @@ public interface GraphComputer {
      */
     public GraphComputer mapReduce(final MapReduce mapReduce);
 
+    /**
+     * Checkpoint the state of the {@link VertexProgram} every so many supersteps such that, if the computation fails,
+     * submitting it again resumes it from its latest checkpoint.
+     * If the {@link GraphComputer} does not support checkpointing then an {@link UnsupportedOperationException} is thrown.
+     *
+     * @param location   the location that the checkpoints are written to
+     * @param supersteps the number of supersteps between checkpoints
+     * @return the updated GraphComputer with checkpointing enabled
+     */
+    public default GraphComputer checkpoint(final String location, final int supersteps) {
+        throw Exceptions.checkpointingNotSupported();
+    }
+
     /**
      * Submit the {@link VertexProgram} and the set of {@link MapReduce} jobs for execution by the {@link GraphComputer}.
      *
@@ -117,6 +130,10 @@ public interface GraphComputer {
             return true;
         }
 
+        public default boolean supportsCheckpointing() {
+            return false;
+        }
+
     }
 
     public static class Exceptions {
@@ -151,6 +168,10 @@ public interface GraphComputer {
         public static IllegalStateException computerHasNoVertexProgramNorMapReducers() {
             return new IllegalStateException("The computer has no vertex program or map reducers to execute");
         }
+
+        public static UnsupportedOperationException checkpointingNotSupported() {
+            return new UnsupportedOperationException("Checkpointing is not supported by this graph computer");
+        }
     }
 
 }
@@ -0,0 +1,24 @@
+package com.tinkerpop.gremlin.process.computer;
+
+import java.io.Serializable;
+
+/**
+ * A {@link MessageCombiner} allows two messages in route to the same vertex to be aggregated into a single message.
+ * Message combining can reduce the number of messages sent between vertices and thus, reduce network traffic and
+ * memory consumption.  Not all messages can be combined and thus, this is an optional feature of a
+ * {@link VertexProgram}.  A {@link GraphComputer} may combine any subset of the messages sent to a vertex, in any
+ * order, so the combination must be commutative and associative.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface MessageCombiner<M> extends Serializable {
+
+    /**
+     * Combine two messages and return a message containing the combination.
+     *
+     * @param messageA the first message
+     * @param messageB the second message
+     * @return the combination of the two messages
+     */
+    public M combine(final M messageA, final M messageB);
+}
@@ -5,6 +5,7 @@ import org.apache.commons.configuration.Configuration;
 
 import java.lang.reflect.Constructor;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -130,11 +131,15 @@ public interface VertexProgram<M> {
         return Collections.emptySet();
     }
 
-    /*
-     * DO NOT USE YET.
+    /**
+     * Combines the messages sent to the same vertex within an iteration.  A {@link GraphComputer} may use the
+     * combiner to reduce the messages it holds, though it is not required to.  The default is no combiner.
+     *
+     * @return the optional {@link MessageCombiner} of the messages of the vertex program
+     */
     public default Optional<MessageCombiner<M>> getMessageCombiner() {
         return Optional.empty();
-    }*/
+    }
 
     /**
      * The set of {@link MapReduce} jobs that are associated with the {@link VertexProgram}.
@@ -227,5 +232,15 @@ public interface VertexProgram<M> {
         public default boolean requiresAdjacentVertexDeepReference() {
             return false;
         }
+
+        /**
+         * Whether a vertex is only active, after the initial iteration, when it has received messages.  When true,
+         * {@link VertexProgram#execute} does nothing for a vertex without messages and a {@link GraphComputer} need
+         * only execute the vertices that were sent messages in the previous iteration.  Unlike the requirements above, a
+         * {@link GraphComputer} may ignore it and execute every vertex.
+         */
+        public default boolean isActiveOnlyOnMessages() {
+            return false;
+        }
     }
 }
@@ -151,12 +151,12 @@ public class LambdaMapReduce<MK, MV, RK, RV, R> implements MapReduce<MK, MV, RK,
 
         //
 
-        public Builder<MK, MV, RK, RV, R> mapKeySort(final Comparator<MK> comparator) {
+        public Builder<MK, MV, RK, RV, R> mapKeySort(final Supplier<Comparator<MK>> comparator) {
             LambdaHolder.storeState(this.configuration, LambdaHolder.Type.OBJECT, MAP_KEY_SORT, comparator);
             return this;
         }
 
-        public Builder<MK, MV, RK, RV, R> mapKeySort(final Class<? extends Comparator<MK>> comparatorClass) {
+        public Builder<MK, MV, RK, RV, R> mapKeySort(final Class<? extends Supplier<Comparator<MK>>> comparatorClass) {
             LambdaHolder.storeState(this.configuration, LambdaHolder.Type.CLASS, MAP_KEY_SORT, comparatorClass);
             return this;
         }
@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.marker.CountTraversal;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Vertex;
@@ -47,7 +48,9 @@ public class PageRankStep extends AbstractStep<Vertex, Pair<Vertex, Double>> {
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
-        final Traverser.Admin<Vertex> traverser = this.starts.next();
+        final Traverser.Admin<Vertex> traverser = this.starts.poll();
+        if (EmptyTraverser.<Vertex>end() == traverser)
+            return EmptyTraverser.end();
         final Vertex vertex = traverser.get();
         return traverser.makeChild(this.getLabel(), new Pair<>(vertex, (Double) this.resultantGraph.v(vertex.id()).value(PageRankVertexProgram.PAGE_RANK)));
     }
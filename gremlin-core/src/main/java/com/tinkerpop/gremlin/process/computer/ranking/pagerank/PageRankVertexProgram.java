@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.process.computer.ranking.pagerank;
 
 import com.tinkerpop.gremlin.process.computer.Memory;
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
 import com.tinkerpop.gremlin.process.computer.MessageType;
 import com.tinkerpop.gremlin.process.computer.Messenger;
 import com.tinkerpop.gremlin.process.computer.VertexProgram;
@@ -13,11 +14,11 @@ import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
-import com.tinkerpop.gremlin.util.StreamFactory;
 import org.apache.commons.configuration.Configuration;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -35,11 +36,15 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private static final String ALPHA = "gremlin.pageRankVertexProgram.alpha";
     private static final String TOTAL_ITERATIONS = "gremlin.pageRankVertexProgram.totalIterations";
     private static final String INCIDENT_TRAVERSAL_SUPPLIER = "gremlin.pageRankVertexProgram.incidentTraversalSupplier";
+    private static final String MESSAGE_COMBINER = "gremlin.pageRankVertexProgram.messageCombiner";
+
+    private static final MessageCombiner<Double> SUM_COMBINER = (a, b) -> a + b;
 
     private LambdaHolder<Supplier<CountTraversal<Vertex, Edge>>> traversalSupplier;
     private double vertexCountAsDouble = 1;
     private double alpha = 0.85d;
     private int totalIterations = 30;
+    private boolean combineMessages = true;
 
     private static final Set<String> COMPUTE_KEYS = new HashSet<>(Arrays.asList(PAGE_RANK, EDGE_COUNT));
 
@@ -57,6 +62,7 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         this.vertexCountAsDouble = configuration.getDouble(VERTEX_COUNT, 1.0d);
         this.alpha = configuration.getDouble(ALPHA, 0.85d);
         this.totalIterations = configuration.getInt(TOTAL_ITERATIONS, 30);
+        this.combineMessages = configuration.getBoolean(MESSAGE_COMBINER, true);
     }
 
     @Override
@@ -65,6 +71,7 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         configuration.setProperty(VERTEX_COUNT, this.vertexCountAsDouble);
         configuration.setProperty(ALPHA, this.alpha);
         configuration.setProperty(TOTAL_ITERATIONS, this.totalIterations);
+        configuration.setProperty(MESSAGE_COMBINER, this.combineMessages);
         if (null != this.traversalSupplier) {
             this.traversalSupplier.storeState(configuration);
         }
@@ -75,6 +82,11 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         return COMPUTE_KEYS;
     }
 
+    @Override
+    public Optional<MessageCombiner<Double>> getMessageCombiner() {
+        return this.combineMessages ? Optional.of(SUM_COMBINER) : Optional.empty();
+    }
+
     @Override
     public void setup(final Memory memory) {
 
@@ -89,10 +101,13 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             vertex.singleProperty(EDGE_COUNT, edgeCount);
             messenger.sendMessage(this.messageType, initialPageRank / edgeCount);
         } else {
-            double newPageRank = StreamFactory.stream(messenger.receiveMessages(this.messageType)).reduce(0.0d, (a, b) -> a + b);
+            double newPageRank = 0.0d;
+            for (final double message : messenger.receiveMessages(this.messageType)) {
+                newPageRank = newPageRank + message;
+            }
             newPageRank = (this.alpha * newPageRank) + ((1.0d - this.alpha) / this.vertexCountAsDouble);
             vertex.singleProperty(PAGE_RANK, newPageRank);
-            messenger.sendMessage(this.messageType, newPageRank / vertex.<Double>property(EDGE_COUNT).orElse(0.0d));
+            messenger.sendMessage(this.messageType, newPageRank / vertex.value(EDGE_COUNT, 0.0d));
         }
     }
 
@@ -147,6 +162,15 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             return this;
         }
 
+        /**
+         * Determines if the page rank messages sent to a vertex are summed as they are sent.  It defaults to
+         * {@code true}.
+         */
+        public Builder messageCombiner(final boolean combineMessages) {
+            this.configuration.setProperty(MESSAGE_COMBINER, combineMessages);
+            return this;
+        }
+
         public Builder vertexCount(final long vertexCount) {
             this.configuration.setProperty(VERTEX_COUNT, (double) vertexCount);
             return this;
@@ -54,7 +54,7 @@ public final class TraverserExecutor {
             // process local traversers and if alive, repeat, else halt.
             aliveTraversers.clear();
             toProcessTraversers.forEach(start -> {
-                final Step<?, ?> step = TraversalHelper.getStep(start.getFuture(), traversal);
+                final Step<?, ?> step = TraversalHelper.getStep(start.getStepId(), traversal);
                 step.addStart((Traverser.Admin) start);
                 step.forEachRemaining(end -> {
                     if (end.asAdmin().isHalted()) {
@@ -82,7 +82,6 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -640,21 +639,17 @@ public interface GraphTraversal<S, E> extends Traversal<S, E>, CountTraversal<S,
 
     @Override
     public default void remove() {
-        try {
-            this.applyStrategies(TraversalEngine.STANDARD);
-            final Step<?, E> endStep = TraversalHelper.getEnd(this);
-            while (true) {
-                final Object object = endStep.next().get();
-                if (object instanceof Element)
-                    ((Element) object).remove();
-                else if (object instanceof Property)
-                    ((Property) object).remove();
-                else {
-                    throw new IllegalStateException("The following object does not have a remove() method: " + object);
-                }
+        this.applyStrategies(TraversalEngine.STANDARD);
+        final Step<?, E> endStep = TraversalHelper.getEnd(this);
+        while (endStep.hasNext()) {
+            final Object object = endStep.next().get();
+            if (object instanceof Element)
+                ((Element) object).remove();
+            else if (object instanceof Property)
+                ((Property) object).remove();
+            else {
+                throw new IllegalStateException("The following object does not have a remove() method: " + object);
             }
-        } catch (final NoSuchElementException ignored) {
-
         }
     }
 
@@ -1,5 +1,6 @@
 package com.tinkerpop.gremlin.process.graph.step.branch;
 
+import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.graph.marker.EngineDependent;
@@ -46,25 +47,27 @@ public class BranchStep<S> extends AbstractStep<S, S> implements EngineDependent
         while (true) {
             if (!this.graphComputerQueue.isEmpty())
                 return this.graphComputerQueue.remove();
-            final Traverser<S> traverser = this.starts.next();
+            final Traverser<S> traverser = this.starts.poll();
+            if (EmptyTraverser.end() == traverser)
+                return traverser;
             while (!this.functionRing.roundComplete()) {
                 final String goTo = this.functionRing.next().apply(traverser);
                 if (THIS_BREAK_LABEL.equals(goTo)) {
                     final Traverser.Admin<S> sibling = traverser.asAdmin().makeSibling();
-                    sibling.setFuture(this.getNextStep().getLabel());
+                    sibling.setStepId(this.getNextStep().getId());
                     sibling.resetLoops();
                     this.graphComputerQueue.add(sibling);
                     break;
                 } else if (THIS_LABEL.equals(goTo)) {
                     final Traverser.Admin<S> sibling = traverser.asAdmin().makeSibling();
-                    sibling.setFuture(this.getNextStep().getLabel());
+                    sibling.setStepId(this.getNextStep().getId());
                     sibling.resetLoops();
                     this.graphComputerQueue.add(sibling);
                 } else if (!EMPTY_LABEL.equals(goTo)) {
                     final Traverser.Admin<S> sibling = traverser.asAdmin().makeSibling();
                     if (TraversalHelper.relativeLabelDirection(this, goTo) == -1)
                         sibling.incrLoops();
-                    sibling.setFuture(goTo);
+                    sibling.setStepId(TraversalHelper.getStep(goTo, this.getTraversal()).getId());
                     this.graphComputerQueue.add(sibling);
                 }
             }
@@ -73,7 +76,9 @@ public class BranchStep<S> extends AbstractStep<S, S> implements EngineDependent
     }
 
     private final Traverser<S> standardAlgorithm() {
-        final Traverser<S> traverser = this.starts.next();
+        final Traverser<S> traverser = this.starts.poll();
+        if (EmptyTraverser.end() == traverser)
+            return traverser;
         while (!this.functionRing.roundComplete()) {
             // TODO: if its a jumpBack, you have to incr the loop prior to the function execution.
             // TODO: but you don't know if the label is jump back until you execute the function.
@@ -81,22 +86,21 @@ public class BranchStep<S> extends AbstractStep<S, S> implements EngineDependent
             if (THIS_BREAK_LABEL.equals(goTo)) {
                 final Traverser.Admin<S> sibling = traverser.asAdmin().makeSibling();
                 sibling.resetLoops();
-                sibling.setFuture(this.getNextStep().getLabel());
+                sibling.setStepId(this.getNextStep().getId());
                 this.getNextStep().addStart(sibling);
                 break;
             } else if (THIS_LABEL.equals(goTo)) {
                 final Traverser.Admin<S> sibling = traverser.asAdmin().makeSibling();
                 sibling.resetLoops();
-                sibling.setFuture(this.getNextStep().getLabel());
+                sibling.setStepId(this.getNextStep().getId());
                 this.getNextStep().addStart(sibling);
             } else if (!EMPTY_LABEL.equals(goTo)) {
                 final Traverser.Admin<S> sibling = traverser.asAdmin().makeSibling();
                 if (TraversalHelper.relativeLabelDirection(this, goTo) == -1)
                     sibling.incrLoops();
-                sibling.setFuture(goTo);
-                TraversalHelper.<S, Object>getStep(goTo, this.getTraversal())
-                        .getNextStep()
-                        .addStart((Traverser) sibling);
+                final Step<?, ?> goToStep = TraversalHelper.getStep(goTo, this.getTraversal());
+                sibling.setStepId(goToStep.getId());
+                goToStep.getNextStep().addStart((Traverser) sibling);
             }
         }
         this.functionRing.reset();
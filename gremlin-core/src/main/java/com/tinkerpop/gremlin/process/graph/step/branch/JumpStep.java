@@ -6,6 +6,7 @@ import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.graph.marker.EngineDependent;
 import com.tinkerpop.gremlin.process.TraversalEngine;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.process.util.TraversalMetrics;
 import com.tinkerpop.gremlin.process.util.TraverserSet;
@@ -22,6 +23,7 @@ public final class JumpStep<S> extends AbstractStep<S, S> implements EngineDepen
 
     private String jumpLabel;
     private Step jumpToStep;
+    private int jumpToStepId;
     /////////////////////
     private Predicate<Traverser<S>> jumpPredicate;
     private Pair<Short, Compare> jumpLoops;
@@ -62,22 +64,24 @@ public final class JumpStep<S> extends AbstractStep<S, S> implements EngineDepen
             // TODO: getNextStep() may be dependent on whether its a jump back or a jump forward
         }
         while (true) {
-            final Traverser.Admin<S> traverser = this.starts.next();
+            final Traverser.Admin<S> traverser = this.starts.poll();
+            if (EmptyTraverser.end() == traverser)
+                return traverser;
             if (PROFILING_ENABLED) TraversalMetrics.start(this);
             if (this.jumpBack) traverser.incrLoops();
             if (doJump(traverser)) {
-                traverser.setFuture(this.jumpLabel);
+                traverser.setStepId(this.jumpToStep.getId());
                 this.jumpToStep.addStart(traverser);
                 if (doEmit(traverser)) {
                     final Traverser.Admin<S> emitTraverser = traverser.makeSibling();
                     if (this.jumpBack) emitTraverser.resetLoops();
-                    emitTraverser.setFuture(this.getNextStep().getLabel());
+                    emitTraverser.setStepId(this.getNextStep().getId());
                     if (PROFILING_ENABLED) TraversalMetrics.finish(this, traverser);
                     return emitTraverser;
                 }
             } else {
                 if (this.jumpBack) traverser.resetLoops();
-                traverser.setFuture(this.getNextStep().getLabel());
+                traverser.setStepId(this.getNextStep().getId());
                 if (PROFILING_ENABLED) TraversalMetrics.finish(this, traverser);
                 return traverser;
             }
@@ -87,31 +91,34 @@ public final class JumpStep<S> extends AbstractStep<S, S> implements EngineDepen
     }
 
     private Traverser<S> computerAlgorithm() {
-        final String loopFuture = TraversalHelper.getStep(this.jumpLabel, this.traversal).getNextStep().getLabel();
-        if (null == this.jumpBack)
+        if (null == this.jumpBack) {
+            this.jumpToStepId = TraversalHelper.getStep(this.jumpLabel, this.traversal).getNextStep().getId();
             this.jumpBack = TraversalHelper.relativeLabelDirection(this, this.jumpLabel) == -1;
+        }
         while (true) {
             if (!this.queue.isEmpty()) {
                 Traverser.Admin<S> ret = this.queue.remove();
                 if (PROFILING_ENABLED) TraversalMetrics.finish(this, ret);
                 return ret;
             } else {
-                final Traverser.Admin<S> traverser = this.starts.next();
+                final Traverser.Admin<S> traverser = this.starts.poll();
+                if (EmptyTraverser.end() == traverser)
+                    return traverser;
                 if (PROFILING_ENABLED) TraversalMetrics.start(this);
 
                 if (this.jumpBack) traverser.incrLoops();
                 if (doJump(traverser)) {
-                    traverser.setFuture(loopFuture);
+                    traverser.setStepId(this.jumpToStepId);
                     this.queue.add(traverser);
                     if (doEmit(traverser)) {
                         final Traverser.Admin<S> emitTraverser = traverser.makeSibling();
                         if (this.jumpBack) emitTraverser.resetLoops();
-                        emitTraverser.setFuture(this.nextStep.getLabel());
+                        emitTraverser.setStepId(this.nextStep.getId());
                         this.queue.add(emitTraverser);
                     }
                 } else {
                     if (this.jumpBack) traverser.resetLoops();
-                    traverser.setFuture(this.nextStep.getLabel());
+                    traverser.setStepId(this.nextStep.getId());
                     this.queue.add(traverser);
                 }
 
@@ -3,6 +3,7 @@ package com.tinkerpop.gremlin.process.graph.step.branch;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.process.util.TraversalRing;
 
@@ -29,7 +30,9 @@ public final class UnionStep<S, E> extends AbstractStep<S, E> {
                 final Traversal<S, E> branch = this.traversalRing.next();
                 if (branch.hasNext()) return TraversalHelper.getEnd(branch).next();
             }
-            final Traverser.Admin<S> start = this.starts.next();
+            final Traverser.Admin<S> start = this.starts.poll();
+            if (EmptyTraverser.end() == start)
+                return EmptyTraverser.end();
             this.traversalRing.forEach(branch -> branch.addStart(start.makeSibling()));
         }
     }
@@ -3,8 +3,10 @@ package com.tinkerpop.gremlin.process.graph.step.filter;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.TraversalMetrics;
 
+import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 
 /**
@@ -13,6 +15,7 @@ import java.util.function.Predicate;
 public class FilterStep<S> extends AbstractStep<S, S> {
 
     private Predicate<Traverser<S>> predicate = null;
+    private boolean halted = false;
 
     public FilterStep(final Traversal traversal) {
         super(traversal);
@@ -22,10 +25,19 @@ public class FilterStep<S> extends AbstractStep<S, S> {
         this.predicate = predicate;
     }
 
+    /**
+     * End the traversers of the step, as when the predicate knows that no further start will pass it.
+     */
+    protected void halt() {
+        this.halted = true;
+    }
+
     @Override
     protected Traverser<S> processNextStart() {
-        while (true) {
-            final Traverser.Admin<S> traverser = this.starts.next();
+        while (!this.halted) {
+            final Traverser.Admin<S> traverser = this.starts.poll();
+            if (EmptyTraverser.end() == traverser)
+                return traverser;
             if (PROFILING_ENABLED) TraversalMetrics.start(this);
             if (this.predicate.test(traverser)) {
                 if (PROFILING_ENABLED) TraversalMetrics.finish(this, traverser);
@@ -33,5 +45,48 @@ public class FilterStep<S> extends AbstractStep<S, S> {
             }
             if (PROFILING_ENABLED) TraversalMetrics.stop(this);
         }
+        return EmptyTraverser.end();
+    }
+
+    @Override
+    protected int processNextBatch(final Traverser.Admin<S>[] batch) {
+        while (!this.halted) {
+            final int count = this.starts.nextBatch(batch);
+            if (0 == count)
+                return 0;
+            int filtered = 0;
+            try {
+                for (int i = 0; i < count; i++) {
+                    final Traverser.Admin<S> traverser = batch[i];
+                    if (PROFILING_ENABLED) TraversalMetrics.start(this);
+                    if (this.predicate.test(traverser)) {
+                        if (PROFILING_ENABLED) TraversalMetrics.finish(this, traverser);
+                        batch[filtered++] = traverser;
+                    } else {
+                        if (PROFILING_ENABLED) TraversalMetrics.stop(this);
+                        if (this.halted) return filtered;
+                    }
+                }
+            } catch (final NoSuchElementException e) {
+                // the predicate has ended the stream with an exception
+                return filtered;
+            }
+            if (filtered > 0)
+                return filtered;
+        }
+        return 0;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.halted = false;
+    }
+
+    @Override
+    public FilterStep<S> clone() throws CloneNotSupportedException {
+        final FilterStep<S> clone = (FilterStep<S>) super.clone();
+        clone.halted = false;
+        return clone;
     }
 }
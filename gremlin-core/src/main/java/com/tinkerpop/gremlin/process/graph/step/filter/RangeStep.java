@@ -2,7 +2,6 @@ package com.tinkerpop.gremlin.process.graph.step.filter;
 
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.marker.Ranging;
-import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 
 import java.util.concurrent.atomic.AtomicLong;
@@ -28,7 +27,8 @@ public final class RangeStep<S> extends FilterStep<S> implements Ranging {
 
         this.setPredicate(traverser -> {
             if (this.high != -1 && this.counter.get() >= this.high) {
-                throw FastNoSuchElementException.instance();
+                this.halt();
+                return false;
             }
 
             long avail = traverser.bulk();
@@ -53,6 +53,8 @@ public final class RangeStep<S> extends FilterStep<S> implements Ranging {
             long toEmit = avail - toSkip - toTrim;
             this.counter.getAndAdd(toSkip + toEmit);
             traverser.asAdmin().setBulk(toEmit);
+            if (this.high != -1 && this.counter.get() >= this.high)
+                this.halt();
 
             return true;
         });
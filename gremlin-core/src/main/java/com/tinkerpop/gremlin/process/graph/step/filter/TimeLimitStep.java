@@ -2,7 +2,6 @@ package com.tinkerpop.gremlin.process.graph.step.filter;
 
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.graph.marker.Reversible;
-import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 
 import java.util.concurrent.atomic.AtomicLong;
@@ -23,8 +22,10 @@ public final class TimeLimitStep<S> extends FilterStep<S> implements Reversible
         super.setPredicate(traverser -> {
             if (this.startTime.get() == -1l)
                 this.startTime.set(System.currentTimeMillis());
-            if ((System.currentTimeMillis() - this.startTime.get()) >= this.timeLimit)
-                throw FastNoSuchElementException.instance();
+            if ((System.currentTimeMillis() - this.startTime.get()) >= this.timeLimit) {
+                this.halt();
+                return false;
+            }
             return true;
         });
     }
@@ -4,10 +4,12 @@ import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.TraversalMetrics;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.function.Function;
 
 /**
@@ -17,6 +19,9 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
 
     private Function<Traverser<S>, Iterator<E>> function = null;
     private Iterator<Traverser<E>> iterator = Collections.emptyIterator();
+    private Traverser.Admin<S>[] traversers = null;
+    private int traverserIndex = 0;
+    private int traverserCount = 0;
 
     public FlatMapStep(final Traversal traversal) {
         super(traversal);
@@ -32,7 +37,9 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
             if (this.iterator.hasNext())
                 return this.iterator.next(); // timer start/finish in next() call
             else {
-                final Traverser.Admin<S> traverser = this.starts.next();
+                final Traverser.Admin<S> traverser = this.starts.poll();
+                if (EmptyTraverser.end() == traverser)
+                    return EmptyTraverser.end();
                 if (PROFILING_ENABLED) TraversalMetrics.start(this);
                 this.iterator = new FlatMapTraverserIterator<>(traverser, this.function.apply(traverser));
                 if (PROFILING_ENABLED) TraversalMetrics.stop(this);
@@ -40,10 +47,52 @@ public class FlatMapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) {
+        if (null == this.traversers || this.traversers.length != batch.length)
+            this.traversers = new Traverser.Admin[batch.length];
+        int count = 0;
+        try {
+            while (count < batch.length) {
+                if (this.iterator.hasNext())
+                    batch[count++] = (Traverser.Admin<E>) this.iterator.next(); // timer start/finish in next() call
+                else if (this.traverserIndex < this.traverserCount) {
+                    final Traverser.Admin<S> traverser = this.traversers[this.traverserIndex];
+                    this.traversers[this.traverserIndex++] = null;
+                    if (PROFILING_ENABLED) TraversalMetrics.start(this);
+                    this.iterator = new FlatMapTraverserIterator<>(traverser, this.function.apply(traverser));
+                    if (PROFILING_ENABLED) TraversalMetrics.stop(this);
+                } else if (count > 0)
+                    break;
+                else {
+                    this.traverserIndex = 0;
+                    this.traverserCount = this.starts.nextBatch(this.traversers);
+                    if (0 == this.traverserCount)
+                        break;
+                }
+            }
+        } catch (final NoSuchElementException e) {
+            // the function has ended the stream
+        }
+        return count;
+    }
+
     @Override
     public void reset() {
         super.reset();
         this.iterator = Collections.emptyIterator();
+        this.traverserIndex = 0;
+        this.traverserCount = 0;
+    }
+
+    @Override
+    public FlatMapStep<S, E> clone() throws CloneNotSupportedException {
+        final FlatMapStep<S, E> clone = (FlatMapStep<S, E>) super.clone();
+        clone.iterator = Collections.emptyIterator();
+        clone.traversers = null;
+        clone.traverserIndex = 0;
+        clone.traverserCount = 0;
+        return clone;
     }
 
     private final class FlatMapTraverserIterator<A, B> implements Iterator<Traverser<B>> {
@@ -3,8 +3,10 @@ package com.tinkerpop.gremlin.process.graph.step.map;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.TraversalMetrics;
 
+import java.util.NoSuchElementException;
 import java.util.function.Function;
 
 /**
@@ -21,7 +23,9 @@ public class MapStep<S, E> extends AbstractStep<S, E> {
     @Override
     protected Traverser<E> processNextStart() {
         while (true) {
-            final Traverser.Admin<S> traverser = this.starts.next();
+            final Traverser.Admin<S> traverser = this.starts.poll();
+            if (EmptyTraverser.end() == traverser)
+                return EmptyTraverser.end();
             if (PROFILING_ENABLED) TraversalMetrics.start(this);
 
             final E end = this.function.apply(traverser);
@@ -35,6 +39,36 @@ public class MapStep<S, E> extends AbstractStep<S, E> {
         }
     }
 
+    @Override
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) {
+        // the starts are mapped in place to the ends
+        final Traverser.Admin<S>[] traversers = (Traverser.Admin[]) batch;
+        final String label = this.getLabel();
+        while (true) {
+            final int count = this.starts.nextBatch(traversers);
+            if (0 == count)
+                return 0;
+            int mapped = 0;
+            try {
+                for (int i = 0; i < count; i++) {
+                    final Traverser.Admin<S> traverser = traversers[i];
+                    if (PROFILING_ENABLED) TraversalMetrics.start(this);
+                    final E end = this.function.apply(traverser);
+                    if (NO_OBJECT != end) {
+                        final Traverser.Admin<E> ret = traverser.makeChild(label, end);
+                        if (PROFILING_ENABLED) TraversalMetrics.finish(this, ret);
+                        batch[mapped++] = ret;
+                    } else if (PROFILING_ENABLED) TraversalMetrics.stop(this);
+                }
+            } catch (final NoSuchElementException e) {
+                // the function has ended the stream
+                return mapped;
+            }
+            if (mapped > 0)
+                return mapped;
+        }
+    }
+
     public void setFunction(final Function<Traverser<S>, E> function) {
         this.function = function;
     }
@@ -4,7 +4,7 @@ import com.tinkerpop.gremlin.process.traversers.SimpleTraverser;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
-import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.SingleIterator;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 
@@ -98,7 +98,7 @@ public final class MatchStep<S, E> extends AbstractStep<S, Map<String, E>> {
                     this.currentSolution = solveFor(new SingleIterator<>(this.currentStart.get()));
                     this.currentIndex = 0;
                 } else {
-                    throw FastNoSuchElementException.instance();
+                    return EmptyTraverser.end();
                 }
             }
 
@@ -7,10 +7,9 @@ import com.tinkerpop.gremlin.process.graph.marker.MapReducer;
 import com.tinkerpop.gremlin.process.graph.marker.SideEffectCapable;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.mapreduce.CountMapReduce;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
-import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.structure.Graph;
 
-import java.util.NoSuchElementException;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -26,14 +25,11 @@ public final class CountStep<S> extends AbstractStep<S, Long> implements SideEff
     @Override
     public Traverser<Long> processNextStart() {
         long counter = this.getTraversal().sideEffects().getOrCreate(COUNT_KEY, () -> 0l);
-        try {
-            while (true) {
-                counter = counter + this.starts.next().bulk();
-            }
-        } catch (final NoSuchElementException e) {
-            this.getTraversal().sideEffects().set(COUNT_KEY, counter);
+        for (Traverser.Admin<S> traverser = this.starts.poll(); EmptyTraverser.end() != traverser; traverser = this.starts.poll()) {
+            counter = counter + traverser.bulk();
         }
-        throw FastNoSuchElementException.instance();
+        this.getTraversal().sideEffects().set(COUNT_KEY, counter);
+        return EmptyTraverser.end();
     }
 
     @Override
@@ -6,12 +6,11 @@ import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.graph.marker.EngineDependent;
 import com.tinkerpop.gremlin.process.TraversalEngine;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
-import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.process.util.TraversalMetrics;
 import com.tinkerpop.gremlin.structure.Graph;
 
-import java.util.NoSuchElementException;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -35,11 +34,8 @@ public final class SideEffectCapStep<S, E> extends AbstractStep<S, E> implements
     private Traverser<E> standardAlgorithm() {
         if (!this.done) {
             Traverser.Admin<E> traverser = new SimpleTraverser<>((E) NO_OBJECT, this.getTraversal().sideEffects());
-            try {
-                while (true) {
-                    traverser = (Traverser.Admin<E>) this.starts.next();
-                }
-            } catch (final NoSuchElementException ignored) {
+            for (Traverser.Admin<S> start = this.starts.poll(); EmptyTraverser.end() != start; start = this.starts.poll()) {
+                traverser = (Traverser.Admin<E>) start;
             }
 
             if (PROFILING_ENABLED) TraversalMetrics.start(this);
@@ -49,14 +45,14 @@ public final class SideEffectCapStep<S, E> extends AbstractStep<S, E> implements
             if (PROFILING_ENABLED) TraversalMetrics.finish(this, traverser);
             return returnTraverser;
         } else {
-            throw FastNoSuchElementException.instance();
+            return EmptyTraverser.end();
         }
     }
 
     private Traverser<E> computerAlgorithm() {
-        while (true) {
-            this.starts.next();
+        while (EmptyTraverser.end() != this.starts.poll()) {
         }
+        return EmptyTraverser.end();
     }
 
     public void onEngine(final TraversalEngine traversalEngine) {
@@ -4,6 +4,7 @@ import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.graph.marker.Barrier;
 import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
 import com.tinkerpop.gremlin.process.util.TraversalMetrics;
 import com.tinkerpop.gremlin.process.util.TraverserSet;
 
@@ -34,6 +35,10 @@ public abstract class BarrierStep<S> extends AbstractStep<S, S> implements Barri
             if (PROFILING_ENABLED) TraversalMetrics.start(this);
         }
 
+        if (this.traverserSet.isEmpty()) {
+            if (PROFILING_ENABLED) TraversalMetrics.stop(this);
+            return EmptyTraverser.end();
+        }
         final Traverser.Admin<S> traverser = this.traverserSet.remove().makeSibling();
         if (PROFILING_ENABLED) TraversalMetrics.finish(this, traverser);
         return traverser;
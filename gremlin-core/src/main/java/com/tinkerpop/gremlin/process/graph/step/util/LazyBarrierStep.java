@@ -0,0 +1,78 @@
+package com.tinkerpop.gremlin.process.graph.step.util;
+
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.process.graph.marker.Reversible;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.EmptyTraverser;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.process.util.TraversalMetrics;
+import com.tinkerpop.gremlin.process.util.TraverserSet;
+
+/**
+ * A barrier that merges equal traversers into one traverser whose bulk is the sum of their bulks.  Unlike a
+ * {@link BarrierStep}, it does not drain its starts, but only gathers them until it holds as many traversers as its
+ * size and then emits what it holds.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class LazyBarrierStep<S> extends AbstractStep<S, S> implements Reversible {
+
+    public static final int DEFAULT_SIZE = 1000;
+
+    private final int size;
+    private TraverserSet<S> traverserSet = new TraverserSet<>();
+
+    public LazyBarrierStep(final Traversal traversal) {
+        this(traversal, DEFAULT_SIZE);
+    }
+
+    public LazyBarrierStep(final Traversal traversal, final int size) {
+        super(traversal);
+        if (size < 1)
+            throw new IllegalArgumentException("The size of the barrier must be greater than zero: " + size);
+        this.size = size;
+    }
+
+    @Override
+    protected Traverser<S> processNextStart() {
+        if (PROFILING_ENABLED) TraversalMetrics.start(this);
+        if (this.traverserSet.isEmpty()) {
+            while (this.traverserSet.size() < this.size) {
+                final Traverser.Admin<S> start = this.starts.poll();
+                if (EmptyTraverser.end() == start)
+                    break;
+                this.traverserSet.add(start);
+            }
+            if (this.traverserSet.isEmpty()) {
+                if (PROFILING_ENABLED) TraversalMetrics.stop(this);
+                return EmptyTraverser.end();
+            }
+        }
+        final Traverser.Admin<S> traverser = this.traverserSet.remove();
+        if (PROFILING_ENABLED) TraversalMetrics.finish(this, traverser);
+        return traverser;
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.traverserSet.clear();
+    }
+
+    @Override
+    public LazyBarrierStep<S> clone() throws CloneNotSupportedException {
+        final LazyBarrierStep<S> clone = (LazyBarrierStep<S>) super.clone();
+        clone.traverserSet = new TraverserSet<>();
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return TraversalHelper.makeStepString(this, this.size);
+    }
+}
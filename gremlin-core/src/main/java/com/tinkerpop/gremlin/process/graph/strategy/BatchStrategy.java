@@ -0,0 +1,50 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.graph.marker.Reducing;
+import com.tinkerpop.gremlin.process.graph.marker.TraverserSource;
+import com.tinkerpop.gremlin.process.graph.step.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+
+/**
+ * Has the {@link FilterStep}, {@link MapStep} and {@link FlatMapStep} steps that follow the start of a traversal
+ * exchange their traversers in batches, which saves the per-traverser cost of pulling them one at a time through the
+ * steps.  The steps from the first step that is not of these on are processed one traverser at a time.  As the
+ * batched steps run ahead of the rest of the traversal by up to a batch, a traversal that has labeled steps is left
+ * as it is.  This strategy is not registered by default and is to be added to the strategies of a traversal class.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class BatchStrategy extends AbstractTraversalStrategy {
+
+    public static final int BATCH_SIZE = 256;
+
+    private static final BatchStrategy INSTANCE = new BatchStrategy();
+
+    private BatchStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER))
+            return;
+        if (traversal.getSteps().stream().filter(TraversalHelper::isLabeled).findAny().isPresent())
+            return;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof TraverserSource)
+                continue;
+            if (!(step instanceof FilterStep || step instanceof MapStep || step instanceof FlatMapStep) || step instanceof Reducing)
+                break;
+            ((AbstractStep) step).setBatchSize(BATCH_SIZE);
+        }
+    }
+
+    public static BatchStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -31,6 +31,11 @@ public class ComparingRemovalStrategy extends AbstractTraversalStrategy {
         }
     }
 
+    @Override
+    public boolean dependsOnlyOnShape() {
+        return true;
+    }
+
     public static ComparingRemovalStrategy instance() {
         return INSTANCE;
     }
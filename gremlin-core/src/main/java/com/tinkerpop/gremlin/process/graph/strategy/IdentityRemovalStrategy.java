@@ -25,6 +25,11 @@ public class IdentityRemovalStrategy extends AbstractTraversalStrategy {
                 .forEach(step -> TraversalHelper.removeStep(step, traversal));
     }
 
+    @Override
+    public boolean dependsOnlyOnShape() {
+        return true;
+    }
+
     public static IdentityRemovalStrategy instance() {
         return INSTANCE;
     }
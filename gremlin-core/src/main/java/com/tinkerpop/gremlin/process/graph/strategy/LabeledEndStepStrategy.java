@@ -23,6 +23,11 @@ public class LabeledEndStepStrategy extends AbstractTraversalStrategy {
             traversal.addStep(new MarkerIdentityStep<>(traversal));
     }
 
+    @Override
+    public boolean dependsOnlyOnShape() {
+        return true;
+    }
+
     public static LabeledEndStepStrategy instance() {
         return INSTANCE;
     }
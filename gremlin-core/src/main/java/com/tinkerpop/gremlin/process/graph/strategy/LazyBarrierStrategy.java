@@ -0,0 +1,76 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.graph.marker.Ranging;
+import com.tinkerpop.gremlin.process.graph.step.filter.FilterStep;
+import com.tinkerpop.gremlin.process.graph.step.map.EdgeOtherVertexStep;
+import com.tinkerpop.gremlin.process.graph.step.map.EdgeVertexStep;
+import com.tinkerpop.gremlin.process.graph.step.map.FlatMapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.MapStep;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.SideEffectStep;
+import com.tinkerpop.gremlin.process.graph.step.util.LazyBarrierStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts a {@link LazyBarrierStep} after each step that walks to vertices when a {@link VertexStep} follows it, so
+ * that the traversers which reach the same vertex are expanded once with their summed bulk rather than once each.
+ * As the barrier reorders the traversers, it is only inserted into traversals that do not track paths and that have
+ * no labeled steps.  Neither is it inserted where a {@link Ranging} step follows, as the barrier would pull up to its
+ * size of traversers ahead of the range, nor where a lambda step follows, as the lambda would see fewer traversers
+ * than it does without the barrier.  This strategy is not registered by default and is to be added to the strategies
+ * of a traversal class.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LazyBarrierStrategy extends AbstractTraversalStrategy {
+
+    private static final LazyBarrierStrategy INSTANCE = new LazyBarrierStrategy();
+
+    private LazyBarrierStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER))
+            return;
+        if (TraversalHelper.trackPaths(traversal) || traversal.getSteps().stream().filter(TraversalHelper::isLabeled).findAny().isPresent())
+            return;
+
+        final List<Step> barrierSteps = new ArrayList<>();
+        boolean expands = false;
+        for (int i = traversal.getSteps().size() - 1; i >= 0; i--) {
+            final Step step = traversal.getSteps().get(i);
+            if (step instanceof Ranging || isLambdaStep(step))
+                break;
+            if (expands && isVertexStep(step) && !(step.getNextStep() instanceof LazyBarrierStep))
+                barrierSteps.add(step);
+            if (step instanceof VertexStep)
+                expands = true;
+        }
+        barrierSteps.forEach(step -> TraversalHelper.insertAfterStep(new LazyBarrierStep<>(traversal), step, traversal));
+    }
+
+    private static boolean isVertexStep(final Step step) {
+        return (step instanceof VertexStep && Vertex.class.isAssignableFrom(((VertexStep) step).getReturnClass()))
+                || step instanceof EdgeVertexStep
+                || step instanceof EdgeOtherVertexStep;
+    }
+
+    private static boolean isLambdaStep(final Step step) {
+        return step.getClass().equals(FilterStep.class)
+                || step.getClass().equals(MapStep.class)
+                || step.getClass().equals(FlatMapStep.class)
+                || step.getClass().equals(SideEffectStep.class);
+    }
+
+    public static LazyBarrierStrategy instance() {
+        return INSTANCE;
+    }
+}
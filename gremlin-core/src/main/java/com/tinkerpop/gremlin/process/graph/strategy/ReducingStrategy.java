@@ -35,6 +35,11 @@ public class ReducingStrategy extends AbstractTraversalStrategy {
         }
     }
 
+    @Override
+    public boolean dependsOnlyOnShape() {
+        return true;
+    }
+
     public static ReducingStrategy instance() {
         return INSTANCE;
     }
@@ -53,7 +58,7 @@ public class ReducingStrategy extends AbstractTraversalStrategy {
         }
 
         public Traverser processNextStart() {
-            return this.starts.next();
+            return this.starts.poll();
         }
 
     }
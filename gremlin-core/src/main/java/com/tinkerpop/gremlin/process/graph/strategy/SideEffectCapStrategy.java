@@ -37,6 +37,11 @@ public class SideEffectCapStrategy extends AbstractTraversalStrategy implements
         return POSTS;
     }
 
+    @Override
+    public boolean dependsOnlyOnShape() {
+        return true;
+    }
+
     public static SideEffectCapStrategy instance() {
         return INSTANCE;
     }
@@ -52,6 +52,11 @@ public class UntilStrategy extends AbstractTraversalStrategy {
         }
     }
 
+    @Override
+    public boolean dependsOnlyOnShape() {
+        return true;
+    }
+
     public static UntilStrategy instance() {
         return INSTANCE;
     }
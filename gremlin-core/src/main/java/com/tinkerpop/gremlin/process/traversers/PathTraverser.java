@@ -58,7 +58,7 @@ public class PathTraverser<T> extends SimpleTraverser<T> {
         traverser.sideEffects = this.sideEffects;
         traverser.loops = this.loops;
         traverser.path = this.path.clone().extend(label, r);
-        traverser.future = this.future;
+        traverser.stepId = this.stepId;
         traverser.bulk = this.bulk;
         return traverser;
     }
@@ -70,7 +70,7 @@ public class PathTraverser<T> extends SimpleTraverser<T> {
         traverser.sideEffects = this.sideEffects;
         traverser.loops = this.loops;
         traverser.path = this.path.clone();
-        traverser.future = this.future;
+        traverser.stepId = this.stepId;
         traverser.bulk = this.bulk;
         return traverser;
     }
@@ -91,7 +91,7 @@ public class PathTraverser<T> extends SimpleTraverser<T> {
     public boolean equals(final Object object) {
         return (object instanceof PathTraverser)
                 && ((PathTraverser) object).get().equals(this.t)
-                && ((PathTraverser) object).getFuture().equals(this.getFuture())
+                && ((PathTraverser) object).getStepId() == this.stepId
                 && ((PathTraverser) object).loops() == this.loops()
                 && ((PathTraverser) object).path().equals(this.path);
     }
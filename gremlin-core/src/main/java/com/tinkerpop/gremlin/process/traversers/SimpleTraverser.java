@@ -20,7 +20,7 @@ public class SimpleTraverser<T> implements Traverser<T>, Traverser.Admin<T> {
     private static final String PATH_ERROR_MESSAGE = "Path tracking is not supported by this Traverser: " + SimpleTraverser.class;
 
     protected T t;
-    protected String future = HALT;
+    protected int stepId = HALT;
     protected short loops = 0;
     protected transient Traversal.SideEffects sideEffects;
     protected long bulk = 1l;
@@ -55,13 +55,13 @@ public class SimpleTraverser<T> implements Traverser<T>, Traverser.Admin<T> {
     }
 
     @Override
-    public String getFuture() {
-        return this.future;
+    public int getStepId() {
+        return this.stepId;
     }
 
     @Override
-    public void setFuture(final String label) {
-        this.future = label;
+    public void setStepId(final int stepId) {
+        this.stepId = stepId;
     }
 
     @Override
@@ -100,7 +100,7 @@ public class SimpleTraverser<T> implements Traverser<T>, Traverser.Admin<T> {
     @Override
     public <R> SimpleTraverser<R> makeChild(final String label, final R r) {
         final SimpleTraverser<R> traverser = new SimpleTraverser<>(r, this.sideEffects);
-        traverser.future = this.future;
+        traverser.stepId = this.stepId;
         traverser.loops = this.loops;
         traverser.bulk = this.bulk;
         return traverser;
@@ -109,7 +109,7 @@ public class SimpleTraverser<T> implements Traverser<T>, Traverser.Admin<T> {
     @Override
     public SimpleTraverser<T> makeSibling() {
         final SimpleTraverser<T> traverser = new SimpleTraverser<>(this.t, this.sideEffects);
-        traverser.future = this.future;
+        traverser.stepId = this.stepId;
         traverser.loops = this.loops;
         traverser.bulk = this.bulk;
         return traverser;
@@ -127,14 +127,14 @@ public class SimpleTraverser<T> implements Traverser<T>, Traverser.Admin<T> {
 
     @Override
     public int hashCode() {
-        return this.t.hashCode() + this.future.hashCode() + this.loops;
+        return this.t.hashCode() + this.stepId + this.loops;
     }
 
     @Override
     public boolean equals(final Object object) {
         return object instanceof SimpleTraverser
                 && ((SimpleTraverser) object).get().equals(this.t)
-                && ((SimpleTraverser) object).getFuture().equals(this.getFuture())
+                && ((SimpleTraverser) object).getStepId() == this.stepId
                 && ((SimpleTraverser) object).loops() == this.loops();
     }
 
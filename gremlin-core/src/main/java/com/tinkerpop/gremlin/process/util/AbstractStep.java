@@ -15,12 +15,17 @@ import java.util.NoSuchElementException;
 public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     protected String label;
+    protected int id;
     protected Traversal traversal;
     public ExpandableStepIterator<S> starts;
     protected Traverser<E> nextEnd = null;
     protected boolean available = false;
     protected boolean futureSetByChild = false;
 
+    private Traverser.Admin<E>[] batch = null;
+    private int batchIndex = 0;
+    private int batchCount = 0;
+
     protected Step<?, S> previousStep = EmptyStep.instance();
     protected Step<E, ?> nextStep = EmptyStep.instance();
     protected final static boolean PROFILING_ENABLED = "true".equals(System.getProperty(TraversalMetrics.PROFILING_ENABLED));
@@ -28,7 +33,8 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
     public AbstractStep(final Traversal traversal) {
         this.traversal = traversal;
         this.starts = new ExpandableStepIterator<S>((Step) this);
-        this.label = Graph.System.system(Integer.toString(this.traversal.getSteps().size()));
+        this.id = this.traversal.getSteps().size();
+        this.label = Graph.System.system(Integer.toString(this.id));
     }
 
     @Override
@@ -36,6 +42,8 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         this.starts.clear();
         this.available = false;
         this.nextEnd = null;
+        this.batchIndex = 0;
+        this.batchCount = 0;
     }
 
     @Override
@@ -78,8 +86,53 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         return this.label;
     }
 
+    @Override
+    public void setId(final int id) {
+        this.id = id;
+    }
+
+    @Override
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Have the step process its starts a batch at a time rather than one at a time.
+     * A batch size of 1 processes the starts one at a time.
+     *
+     * @param batchSize the maximum number of traversers in a batch
+     */
+    public void setBatchSize(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+        this.batch = batchSize == 1 ? null : new Traverser.Admin[batchSize];
+        this.batchIndex = 0;
+        this.batchCount = 0;
+    }
+
+    public int getBatchSize() {
+        return null == this.batch ? 1 : this.batch.length;
+    }
+
+    @Override
+    public int nextBatch(final Traverser.Admin<E>[] batch) {
+        if (null == this.batch)
+            return Step.super.nextBatch(batch);
+        if (this.batchIndex == this.batchCount && !this.fillBatch())
+            return 0;
+        final int count = Math.min(batch.length, this.batchCount - this.batchIndex);
+        System.arraycopy(this.batch, this.batchIndex, batch, 0, count);
+        this.batchIndex = this.batchIndex + count;
+        return count;
+    }
+
     @Override
     public Traverser<E> next() {
+        if (null != this.batch) {
+            if (this.batchIndex == this.batchCount && !this.fillBatch())
+                throw FastNoSuchElementException.instance();
+            return this.batch[this.batchIndex++];
+        }
         if (this.available) {
             this.available = false;
             prepareTraversalForNextStep(this.nextEnd);
@@ -87,6 +140,8 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         } else {
             while (true) {
                 final Traverser<E> traverser = this.processNextStart();
+                if (EmptyTraverser.end() == traverser)
+                    throw FastNoSuchElementException.instance();
                 if (traverser.bulk() != 0) {
                     prepareTraversalForNextStep(traverser);
                     return traverser;
@@ -97,18 +152,25 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
 
     @Override
     public boolean hasNext() {
+        if (null != this.batch)
+            return this.batchIndex < this.batchCount || this.fillBatch();
         if (this.available)
             return true;
         else {
             try {
                 while (true) {
                     this.nextEnd = this.processNextStart();
+                    if (EmptyTraverser.end() == this.nextEnd) {
+                        this.nextEnd = null;
+                        return false;
+                    }
                     if (this.nextEnd.bulk() != 0) {
                         this.available = true;
                         return true;
                     }
                 }
             } catch (final NoSuchElementException e) {
+                // steps that do not return the end traverser denote their end with an exception
                 this.available = false;
                 return false;
             }
@@ -125,8 +187,33 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         this.traversal = traversal;
     }
 
+    /**
+     * Get the next traverser of the step, or {@link EmptyTraverser#end()} if the step has no more traversers.
+     * For compatibility, the end of the step may also be denoted by throwing a {@link NoSuchElementException}.
+     */
     protected abstract Traverser<E> processNextStart() throws NoSuchElementException;
 
+    /**
+     * Fill the batch, from its first index on, with the next traversers of the step.
+     * By default, the batch is filled by {@link #processNextStart()} one traverser at a time.
+     *
+     * @return the number of traversers in the batch, where 0 denotes that the step has no more traversers
+     */
+    protected int processNextBatch(final Traverser.Admin<E>[] batch) {
+        int count = 0;
+        try {
+            while (count < batch.length) {
+                final Traverser<E> traverser = this.processNextStart();
+                if (EmptyTraverser.end() == traverser)
+                    break;
+                batch[count++] = (Traverser.Admin<E>) traverser;
+            }
+        } catch (final NoSuchElementException e) {
+            // the batch holds the traversers up to the end of the starts
+        }
+        return count;
+    }
+
     public String toString() {
         return TraversalHelper.makeStepString(this);
     }
@@ -139,12 +226,45 @@ public abstract class AbstractStep<S, E> implements Step<S, E> {
         step.nextStep = EmptyStep.instance();
         step.available = false;
         step.nextEnd = null;
+        if (null != this.batch)
+            step.batch = new Traverser.Admin[this.batch.length];
+        step.batchIndex = 0;
+        step.batchCount = 0;
         return step;
     }
 
+    private boolean fillBatch() {
+        this.batchIndex = 0;
+        this.batchCount = 0;
+        while (true) {
+            int count;
+            try {
+                count = this.processNextBatch(this.batch);
+            } catch (final NoSuchElementException e) {
+                count = 0;
+            }
+            if (0 == count)
+                return false;
+            final String label = this.getLabel();
+            final int future = this.nextStep.getId();
+            final boolean labeled = TraversalHelper.isLabeled(label);
+            for (int i = 0; i < count; i++) {
+                final Traverser.Admin<E> traverser = this.batch[i];
+                if (traverser.bulk() != 0) {
+                    if (!this.futureSetByChild) traverser.setStepId(future);
+                    if (traverser instanceof PathTraverser) traverser.path().addLabel(label);
+                    if (labeled) this.traversal.sideEffects().set(label, traverser.get());
+                    this.batch[this.batchCount++] = traverser;
+                }
+            }
+            if (this.batchCount > 0)
+                return true;
+        }
+    }
+
     private void prepareTraversalForNextStep(final Traverser<E> traverser) {
         if (!this.futureSetByChild)
-            ((Traverser.Admin<E>) traverser).setFuture(this.nextStep.getLabel());
+            ((Traverser.Admin<E>) traverser).setStepId(this.nextStep.getId());
         if (traverser instanceof PathTraverser) traverser.path().addLabel(this.getLabel());
         if (TraversalHelper.isLabeled(this.label))
             this.traversal.sideEffects().set(this.label, traverser.get());
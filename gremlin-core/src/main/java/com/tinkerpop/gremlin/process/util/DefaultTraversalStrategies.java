@@ -19,11 +19,13 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
 
     protected final List<TraversalStrategy> traversalStrategies = new ArrayList<>();
     protected TraverserGeneratorFactory traverserGeneratorFactory = DefaultTraverserGeneratorFactory.instance();
+    protected final TraversalPlanCache planCache = new TraversalPlanCache();
 
     public void addStrategy(final TraversalStrategy strategy) {
         if (!this.traversalStrategies.contains(strategy)) {
             this.traversalStrategies.add(strategy);
             TraversalStrategies.sortStrategies(this.traversalStrategies);
+            this.planCache.clear();
         }
     }
 
@@ -38,7 +40,11 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
 
     @Override
     public void apply(final Traversal traversal, final TraversalEngine engine) {
-        this.traversalStrategies.forEach(ts -> ts.apply(traversal, engine));
+        this.planCache.apply(this.traversalStrategies, traversal, engine);
+    }
+
+    public TraversalPlanCache getPlanCache() {
+        return this.planCache;
     }
 
     @Override
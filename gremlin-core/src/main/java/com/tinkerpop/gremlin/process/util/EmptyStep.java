@@ -3,6 +3,7 @@ package com.tinkerpop.gremlin.process.util;
 import com.tinkerpop.gremlin.process.Step;
 import com.tinkerpop.gremlin.process.Traversal;
 import com.tinkerpop.gremlin.process.Traverser;
+import com.tinkerpop.gremlin.structure.Graph;
 
 import java.util.Iterator;
 
@@ -12,6 +13,7 @@ import java.util.Iterator;
 public final class EmptyStep<S, E> implements Step<S, E> {
 
     private static final EmptyStep INSTANCE = new EmptyStep<>();
+    private static final String HALT_LABEL = Graph.System.system("halt");
 
     public static <S, E> Step<S, E> instance() {
         return INSTANCE;
@@ -72,7 +74,7 @@ public final class EmptyStep<S, E> implements Step<S, E> {
 
     @Override
     public String getLabel() {
-        return Traverser.Admin.HALT;
+        return HALT_LABEL;
     }
 
     @Override
@@ -80,6 +82,16 @@ public final class EmptyStep<S, E> implements Step<S, E> {
 
     }
 
+    @Override
+    public int getId() {
+        return Traverser.Admin.HALT;
+    }
+
+    @Override
+    public void setId(final int id) {
+
+    }
+
     @Override
     public boolean hasNext() {
         return false;
@@ -6,16 +6,27 @@ import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.structure.Vertex;
 
 /**
+ * An empty traverser has a bulk of zero and is skipped by the step that it is returned to.  The {@link #end()} empty
+ * traverser is the exception, as it is returned by a step to denote that the step has no more traversers.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class EmptyTraverser<T> implements Traverser<T>, Traverser.Admin<T> {
 
     private static final EmptyTraverser INSTANCE = new EmptyTraverser();
+    private static final EmptyTraverser END = new EmptyTraverser();
 
     public static <R> EmptyTraverser<R> instance() {
         return INSTANCE;
     }
 
+    /**
+     * Get the empty traverser that denotes the end of the traversers of a step, which is compared by identity.
+     */
+    public static <R> EmptyTraverser<R> end() {
+        return END;
+    }
+
     private EmptyTraverser() {
 
     }
@@ -41,12 +52,12 @@ public final class EmptyTraverser<T> implements Traverser<T>, Traverser.Admin<T>
     }
 
     @Override
-    public String getFuture() {
+    public int getStepId() {
         return HALT;
     }
 
     @Override
-    public void setFuture(String label) {
+    public void setStepId(int stepId) {
 
     }
 
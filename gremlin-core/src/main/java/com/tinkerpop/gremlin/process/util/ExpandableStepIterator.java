@@ -25,6 +25,16 @@ public class ExpandableStepIterator<E> implements Iterator<Traverser.Admin<E>> {
 
     @Override
     public Traverser.Admin<E> next() {
+        final Traverser.Admin<E> traverser = this.poll();
+        if (EmptyTraverser.end() == traverser)
+            throw FastNoSuchElementException.instance();
+        return traverser;
+    }
+
+    /**
+     * Get the next traverser, or {@link EmptyTraverser#end()} if there are no more traversers.
+     */
+    public Traverser.Admin<E> poll() {
         if (!this.traverserSet.isEmpty())
             return this.traverserSet.remove();
         if (this.traverserIterators.hasNext())
@@ -35,9 +45,37 @@ public class ExpandableStepIterator<E> implements Iterator<Traverser.Admin<E>> {
 
         if (this.traverserIterators.hasNext())
             return this.traverserIterators.next();
+        if (!this.traverserSet.isEmpty())
+            return this.traverserSet.remove();
 
-        return this.traverserSet.remove();
+        return EmptyTraverser.end();
+    }
+
+    /**
+     * Fill the provided array with the next traversers, which are taken from the added traversers before they are
+     * taken from the previous step a batch at a time.
+     *
+     * @return the number of traversers provided, where 0 denotes that there are no more traversers
+     */
+    public int nextBatch(final Traverser.Admin<E>[] batch) {
+        int count = this.drain(batch);
+        if (0 == count) {
+            count = ((Step<?, E>) this.hostStep.getPreviousStep()).nextBatch(batch);
+            if (0 == count)
+                count = this.drain(batch);
+        }
+        return count;
+    }
 
+    private int drain(final Traverser.Admin<E>[] batch) {
+        int count = 0;
+        while (count < batch.length && !this.traverserSet.isEmpty()) {
+            batch[count++] = this.traverserSet.remove();
+        }
+        while (count < batch.length && this.traverserIterators.hasNext()) {
+            batch[count++] = this.traverserIterators.next();
+        }
+        return count;
     }
 
     public void add(final Iterator<Traverser.Admin<E>> iterator) {
@@ -10,7 +10,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -44,6 +43,13 @@ public class TraversalHelper {
                 .orElseThrow(() -> new IllegalArgumentException("The provided step label does not exist: " + label));
     }
 
+    public static <S, E> Step<S, E> getStep(final int id, final Traversal<?, ?> traversal) {
+        final List<Step> steps = traversal.getSteps();
+        if (id < 0 || id >= steps.size())
+            throw new IllegalArgumentException("The provided step id does not exist: " + id);
+        return steps.get(id);
+    }
+
     public static boolean hasLabel(final String label, final Traversal<?, ?> traversal) {
         return traversal.getSteps().stream()
                 .filter(step -> label.equals(step.getLabel()))
@@ -101,12 +107,8 @@ public class TraversalHelper {
     }
 
     public static void iterate(final Iterator iterator) {
-        try {
-            while (true) {
-                iterator.next();
-            }
-        } catch (final NoSuchElementException ignored) {
-
+        while (iterator.hasNext()) {
+            iterator.next();
         }
     }
 
@@ -150,6 +152,7 @@ public class TraversalHelper {
     private static void reLabelSteps(final Traversal<?, ?> traversal) {
         final List<Step> steps = traversal.getSteps();
         for (int i = 0; i < steps.size(); i++) {
+            steps.get(i).setId(i);
             if (!TraversalHelper.isLabeled(steps.get(i)))
                 steps.get(i).setLabel(Graph.System.system(Integer.toString(i)));
         }
@@ -0,0 +1,159 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, least recently used cache of the plans by which {@link TraversalStrategy} objects are applied to the
+ * shapes of traversals.  The shape of a traversal is its class, the {@link TraversalEngine} and the classes and labels
+ * of its steps, and so leaves out the constants of the steps such as ids, values and lambdas.  The plan of a shape is
+ * the strategies that are to be applied to a traversal of that shape, which are those that changed the steps of the
+ * first traversal of the shape along with those that do not {@link TraversalStrategy#dependsOnlyOnShape()}.
+ * The strategies of a plan are applied to each traversal itself, so its constants are never taken from another.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public final class TraversalPlanCache {
+
+    public static final int DEFAULT_SIZE = 1000;
+
+    private final int size;
+    private final Map<Shape, List<TraversalStrategy>> plans;
+    private final AtomicLong hits = new AtomicLong(0l);
+    private final AtomicLong misses = new AtomicLong(0l);
+
+    public TraversalPlanCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public TraversalPlanCache(final int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("The size of the plan cache must not be negative: " + size);
+        this.size = size;
+        this.plans = new LinkedHashMap<Shape, List<TraversalStrategy>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Shape, List<TraversalStrategy>> eldest) {
+                return this.size() > TraversalPlanCache.this.size;
+            }
+        };
+    }
+
+    /**
+     * Apply the strategies to the traversal by the plan of its shape, which is made from the strategies if the shape
+     * has no plan yet.
+     */
+    public void apply(final List<TraversalStrategy> strategies, final Traversal<?, ?> traversal, final TraversalEngine engine) {
+        if (0 == this.size) {
+            strategies.forEach(strategy -> strategy.apply(traversal, engine));
+            return;
+        }
+        final Shape shape = new Shape(traversal, engine);
+        List<TraversalStrategy> plan;
+        synchronized (this.plans) {
+            plan = this.plans.get(shape);
+        }
+        if (null != plan) {
+            this.hits.incrementAndGet();
+            plan.forEach(strategy -> strategy.apply(traversal, engine));
+        } else {
+            this.misses.incrementAndGet();
+            plan = new ArrayList<>(strategies.size());
+            // once a strategy that does not depend only on the shape has changed the steps, the steps that the
+            // later strategies are given may differ between traversals of the shape, so they are all planned
+            boolean shapeDependent = true;
+            for (final TraversalStrategy strategy : strategies) {
+                final List<Step> steps = new ArrayList<>(traversal.getSteps());
+                strategy.apply(traversal, engine);
+                final boolean changed = !isSame(steps, traversal.getSteps());
+                if (!strategy.dependsOnlyOnShape()) {
+                    plan.add(strategy);
+                    if (changed) shapeDependent = false;
+                } else if (changed || !shapeDependent)
+                    plan.add(strategy);
+            }
+            synchronized (this.plans) {
+                this.plans.put(shape, Collections.unmodifiableList(plan));
+            }
+        }
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int size() {
+        synchronized (this.plans) {
+            return this.plans.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (this.plans) {
+            this.plans.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "plancache[hits:" + this.getHits() + ", misses:" + this.getMisses() + ", plans:" + this.size() + "]";
+    }
+
+    private static boolean isSame(final List<Step> steps, final List<Step> otherSteps) {
+        if (steps.size() != otherSteps.size())
+            return false;
+        for (int i = 0; i < steps.size(); i++) {
+            if (steps.get(i) != otherSteps.get(i))
+                return false;
+        }
+        return true;
+    }
+
+    ////////////////
+
+    private static final class Shape {
+
+        private final Object[] shape;
+        private final int hashCode;
+
+        private Shape(final Traversal<?, ?> traversal, final TraversalEngine engine) {
+            final List<Step> steps = traversal.getSteps();
+            this.shape = new Object[2 + (steps.size() * 2)];
+            this.shape[0] = traversal.getClass();
+            this.shape[1] = engine;
+            for (int i = 0; i < steps.size(); i++) {
+                final Step step = steps.get(i);
+                this.shape[2 + (i * 2)] = step.getClass();
+                this.shape[3 + (i * 2)] = TraversalHelper.isLabeled(step) ? step.getLabel() : null;
+            }
+            this.hashCode = Arrays.hashCode(this.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof Shape && this.hashCode == ((Shape) object).hashCode && Arrays.equals(this.shape, ((Shape) object).shape);
+        }
+    }
+}
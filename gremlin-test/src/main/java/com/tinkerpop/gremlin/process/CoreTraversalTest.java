@@ -4,13 +4,18 @@ import com.tinkerpop.gremlin.ExceptionCoverage;
 import com.tinkerpop.gremlin.LoadGraphWith;
 import com.tinkerpop.gremlin.process.graph.GraphTraversal;
 import com.tinkerpop.gremlin.process.marker.CountTraversal;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
 import com.tinkerpop.gremlin.structure.Contains;
 import com.tinkerpop.gremlin.structure.Vertex;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
 import static org.junit.Assert.*;
@@ -105,4 +110,65 @@ public class CoreTraversalTest extends AbstractGremlinProcessTest {
         if (new Random().nextBoolean()) traversal.reset();
         assertFalse(traversal.hasNext());
     }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldEndStepsWithoutPullingFurtherStarts() {
+        final AtomicInteger pulled = new AtomicInteger(0);
+        assertEquals(2, g.V().sideEffect(v -> pulled.incrementAndGet()).range(0, 2).toList().size());
+        assertEquals(2, pulled.get());
+
+        // steps that end with an exception rather than with the end traverser are still supported
+        final GraphTraversal<Vertex, Vertex> traversal = g.V();
+        traversal.addStep(new AbstractStep<Vertex, Vertex>(traversal) {
+            @Override
+            protected Traverser<Vertex> processNextStart() {
+                return this.starts.next();
+            }
+        });
+        assertEquals(6, traversal.toList().size());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldRouteTraversersByStepId() {
+        final Traversal<Vertex, String> traversal = g.V().as("a").out().out().<String>values("name");
+        traversal.applyStrategies(TraversalEngine.STANDARD);
+        assertStepIds(traversal);
+        final List<Step> steps = traversal.getSteps();
+        assertEquals("a", steps.get(0).getLabel());
+        final Traverser.Admin traverser = (Traverser.Admin) steps.get(1).next();
+        assertEquals(2, traverser.getStepId());
+        // the deprecated future of a traverser is the default label of its step
+        assertEquals(steps.get(2).getLabel(), traverser.getFuture());
+        traverser.setFuture(steps.get(3).getLabel());
+        assertEquals(3, traverser.getStepId());
+        assertTrue(((Traverser.Admin) TraversalHelper.getEnd(traversal).next()).isHalted());
+
+        // the ids follow the steps as they are removed and inserted
+        final Traversal<Vertex, Vertex> rewritten = g.V().out().in().out();
+        final Step removed = (Step) rewritten.getSteps().get(1);
+        TraversalHelper.removeStep(1, rewritten);
+        assertStepIds(rewritten);
+        TraversalHelper.insertStep(removed, 3, rewritten);
+        assertStepIds(rewritten);
+        assertSame(removed, TraversalHelper.getEnd(rewritten));
+
+        final List<String> names = g.V().as("a").out().jump("a", 2).<String>values("name").toList();
+        Collections.sort(names);
+        assertEquals(Arrays.asList("lop", "ripple"), names);
+        if (g.features().graph().supportsComputer()) {
+            final List<String> computerNames = g.V().as("a").out().jump("a", 2).<String>values("name").submit(g.compute()).toList();
+            Collections.sort(computerNames);
+            assertEquals(names, computerNames);
+        }
+    }
+
+    private static void assertStepIds(final Traversal<?, ?> traversal) {
+        final List<Step> steps = traversal.getSteps();
+        for (int i = 0; i < steps.size(); i++) {
+            assertEquals(i, steps.get(i).getId());
+            assertSame(steps.get(i), TraversalHelper.getStep(i, traversal));
+        }
+    }
 }
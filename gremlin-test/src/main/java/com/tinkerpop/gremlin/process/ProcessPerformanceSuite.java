@@ -0,0 +1,44 @@
+package com.tinkerpop.gremlin.process;
+
+import com.tinkerpop.gremlin.AbstractGremlinSuite;
+import com.tinkerpop.gremlin.process.computer.IsolationConvergencePerformanceTest;
+import com.tinkerpop.gremlin.process.computer.MessageCombinerPerformanceTest;
+import com.tinkerpop.gremlin.process.computer.ranking.PageRankVertexProgramPerformanceTest;
+import com.tinkerpop.gremlin.process.graph.BatchTraversalPerformanceTest;
+import com.tinkerpop.gremlin.process.graph.TraversalPlanCachePerformanceTest;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+/**
+ * The ProcessPerformanceSuite is a custom JUnit test runner that executes the Gremlin benchmarks of traversals and of
+ * the {@link com.tinkerpop.gremlin.process.computer.GraphComputer} over a Graph implementation.  This specialized test
+ * suite and runner is for use by Gremlin implementers to measure their traversal and GraphComputer implementations.
+ * <p/>
+ * To use the ProcessPerformanceSuite define a class in a test module.  Simple naming would expect the name of the
+ * implementation followed by "ProcessPerformanceTest".  This class should be annotated as follows:
+ * <code>
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ * @RunWith(ProcessPerformanceSuite.class)
+ * @ProcessPerformanceSuite.GraphProviderClass(provider = TinkerGraphGraphProvider.class, graph = TinkerGraph.class)
+ * public class TinkerGraphProcessPerformanceTest {
+ * }
+ * </code>
+ */
+public class ProcessPerformanceSuite extends AbstractGremlinSuite {
+    /**
+     * This list of tests in the suite that will be executed.  Gremlin developers should add to this list
+     * as needed to enforce tests upon implementations.
+     */
+    private static final Class<?>[] testsToExecute = new Class<?>[]{
+            PageRankVertexProgramPerformanceTest.class,
+            MessageCombinerPerformanceTest.class,
+            IsolationConvergencePerformanceTest.class,
+            BatchTraversalPerformanceTest.class,
+            TraversalPlanCachePerformanceTest.class
+    };
+
+    public ProcessPerformanceSuite(final Class<?> klass, final RunnerBuilder builder) throws InitializationError {
+        super(klass, builder, testsToExecute);
+    }
+}
@@ -45,6 +45,9 @@ import com.tinkerpop.gremlin.process.graph.step.sideEffect.StoreTest;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.SubgraphTest;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.TreeTest;
 import com.tinkerpop.gremlin.process.graph.step.util.TraversalSideEffectsTest;
+import com.tinkerpop.gremlin.process.graph.strategy.BatchStrategyTest;
+import com.tinkerpop.gremlin.process.graph.strategy.LazyBarrierStrategyTest;
+import com.tinkerpop.gremlin.process.util.TraversalPlanCacheTest;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
 
@@ -135,6 +138,11 @@ public class ProcessStandardSuite extends AbstractGremlinSuite {
 
             // util
             TraversalSideEffectsTest.StandardTest.class,
+            TraversalPlanCacheTest.class,
+
+            // strategy
+            BatchStrategyTest.class,
+            LazyBarrierStrategyTest.class,
 
             // compliance
             TraversalCoverageTest.class,
@@ -200,6 +208,11 @@ public class ProcessStandardSuite extends AbstractGremlinSuite {
 
             // util
             TraversalSideEffectsTest.class,
+            TraversalPlanCacheTest.class,
+
+            // strategy
+            BatchStrategyTest.class,
+            LazyBarrierStrategyTest.class,
 
             // compliance
             TraversalCoverageTest.class,
@@ -0,0 +1,107 @@
+package com.tinkerpop.gremlin.process.computer;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import com.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.computer.clustering.peerpressure.PeerPressureVertexProgram;
+import com.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import com.tinkerpop.gremlin.structure.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compares the convergence of {@link PeerPressureVertexProgram} and {@link PageRankVertexProgram} under the
+ * {@link GraphComputer.Isolation#BSP} and {@link GraphComputer.Isolation#DIRTY_BSP} isolations.  The number of
+ * iterations until PeerPressure halts and the error of PageRank after a few iterations, relative to its fixed point,
+ * are printed for each run.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-isolation")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-isolation")
+public class IsolationConvergencePerformanceTest extends AbstractGremlinProcessTest {
+
+    private static final int NUM_VERTICES = 10000;
+    private static final int PAGE_RANK_ITERATIONS = 5;
+    private static final int PAGE_RANK_FIXED_POINT_ITERATIONS = 50;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private final Map<Object, Double> fixedPoint = new HashMap<>();
+
+    public IsolationConvergencePerformanceTest() {
+        requiresGraphComputer = true;
+    }
+
+    @Override
+    protected void afterLoadGraphWith(final Graph g) throws Exception {
+        final Random r = new Random(854939487556l);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            g.addVertex("oid", i);
+        }
+        DistributionGenerator.build(g)
+                .label("knows")
+                .seedGenerator(r::nextLong)
+                .outDistribution(new PowerLawDistribution(2.8))
+                .inDistribution(new PowerLawDistribution(2.1))
+                .expectedNumEdges(NUM_VERTICES * 10).create().generate();
+
+        final Graph result = g.compute().program(PageRankVertexProgram.build()
+                .iterations(PAGE_RANK_FIXED_POINT_ITERATIONS).vertexCount(NUM_VERTICES).create()).submit().get().graph();
+        result.V().forEachRemaining(v -> this.fixedPoint.put(v.id(), v.value(PageRankVertexProgram.PAGE_RANK)));
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executePeerPressureWithBSP() throws Exception {
+        executePeerPressure(GraphComputer.Isolation.BSP);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executePeerPressureWithDirtyBSP() throws Exception {
+        executePeerPressure(GraphComputer.Isolation.DIRTY_BSP);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executePageRankWithBSP() throws Exception {
+        executePageRank(GraphComputer.Isolation.BSP);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 5, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executePageRankWithDirtyBSP() throws Exception {
+        executePageRank(GraphComputer.Isolation.DIRTY_BSP);
+    }
+
+    private void executePeerPressure(final GraphComputer.Isolation isolation) throws Exception {
+        assumeTrue(g.compute().features().supportsIsolation(isolation));
+        final ComputerResult result = g.compute().isolation(isolation).program(PeerPressureVertexProgram.build().create()).submit().get();
+        System.out.println(String.format("PeerPressureVertexProgram halted after %s iterations with %s isolation", result.memory().getIteration(), isolation));
+    }
+
+    private void executePageRank(final GraphComputer.Isolation isolation) throws Exception {
+        assumeTrue(g.compute().features().supportsIsolation(isolation));
+        final Graph result = g.compute().isolation(isolation).program(PageRankVertexProgram.build()
+                .iterations(PAGE_RANK_ITERATIONS).vertexCount(NUM_VERTICES).create()).submit().get().graph();
+        final double[] error = new double[1];
+        result.V().forEachRemaining(v -> error[0] = error[0] + Math.abs(v.<Double>value(PageRankVertexProgram.PAGE_RANK) - this.fixedPoint.get(v.id())));
+        System.out.println(String.format("PageRankVertexProgram has an L1 error of %s after %s iterations with %s isolation", error[0], PAGE_RANK_ITERATIONS, isolation));
+    }
+}
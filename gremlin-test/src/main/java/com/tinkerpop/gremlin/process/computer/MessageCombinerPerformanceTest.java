@@ -0,0 +1,160 @@
+package com.tinkerpop.gremlin.process.computer;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import com.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.apache.commons.configuration.Configuration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares a vertex program that sends {@link MessageType.Global} messages with and without its message combiner over
+ * a graph with a power law degree distribution, where the messages to the hubs dominate.  Each vertex sends a count
+ * to its out-adjacent vertices in every iteration such that the sum of the counts a vertex receives is its in-degree.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-message-combiner")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-message-combiner")
+public class MessageCombinerPerformanceTest extends AbstractGremlinProcessTest {
+
+    private static final int NUM_VERTICES = 10000;
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    public MessageCombinerPerformanceTest() {
+        requiresGraphComputer = true;
+    }
+
+    @Override
+    protected void afterLoadGraphWith(final Graph g) throws Exception {
+        final Random r = new Random(854939487556l);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            g.addVertex("oid", i);
+        }
+        DistributionGenerator.build(g)
+                .label("knows")
+                .seedGenerator(r::nextLong)
+                .outDistribution(new PowerLawDistribution(2.8))
+                .inDistribution(new PowerLawDistribution(2.1))
+                .expectedNumEdges(NUM_VERTICES * 10).create().generate();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executeGlobalMessagesWithMessageCombiner() throws Exception {
+        executeInDegree(true);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executeGlobalMessagesWithoutMessageCombiner() throws Exception {
+        executeInDegree(false);
+    }
+
+    private void executeInDegree(final boolean combineMessages) throws Exception {
+        final ComputerResult result = g.compute().program(new InDegreeVertexProgram(combineMessages)).submit().get();
+        assertEquals(ITERATIONS, result.memory().getIteration());
+        final long[] degrees = new long[1];
+        result.graph().V().forEachRemaining(v -> degrees[0] = degrees[0] + v.<Long>property(InDegreeVertexProgram.IN_DEGREE).orElse(0l));
+        assertEquals(g.E().count().next().longValue(), degrees[0]);
+    }
+
+    /**
+     * Counts the in-degree of each vertex from the {@link MessageType.Global} messages of its out-adjacent vertices.
+     */
+    public static class InDegreeVertexProgram implements VertexProgram<Long> {
+
+        public static final String IN_DEGREE = Graph.Key.hide("gremlin.inDegreeVertexProgram.inDegree");
+
+        private static final String MESSAGE_COMBINER = "gremlin.inDegreeVertexProgram.messageCombiner";
+        private static final MessageCombiner<Long> SUM_COMBINER = (a, b) -> a + b;
+
+        private boolean combineMessages = true;
+
+        private InDegreeVertexProgram() {
+
+        }
+
+        public InDegreeVertexProgram(final boolean combineMessages) {
+            this.combineMessages = combineMessages;
+        }
+
+        @Override
+        public void loadState(final Configuration configuration) {
+            this.combineMessages = configuration.getBoolean(MESSAGE_COMBINER, true);
+        }
+
+        @Override
+        public void storeState(final Configuration configuration) {
+            configuration.setProperty(VERTEX_PROGRAM, InDegreeVertexProgram.class.getName());
+            configuration.setProperty(MESSAGE_COMBINER, this.combineMessages);
+        }
+
+        @Override
+        public Set<String> getElementComputeKeys() {
+            return Collections.singleton(IN_DEGREE);
+        }
+
+        @Override
+        public Optional<MessageCombiner<Long>> getMessageCombiner() {
+            return this.combineMessages ? Optional.of(SUM_COMBINER) : Optional.empty();
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Long> messenger, final Memory memory) {
+            if (!memory.isInitialIteration()) {
+                long inDegree = 0l;
+                for (final long message : messenger.receiveMessages(MessageType.Global.of())) {
+                    inDegree = inDegree + message;
+                }
+                vertex.singleProperty(IN_DEGREE, inDegree);
+            }
+            messenger.sendMessage(MessageType.Global.of(vertex.out().toList()), 1l);
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= ITERATIONS;
+        }
+
+        @Override
+        public Features getFeatures() {
+            return new Features() {
+                @Override
+                public boolean requiresGlobalMessageTypes() {
+                    return true;
+                }
+
+                @Override
+                public boolean requiresVertexPropertyAddition() {
+                    return true;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.tinkerpop.gremlin.process.computer.ranking;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import com.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.computer.ComputerResult;
+import com.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import com.tinkerpop.gremlin.structure.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares {@link PageRankVertexProgram} with and without its message combiner over a graph with a power law degree
+ * distribution, where the messages to the hubs dominate.  Besides time, the garbage collection statistics of the
+ * benchmark reflect the memory held by uncombined messages.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-pagerank")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-pagerank")
+public class PageRankVertexProgramPerformanceTest extends AbstractGremlinProcessTest {
+
+    private static final int NUM_VERTICES = 10000;
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    public PageRankVertexProgramPerformanceTest() {
+        requiresGraphComputer = true;
+    }
+
+    @Override
+    protected void afterLoadGraphWith(final Graph g) throws Exception {
+        final Random r = new Random(854939487556l);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            g.addVertex("oid", i);
+        }
+        DistributionGenerator.build(g)
+                .label("knows")
+                .seedGenerator(r::nextLong)
+                .outDistribution(new PowerLawDistribution(2.8))
+                .inDistribution(new PowerLawDistribution(2.1))
+                .expectedNumEdges(NUM_VERTICES * 10).create().generate();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executePageRankWithMessageCombiner() throws Exception {
+        executePageRank(true);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void executePageRankWithoutMessageCombiner() throws Exception {
+        executePageRank(false);
+    }
+
+    private void executePageRank(final boolean combineMessages) throws Exception {
+        final ComputerResult result = g.compute().program(PageRankVertexProgram.build()
+                .iterations(ITERATIONS).vertexCount(NUM_VERTICES).messageCombiner(combineMessages).create()).submit().get();
+        assertEquals(ITERATIONS, result.memory().getIteration());
+    }
+}
@@ -0,0 +1,89 @@
+package com.tinkerpop.gremlin.process.graph;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.algorithm.generator.DistributionGenerator;
+import com.tinkerpop.gremlin.algorithm.generator.PowerLawDistribution;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.graph.strategy.BatchStrategy;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares a traversal whose steps pull their traversers one at a time with the same traversal under the
+ * {@link BatchStrategy}, where the steps exchange their traversers in batches.  The traversal yields many traversers
+ * over few steps, so the time of each benchmark divided by the number of traversers reflects the per-traverser cost
+ * of moving a traverser through a step.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-batch")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-batch")
+public class BatchTraversalPerformanceTest extends AbstractGremlinProcessTest {
+
+    private static final int NUM_VERTICES = 10000;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    private long expected = -1l;
+
+    @Override
+    protected void afterLoadGraphWith(final Graph g) throws Exception {
+        final Random r = new Random(854939487556l);
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            g.addVertex("oid", i, "weight", r.nextInt(10));
+        }
+        DistributionGenerator.build(g)
+                .label("knows")
+                .seedGenerator(r::nextLong)
+                .outDistribution(new PowerLawDistribution(2.8))
+                .inDistribution(new PowerLawDistribution(2.1))
+                .expectedNumEdges(NUM_VERTICES * 10).create().generate();
+        this.expected = this.traversal().count().next();
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseOneAtATime() throws Exception {
+        executeTraversal(false);
+    }
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void traverseInBatches() throws Exception {
+        executeTraversal(true);
+    }
+
+    private GraphTraversal<?, Integer> traversal() {
+        return g.V().out().out().has("weight", Compare.gt, 4).values("oid");
+    }
+
+    private void executeTraversal(final boolean batch) throws Exception {
+        final Traversal<?, Integer> traversal = this.traversal();
+        if (batch) {
+            traversal.applyStrategies(TraversalEngine.STANDARD);
+            BatchStrategy.instance().apply(traversal, TraversalEngine.STANDARD);
+        }
+        long count = 0l;
+        while (traversal.hasNext()) {
+            traversal.next();
+            count++;
+        }
+        assertEquals(this.expected, count);
+    }
+}
@@ -0,0 +1,81 @@
+package com.tinkerpop.gremlin.process.graph;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategies;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.util.TraversalPlanCache;
+import com.tinkerpop.gremlin.structure.Compare;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.List;
+
+import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+
+/**
+ * Compares applying all the strategies of a traversal with applying them by the plans of a
+ * {@link TraversalPlanCache}.  The traversals are few shapes that are built with many different values, which is
+ * how a server sees the traversals that its clients submit.  The traversals are not iterated, so the time of each
+ * benchmark is that of building them and applying their strategies.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "gremlin-plan-cache")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-gremlin-plan-cache")
+public class TraversalPlanCachePerformanceTest extends AbstractGremlinProcessTest {
+
+    private static final int NUM_TRAVERSALS = 100000;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void applyAllStrategies() throws Exception {
+        applyStrategies(false);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 2, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void applyStrategiesByPlan() throws Exception {
+        applyStrategies(true);
+    }
+
+    private Traversal<?, ?> traversal(final int i) {
+        switch (i % 3) {
+            case 0:
+                return g.V().has("name", "marko" + i).out("knows").values("name");
+            case 1:
+                return g.V().has("age", Compare.gt, i).out().out().count();
+            default:
+                return g.V().has("name", "josh" + i).outE("created").has("weight", Compare.gte, i / 10d).inV().values("name");
+        }
+    }
+
+    private void applyStrategies(final boolean plan) throws Exception {
+        for (int i = 0; i < NUM_TRAVERSALS; i++) {
+            final Traversal<?, ?> traversal = this.traversal(i);
+            if (plan)
+                traversal.applyStrategies(TraversalEngine.STANDARD);
+            else {
+                final List<TraversalStrategy> strategies = TraversalStrategies.GlobalCache.getStrategies(traversal.getClass()).toList();
+                for (final TraversalStrategy strategy : strategies) {
+                    strategy.apply(traversal, TraversalEngine.STANDARD);
+                }
+            }
+        }
+    }
+}
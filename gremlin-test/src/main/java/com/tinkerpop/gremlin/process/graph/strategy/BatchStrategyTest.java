@@ -0,0 +1,52 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.util.AbstractStep;
+import com.tinkerpop.gremlin.structure.Compare;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.GRATEFUL;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class BatchStrategyTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(GRATEFUL)
+    public void shouldTraverseTheSameInBatches() {
+        final List<Supplier<Traversal<?, ?>>> traversals = Arrays.asList(
+                () -> g.V().out("followedBy").out("followedBy").has("performances", Compare.gt, 100).values("name"),
+                () -> g.V().outE("followedBy").inV().in("sungBy").id(),
+                () -> g.V().out().out("followedBy").has("songType", "original").range(100, 1099),
+                () -> g.V().out().map(v -> v.get().property("songType").isPresent() ? v.get().id() : Step.NO_OBJECT),
+                () -> g.V().out().out().count());
+        for (final Supplier<Traversal<?, ?>> supplier : traversals) {
+            final List<?> expected = supplier.get().toList();
+            final Traversal<?, ?> traversal = supplier.get();
+            traversal.applyStrategies(TraversalEngine.STANDARD);
+            BatchStrategy.instance().apply(traversal, TraversalEngine.STANDARD);
+            assertEquals(BatchStrategy.BATCH_SIZE, ((AbstractStep) traversal.getSteps().get(1)).getBatchSize());
+            assertEquals(expected, traversal.toList());
+        }
+    }
+
+    @Test
+    @LoadGraphWith(GRATEFUL)
+    public void shouldNotBatchLabeledTraversals() {
+        final Traversal<Vertex, Vertex> traversal = g.V().as("a").out();
+        traversal.applyStrategies(TraversalEngine.STANDARD);
+        BatchStrategy.instance().apply(traversal, TraversalEngine.STANDARD);
+        assertEquals(1, ((AbstractStep) traversal.getSteps().get(1)).getBatchSize());
+    }
+}
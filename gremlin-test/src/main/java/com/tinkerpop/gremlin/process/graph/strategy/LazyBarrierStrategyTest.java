@@ -0,0 +1,82 @@
+package com.tinkerpop.gremlin.process.graph.strategy;
+
+import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.graph.step.util.LazyBarrierStep;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LazyBarrierStrategyTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldBulkTraversersAfterVertexSteps() {
+        final Traversal<Vertex, Vertex> traversal = bulked(g.V().out().in().out());
+        assertEquals(2, countBarriers(traversal));
+
+        // a labeled traversal is not bulked, so it serves as the expected result
+        final List<Object> expected = g.V().as("a").out().in().out().id().toList();
+        final List<Object> actual = bulked(g.V().out().in().out().id()).toList();
+        assertEquals(26, expected.size());
+        Collections.sort((List) expected);
+        Collections.sort((List) actual);
+        assertEquals(expected, actual);
+
+        // the last step expands each vertex reached by the second step once
+        final Step<?, Vertex> end = TraversalHelper.getEnd(bulked(g.V().out().in().out()));
+        long traversers = 0l;
+        long bulk = 0l;
+        while (end.hasNext()) {
+            traversers++;
+            bulk = bulk + end.next().bulk();
+        }
+        assertEquals(26l, bulk);
+        assertTrue(traversers <= 6l);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldNotBulkTraversersBeforeRangeOrLambdaSteps() {
+        assertEquals(0, countBarriers(bulked(g.V().out().in().range(0, 2))));
+
+        final AtomicInteger expansions = new AtomicInteger(0);
+        final Traversal<Vertex, Vertex> lambda = bulked(g.V().out().sideEffect(v -> expansions.incrementAndGet()).in().out());
+        assertEquals(1, countBarriers(lambda));
+        assertEquals(26, lambda.toList().size());
+        assertEquals(6, expansions.get());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldNotBulkTraversersThatTrackPaths() {
+        final Traversal<Vertex, ?> path = bulked(g.V().out().in().path());
+        assertEquals(0, countBarriers(path));
+        assertEquals(12, path.toList().size());
+    }
+
+    private static <S, E> Traversal<S, E> bulked(final Traversal<S, E> traversal) {
+        traversal.applyStrategies(TraversalEngine.STANDARD);
+        LazyBarrierStrategy.instance().apply(traversal, TraversalEngine.STANDARD);
+        return traversal;
+    }
+
+    private static long countBarriers(final Traversal<?, ?> traversal) {
+        return traversal.getSteps().stream().filter(step -> step instanceof LazyBarrierStep).count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.tinkerpop.gremlin.process.util;
+
+import com.tinkerpop.gremlin.LoadGraphWith;
+import com.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategies;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.marker.Comparing;
+import com.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TraversalPlanCacheTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldApplyStrategiesByThePlanOfTheTraversalShape() {
+        final TraversalStrategies traversalStrategies = TraversalStrategies.GlobalCache.getStrategies(g.V().getClass());
+        assumeTrue(traversalStrategies instanceof DefaultTraversalStrategies);
+        final TraversalPlanCache planCache = ((DefaultTraversalStrategies) traversalStrategies).getPlanCache();
+        final Traversal<Vertex, String> first = g.V().has("name", "marko").as("a").out().in().values("name");
+        first.applyStrategies(TraversalEngine.STANDARD);
+        final long hits = planCache.getHits();
+        final long misses = planCache.getMisses();
+
+        final Traversal<Vertex, String> second = g.V().has("name", "peter").as("a").out().in().values("name");
+        final List<String> names = second.toList();
+        assertEquals(hits + 1, planCache.getHits());
+        assertEquals(misses, planCache.getMisses());
+        assertEquals(first.getSteps().stream().map(Object::getClass).collect(Collectors.toList()), second.getSteps().stream().map(Object::getClass).collect(Collectors.toList()));
+        Collections.sort(names);
+        assertEquals(Arrays.asList("josh", "marko", "peter"), names);
+        final List<String> firstNames = first.toList();
+        Collections.sort(firstNames);
+        assertEquals(Arrays.asList("josh", "marko", "marko", "marko", "peter"), firstNames);
+
+        final TraversalPlanCache boundedCache = new TraversalPlanCache(1);
+        final List<TraversalStrategy> strategies = traversalStrategies.toList();
+        boundedCache.apply(strategies, g.V().out(), TraversalEngine.STANDARD);
+        boundedCache.apply(strategies, g.V().out().count(), TraversalEngine.STANDARD);
+        boundedCache.apply(strategies, g.V().out(), TraversalEngine.STANDARD);
+        assertEquals(0, boundedCache.getHits());
+        assertEquals(3, boundedCache.getMisses());
+        assertEquals(1, boundedCache.size());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldNotShareThePlanOfTraversalsWithDifferentBranches() {
+        final List<TraversalStrategy> strategies = TraversalStrategies.GlobalCache.getStrategies(g.V().getClass()).toList();
+        final TraversalPlanCache planCache = new TraversalPlanCache();
+        final Traversal<Vertex, String> first = g.V().union(g.<Vertex>of().out(), g.<Vertex>of().in()).values("name");
+        planCache.apply(strategies, first, TraversalEngine.COMPUTER);
+        final Traversal<Vertex, String> second = g.V().union(g.<Vertex>of().out(), g.<Vertex>of().in().order()).values("name");
+        planCache.apply(strategies, second, TraversalEngine.COMPUTER);
+        assertFalse(TraversalHelper.hasStepOfAssignableClass(Comparing.class, second));
+    }
+}
@@ -0,0 +1,91 @@
+package com.tinkerpop.gremlin.structure;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.carrotsearch.junitbenchmarks.annotation.AxisRange;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkHistoryChart;
+import com.carrotsearch.junitbenchmarks.annotation.BenchmarkMethodChart;
+import com.carrotsearch.junitbenchmarks.annotation.LabelType;
+import com.tinkerpop.gremlin.AbstractGremlinTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertNull;
+
+/**
+ * Stresses a {@link Graph} with threads that write vertices and edges while other threads traverse it.  Graphs that
+ * opt in to this suite must be configured by their {@link com.tinkerpop.gremlin.GraphProvider} such that concurrent
+ * reads and writes are safe.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@AxisRange(min = 0, max = 1)
+@BenchmarkMethodChart(filePrefix = "structure-concurrency")
+@BenchmarkHistoryChart(labelWith = LabelType.CUSTOM_KEY, maxRuns = 20, filePrefix = "hx-structure-concurrency")
+public class GraphConcurrencyPerformanceTest extends AbstractGremlinTest {
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void writeVerticesAndEdgesWhileTraversing() throws Exception {
+        final int verticesPerWriter = 25000;
+        final CountDownLatch startSignal = new CountDownLatch(1);
+        final CountDownLatch writersDone = new CountDownLatch(THREADS);
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int ix = 0; ix < THREADS; ix++) {
+            threads.add(new Thread(() -> {
+                try {
+                    startSignal.await();
+                    Vertex lastVertex = g.addVertex();
+                    for (int jx = 1; jx < verticesPerWriter; jx++) {
+                        final Vertex v = g.addVertex("index", jx);
+                        v.addEdge("parent", lastVertex);
+                        lastVertex = v;
+                        if (g.features().graph().supportsTransactions() && jx % 1000 == 0)
+                            g.tx().commit();
+                    }
+                    tryCommit(g);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    writersDone.countDown();
+                }
+            }));
+            threads.add(new Thread(() -> {
+                try {
+                    startSignal.await();
+                    while (writing.get()) {
+                        g.V().out().count().next();
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        startSignal.countDown();
+        writersDone.await();
+        writing.set(false);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertVertexEdgeCounts(THREADS * verticesPerWriter, THREADS * (verticesPerWriter - 1)).accept(g);
+    }
+}
@@ -64,6 +64,23 @@ public class GraphWritePerformanceTest {
 
             assertVertexEdgeCounts(verticesToGenerate, verticesToGenerate - 1).accept(g);
         }
+
+        @Test
+        @BenchmarkOptions(benchmarkRounds = 10, warmupRounds = 0, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+        public void writeVerticesAndEdgesWithProperties() throws Exception {
+            final int verticesToGenerate = 100000;
+            Optional<Vertex> lastVertex = Optional.empty();
+            for (int ix = 0; ix < verticesToGenerate; ix++) {
+                final Vertex v = g.addVertex("name", "vertex" + ix, "index", ix);
+                if (lastVertex.isPresent())
+                    v.addEdge("parent", lastVertex.get(), "weight", 0.5d);
+
+                lastVertex = Optional.of(v);
+                tryBatchCommit(g, ix);
+            }
+
+            assertVertexEdgeCounts(verticesToGenerate, verticesToGenerate - 1).accept(g);
+        }
     }
 
     @AxisRange(min = 0, max = 1)
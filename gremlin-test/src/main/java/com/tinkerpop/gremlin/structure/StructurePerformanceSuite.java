@@ -33,7 +33,8 @@ public class StructurePerformanceSuite extends AbstractGremlinSuite {
      */
     private static final Class<?>[] testsToExecute = new Class<?>[]{
             GraphWritePerformanceTest.class,
-            GraphReadPerformanceTest.class
+            GraphReadPerformanceTest.class,
+            GraphConcurrencyPerformanceTest.class
     };
 
     public StructurePerformanceSuite(final Class<?> klass, final RunnerBuilder builder) throws InitializationError {
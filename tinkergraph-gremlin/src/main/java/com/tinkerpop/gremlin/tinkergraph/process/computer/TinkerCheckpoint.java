@@ -0,0 +1,289 @@
+package com.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.process.computer.VertexProgram;
+import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerElement;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The checkpoints of a {@link TinkerGraphComputer} computation, which are written between supersteps to files in a
+ * directory with {@link TinkerComputerKryo}.  A checkpoint holds the {@link TinkerMemory}, the compute keys of the
+ * {@link TinkerGraphView} and the messages of the {@link TinkerMessageBoard} that are to be received in the next
+ * superstep.  As the workers are idle between supersteps, a checkpoint is streamed from the state of the computation
+ * as it is, without a copy.  It is written to a temporary file that replaces the previous checkpoint once it is
+ * complete, so the latest checkpoint is always whole.  A checkpoint is only restored for the same graph and for a
+ * {@link VertexProgram} with the same state, which are told apart by the vertex and edge counts of the graph and by a
+ * hash of the {@link VertexProgram#storeState} configuration.  Configuration values that are only known by their
+ * identity, as are lambda objects, are left out of the hash as they differ from one submission to the next.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerCheckpoint {
+
+    private static final String PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".kryo";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final TinkerGraph graph;
+    private final TinkerComputerKryo kryo;
+
+    public TinkerCheckpoint(final File directory, final TinkerGraph graph) {
+        this.directory = directory;
+        this.graph = graph;
+        this.kryo = new TinkerComputerKryo(graph);
+    }
+
+    /**
+     * Write a checkpoint of the current iteration and delete the checkpoints of the previous iterations.
+     */
+    public void write(final VertexProgram<?> vertexProgram, final TinkerMemory memory, final TinkerGraphView view,
+                      final TinkerMessageBoard<?> messageBoard, final Vertex[] vertices) {
+        final int iteration = memory.getIteration();
+        final File file = new File(this.directory, PREFIX + iteration + SUFFIX);
+        final File temporary = new File(this.directory, PREFIX + iteration + TEMPORARY_SUFFIX);
+        if (!this.directory.isDirectory() && !this.directory.mkdirs())
+            throw new IllegalStateException("The checkpoint directory could not be created: " + this.directory);
+        final Kryo kryo = this.kryo.create();
+        try (final Output output = new Output(new FileOutputStream(temporary))) {
+            output.writeString(vertexProgram.getClass().getName());
+            output.writeInt(getStateHash(vertexProgram));
+            output.writeInt(vertices.length);
+            output.writeLong(TinkerHelper.getEdges(this.graph).size());
+            output.writeInt(iteration);
+            output.writeInt(memory.previousMap.size());
+            for (final Map.Entry<String, Object> entry : memory.previousMap.entrySet()) {
+                output.writeString(entry.getKey());
+                kryo.writeClassAndObject(output, entry.getValue());
+            }
+            for (final Vertex vertex : vertices) {
+                writeProperties(kryo, output, view, (TinkerElement) vertex);
+            }
+            for (final Element edge : view.getComputeEdges()) {
+                writeProperties(kryo, output, view, (TinkerElement) edge);
+            }
+            output.writeBoolean(false);
+            writeMessages(kryo, output, messageBoard.receiveMessages);
+            writeMessages(kryo, output, messageBoard.receiveLocalMessages);
+            writeCombinedMessages(kryo, output, messageBoard.receiveCombinedMessages);
+            writeCombinedMessages(kryo, output, messageBoard.receiveCombinedLocalMessages);
+            if (messageBoard.isTrackingFrontier()) {
+                final TinkerFrontier frontier = messageBoard.getFrontier();
+                for (int i = frontier.nextSetBit(0); i >= 0 && i < vertices.length; i = frontier.nextSetBit(i + 1)) {
+                    output.writeBoolean(true);
+                    kryo.writeClassAndObject(output, vertices[i]);
+                }
+            }
+            output.writeBoolean(false);
+        } catch (final IOException | KryoException e) {
+            temporary.delete();
+            throw new IllegalStateException("The checkpoint could not be written: " + file, e);
+        }
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            temporary.delete();
+            throw new IllegalStateException("The checkpoint could not be written: " + file, e);
+        }
+        for (final File previous : this.getCheckpoints()) {
+            if (getIteration(previous) < iteration)
+                previous.delete();
+        }
+    }
+
+    /**
+     * Restore the state of the computation from the latest checkpoint if there is one.
+     *
+     * @return whether there was a checkpoint to restore
+     */
+    public boolean read(final VertexProgram<?> vertexProgram, final TinkerMemory memory, final TinkerGraphView view,
+                        final TinkerMessageBoard<?> messageBoard, final int vertexCount) {
+        File file = null;
+        for (final File checkpoint : this.getCheckpoints()) {
+            if (null == file || getIteration(checkpoint) > getIteration(file))
+                file = checkpoint;
+        }
+        if (null == file)
+            return false;
+
+        final Kryo kryo = this.kryo.create();
+        try (final Input input = new Input(new FileInputStream(file))) {
+            if (!vertexProgram.getClass().getName().equals(input.readString()) || getStateHash(vertexProgram) != input.readInt() ||
+                    vertexCount != input.readInt() || TinkerHelper.getEdges(this.graph).size() != input.readLong())
+                throw new IllegalStateException("The checkpoint is not of this vertex program and graph: " + file);
+            final int iteration = input.readInt();
+            final int size = input.readInt();
+            final Map<String, Object> values = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                values.put(input.readString(), kryo.readClassAndObject(input));
+            }
+            memory.restore(iteration, values);
+            while (input.readBoolean()) {
+                final TinkerElement element = (TinkerElement) kryo.readClassAndObject(input);
+                for (String key = input.readString(); null != key; key = input.readString()) {
+                    for (int i = input.readVarInt(true); i > 0; i--) {
+                        view.setProperty(element, key, kryo.readClassAndObject(input));
+                    }
+                }
+            }
+            readMessages(kryo, input, (Map) messageBoard.receiveMessages);
+            readMessages(kryo, input, (Map) messageBoard.receiveLocalMessages);
+            readCombinedMessages(kryo, input, (Map) messageBoard.receiveCombinedMessages);
+            readCombinedMessages(kryo, input, (Map) messageBoard.receiveCombinedLocalMessages);
+            while (input.readBoolean()) {
+                messageBoard.activateReceiver((Vertex) kryo.readClassAndObject(input));
+            }
+        } catch (final IOException | KryoException e) {
+            throw new IllegalStateException("The checkpoint could not be read: " + file, e);
+        }
+        return true;
+    }
+
+    /**
+     * Delete the checkpoints, as when the computation has completed.
+     */
+    public void clear() {
+        for (final File checkpoint : this.getCheckpoints()) {
+            checkpoint.delete();
+        }
+    }
+
+    private File[] getCheckpoints() {
+        final File[] files = this.directory.listFiles((directory, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        return null == files ? new File[0] : files;
+    }
+
+    private static int getIteration(final File checkpoint) {
+        final String name = checkpoint.getName();
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Hash the configuration that the vertex program stores its state in, in the order of its keys.
+     */
+    private static int getStateHash(final VertexProgram<?> vertexProgram) {
+        final Configuration configuration = new BaseConfiguration();
+        try {
+            vertexProgram.storeState(configuration);
+        } catch (final IllegalStateException e) {
+            // the vertex program can not store its state so it is only known by its class
+            return 0;
+        }
+        final List<String> keys = new ArrayList<>();
+        configuration.getKeys().forEachRemaining(keys::add);
+        Collections.sort(keys);
+        int hash = 1;
+        for (final String key : keys) {
+            hash = 31 * hash + key.hashCode();
+            hash = 31 * hash + getValueHash(configuration.getProperty(key));
+        }
+        return hash;
+    }
+
+    private static int getValueHash(final Object value) {
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean || value instanceof Character)
+            return value.toString().hashCode();
+        else if (value instanceof Enum)
+            return ((Enum) value).name().hashCode();
+        else if (value instanceof Class)
+            return ((Class) value).getName().hashCode();
+        else if (null != value && value.getClass().isArray()) {
+            int hash = 1;
+            for (int i = 0; i < Array.getLength(value); i++) {
+                hash = 31 * hash + getValueHash(Array.get(value, i));
+            }
+            return hash;
+        } else if (value instanceof Iterable) {
+            int hash = 1;
+            for (final Object item : (Iterable) value) {
+                hash = 31 * hash + getValueHash(item);
+            }
+            return hash;
+        } else
+            return 0;
+    }
+
+    private static void writeProperties(final Kryo kryo, final Output output, final TinkerGraphView view, final TinkerElement element) {
+        boolean written = false;
+        for (final String key : view.computeKeys) {
+            final List<Property> properties = view.getProperty(element, key);
+            if (!properties.isEmpty()) {
+                if (!written) {
+                    output.writeBoolean(true);
+                    kryo.writeClassAndObject(output, element);
+                    written = true;
+                }
+                output.writeString(key);
+                output.writeVarInt(properties.size(), true);
+                for (final Property property : properties) {
+                    kryo.writeClassAndObject(output, property.value());
+                }
+            }
+        }
+        if (written)
+            output.writeString(null);
+    }
+
+    private static <M> void writeMessages(final Kryo kryo, final Output output, final Map<Vertex, Queue<M>> messages) {
+        for (final Map.Entry<Vertex, Queue<M>> entry : messages.entrySet()) {
+            output.writeBoolean(true);
+            kryo.writeClassAndObject(output, entry.getKey());
+            output.writeVarInt(entry.getValue().size(), true);
+            for (final M message : entry.getValue()) {
+                kryo.writeClassAndObject(output, message);
+            }
+        }
+        output.writeBoolean(false);
+    }
+
+    private static void readMessages(final Kryo kryo, final Input input, final Map<Vertex, Queue<Object>> messages) {
+        while (input.readBoolean()) {
+            final Vertex vertex = (Vertex) kryo.readClassAndObject(input);
+            final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+            for (int i = input.readVarInt(true); i > 0; i--) {
+                queue.add(kryo.readClassAndObject(input));
+            }
+            messages.put(vertex, queue);
+        }
+    }
+
+    private static <M> void writeCombinedMessages(final Kryo kryo, final Output output, final Map<Vertex, M> messages) {
+        for (final Map.Entry<Vertex, M> entry : messages.entrySet()) {
+            output.writeBoolean(true);
+            kryo.writeClassAndObject(output, entry.getKey());
+            kryo.writeClassAndObject(output, entry.getValue());
+        }
+        output.writeBoolean(false);
+    }
+
+    private static void readCombinedMessages(final Kryo kryo, final Input input, final Map<Vertex, Object> messages) {
+        while (input.readBoolean()) {
+            final Vertex vertex = (Vertex) kryo.readClassAndObject(input);
+            messages.put(vertex, kryo.readClassAndObject(input));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import com.tinkerpop.gremlin.process.graph.GraphTraversal;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.util.ElementHelper;
+import com.tinkerpop.gremlin.structure.util.StringFactory;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.TinkerElementTraversal;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * A flyweight over the value of a vertex compute key in a {@link TinkerGraphView}.  It holds no state of its own
+ * beyond the slot it refers to, so it has no meta-properties and its identifier is derived from its vertex, key and
+ * value when it is first requested.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerComputeVertexProperty<V> implements VertexProperty<V>, VertexProperty.Iterators {
+
+    private final TinkerGraphView view;
+    private final TinkerVertex vertex;
+    private final String key;
+    private final V value;
+    private Object id = null;
+
+    public TinkerComputeVertexProperty(final TinkerGraphView view, final TinkerVertex vertex, final String key, final V value) {
+        this.view = view;
+        this.vertex = vertex;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public Object id() {
+        if (null == this.id)
+            this.id = Arrays.asList(this.vertex.id(), this.key, this.value);
+        return this.id;
+    }
+
+    @Override
+    public String key() {
+        return Graph.Key.unHide(this.key);
+    }
+
+    @Override
+    public V value() {
+        return this.value;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return true;
+    }
+
+    @Override
+    public boolean isHidden() {
+        return Graph.Key.isHidden(this.key);
+    }
+
+    @Override
+    public Vertex element() {
+        return this.vertex;
+    }
+
+    @Override
+    public <U> Property<U> property(final String key, final U value) {
+        throw VertexProperty.Exceptions.metaPropertiesNotSupported();
+    }
+
+    @Override
+    public void remove() {
+        this.view.removeProperty(this.vertex, this.key, this);
+    }
+
+    @Override
+    public GraphTraversal<VertexProperty, VertexProperty> start() {
+        return new TinkerElementTraversal<>(this, (TinkerGraph) this.vertex.graph());
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.propertyString(this);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.key.hashCode() + this.value.hashCode() + this.vertex.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object instanceof TinkerComputeVertexProperty) {
+            final TinkerComputeVertexProperty other = (TinkerComputeVertexProperty) object;
+            return this.vertex.equals(other.vertex) && this.key.equals(other.key) && this.value.equals(other.value);
+        }
+        return ElementHelper.areEqual(this, object);
+    }
+
+    //////////////////////////////////////////////
+
+    @Override
+    public VertexProperty.Iterators iterators() {
+        return this;
+    }
+
+    @Override
+    public <U> Iterator<Property<U>> propertyIterator(final String... propertyKeys) {
+        return Collections.emptyIterator();
+    }
+
+    @Override
+    public <U> Iterator<Property<U>> hiddenPropertyIterator(final String... propertyKeys) {
+        return Collections.emptyIterator();
+    }
+}
@@ -0,0 +1,96 @@
+package com.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.io.kryo.GremlinKryo;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+/**
+ * Creates the {@link Kryo} instances with which {@link TinkerGraphComputer} writes its intermediate state to local
+ * files.  They serialize as Gremlin Kryo does except that a {@link Vertex} or an {@link Edge} is written as its
+ * identifier and is read back as the element of the {@link TinkerGraph} with that identifier, and that a class that
+ * is not registered is written by name.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerComputerKryo {
+
+    private final GremlinKryo gremlinKryo;
+
+    public TinkerComputerKryo(final TinkerGraph graph) {
+        this.gremlinKryo = GremlinKryo.build()
+                .addCustom(Vertex.class, kryo -> new VertexSerializer(graph))
+                .addCustom(Edge.class, kryo -> new EdgeSerializer(graph))
+                .addCustom(MapReduce.NullObject.class, kryo -> new NullObjectSerializer())
+                .create();
+    }
+
+    /**
+     * Create a {@link Kryo}, which like any {@link Kryo} may only be used by one thread at a time.
+     */
+    public Kryo create() {
+        final Kryo kryo = this.gremlinKryo.createKryo();
+        // the state of a computation is not limited to the registered classes
+        kryo.setRegistrationRequired(false);
+        final Kryo.DefaultInstantiatorStrategy instantiatorStrategy = new Kryo.DefaultInstantiatorStrategy();
+        instantiatorStrategy.setFallbackInstantiatorStrategy(new StdInstantiatorStrategy());
+        kryo.setInstantiatorStrategy(instantiatorStrategy);
+        return kryo;
+    }
+
+    private static final class VertexSerializer extends Serializer<Vertex> {
+
+        private final TinkerGraph graph;
+
+        private VertexSerializer(final TinkerGraph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public void write(final Kryo kryo, final Output output, final Vertex vertex) {
+            kryo.writeClassAndObject(output, vertex.id());
+        }
+
+        @Override
+        public Vertex read(final Kryo kryo, final Input input, final Class<Vertex> vertexClass) {
+            return this.graph.v(kryo.readClassAndObject(input));
+        }
+    }
+
+    private static final class EdgeSerializer extends Serializer<Edge> {
+
+        private final TinkerGraph graph;
+
+        private EdgeSerializer(final TinkerGraph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public void write(final Kryo kryo, final Output output, final Edge edge) {
+            kryo.writeClassAndObject(output, edge.id());
+        }
+
+        @Override
+        public Edge read(final Kryo kryo, final Input input, final Class<Edge> edgeClass) {
+            return this.graph.e(kryo.readClassAndObject(input));
+        }
+    }
+
+    private static final class NullObjectSerializer extends Serializer<MapReduce.NullObject> {
+
+        @Override
+        public void write(final Kryo kryo, final Output output, final MapReduce.NullObject nullObject) {
+        }
+
+        @Override
+        public MapReduce.NullObject read(final Kryo kryo, final Input input, final Class<MapReduce.NullObject> nullObjectClass) {
+            return MapReduce.NullObject.instance();
+        }
+    }
+}
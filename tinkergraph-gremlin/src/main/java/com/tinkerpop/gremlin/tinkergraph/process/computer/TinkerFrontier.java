@@ -0,0 +1,57 @@
+package com.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bitmap of the vertex ordinals that are active in the next superstep.  Bits are set concurrently by the workers
+ * of {@link TinkerGraphComputer} as they send messages and are read once the superstep completes.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerFrontier {
+
+    private final AtomicLongArray words;
+
+    public TinkerFrontier(final int size) {
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    public void set(final int index) {
+        final int word = index >>> 6;
+        final long bit = 1l << index;
+        long current = this.words.get(word);
+        while ((current & bit) == 0l) {
+            if (this.words.compareAndSet(word, current, current | bit))
+                return;
+            current = this.words.get(word);
+        }
+    }
+
+    public boolean get(final int index) {
+        return (this.words.get(index >>> 6) & (1l << index)) != 0l;
+    }
+
+    /**
+     * Get the index of the first set bit at or after the provided index, or -1 if there is none.
+     */
+    public int nextSetBit(final int index) {
+        int word = index >>> 6;
+        if (word >= this.words.length())
+            return -1;
+        long current = this.words.get(word) & (-1l << index);
+        while (true) {
+            if (current != 0l)
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            if (++word == this.words.length())
+                return -1;
+            current = this.words.get(word);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.words.length(); i++) {
+            if (this.words.get(i) != 0l)
+                this.words.set(i, 0l);
+        }
+    }
+}
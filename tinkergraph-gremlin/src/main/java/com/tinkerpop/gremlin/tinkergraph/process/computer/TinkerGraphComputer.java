@@ -3,18 +3,50 @@ package com.tinkerpop.gremlin.tinkergraph.process.computer;
 import com.tinkerpop.gremlin.process.computer.ComputerResult;
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
 import com.tinkerpop.gremlin.process.computer.MapReduce;
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
 import com.tinkerpop.gremlin.process.computer.VertexProgram;
 import com.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
+import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
+ * Executes a {@link VertexProgram} over a {@link TinkerGraph} in bulk synchronous supersteps.  The vertices are split
+ * into one partition per worker and each worker executes its partition on its own thread with its own copy of the
+ * {@link VertexProgram}, as created by {@link VertexProgram#storeState} and {@link VertexProgram#loadState}.  A
+ * superstep completes once every worker is done with its partition.  When the {@link VertexProgram} requires messages
+ * to activate a vertex, the vertices that are sent messages are marked in a {@link TinkerFrontier} and, after the
+ * initial iteration, only they are executed.
+ * <p/>
+ * With {@link Isolation#DIRTY_BSP} the messages and the memory updates of a superstep are visible within that superstep,
+ * which lets convergent algorithms converge in fewer supersteps at the cost of results that depend on the order in
+ * which the vertices are executed.
+ * <p/>
+ * The pairs emitted by a {@link MapReduce} are held in memory up to the spill threshold, beyond which they are written
+ * to temporary files in sorted runs that are merged by key for the reduce stage.
+ * <p/>
+ * With {@link #checkpoint} the memory, the compute keys and the messages are written to a {@link TinkerCheckpoint}
+ * every so many supersteps and a computation that is submitted again resumes from the latest of them.  The
+ * checkpoints are deleted once the {@link VertexProgram} terminates.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerGraphComputer implements GraphComputer {
@@ -26,6 +58,10 @@ public class TinkerGraphComputer implements GraphComputer {
     private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
     private boolean executed = false;
     private final Set<MapReduce> mapReduces = new HashSet<>();
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private long spillThreshold = 1000000l;
+    private File checkpointDirectory = null;
+    private int checkpointSupersteps = 0;
 
     public TinkerGraphComputer(final TinkerGraph graph) {
         this.graph = graph;
@@ -49,6 +85,38 @@ public class TinkerGraphComputer implements GraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer checkpoint(final String location, final int supersteps) {
+        if (supersteps < 1)
+            throw new IllegalArgumentException("The number of supersteps between checkpoints must be at least 1: " + supersteps);
+        this.checkpointDirectory = new File(location);
+        this.checkpointSupersteps = supersteps;
+        return this;
+    }
+
+    /**
+     * Set the number of workers that execute each superstep of the {@link VertexProgram}.  It defaults to the number
+     * of available processors.  A {@link VertexProgram} that can not be copied by way of its state is executed by a
+     * single worker.
+     */
+    public TinkerGraphComputer workers(final int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("The number of workers must be at least 1: " + workers);
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Set the number of pairs that a {@link MapReduce} stage may emit into memory before they are spilled to
+     * temporary files.  It defaults to one million.
+     */
+    public TinkerGraphComputer spillThreshold(final long spillThreshold) {
+        if (spillThreshold < 1)
+            throw new IllegalArgumentException("The spill threshold must be at least 1: " + spillThreshold);
+        this.spillThreshold = spillThreshold;
+        return this;
+    }
+
     @Override
     public Future<ComputerResult> submit() {
         if (this.executed)
@@ -65,46 +133,62 @@ public class TinkerGraphComputer implements GraphComputer {
             this.mapReduces.addAll(this.vertexProgram.getMapReducers());
         }
 
-        this.memory = new TinkerMemory(this.vertexProgram, this.mapReduces);
+        this.memory = new TinkerMemory(this.vertexProgram, this.mapReduces, this.isolation);
+        this.messageBoard.isolation(this.isolation);
         return CompletableFuture.<ComputerResult>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
             if (null != this.vertexProgram) {
-                TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys());
-                // execute the vertex program
-                this.vertexProgram.setup(this.memory);
-                this.memory.completeSubRound();
-                while (true) {
-                    this.vertexProgram.workerIterationStart(this.memory);
-                    TinkerHelper.getVertices(this.graph).stream().forEach(vertex ->
-                            this.vertexProgram.execute(vertex, new TinkerMessenger(vertex, this.messageBoard), this.memory));
-                    this.vertexProgram.workerIterationEnd(this.memory);
-                    this.messageBoard.completeIteration();
+                final TinkerGraphView view = TinkerHelper.createGraphView(this.graph, this.isolation, this.vertexProgram.getElementComputeKeys());
+                final Vertex[] vertices = this.getVertices();
+                if (this.vertexProgram.getFeatures().isActiveOnlyOnMessages())
+                    this.messageBoard.trackFrontier(this.graph, vertices.length);
+                // resume from the latest checkpoint or else set up the vertex program
+                final TinkerCheckpoint checkpoint = null == this.checkpointDirectory ? null : new TinkerCheckpoint(this.checkpointDirectory, this.graph);
+                if (null == checkpoint || !checkpoint.read(this.vertexProgram, this.memory, view, this.messageBoard, vertices.length)) {
+                    this.vertexProgram.setup(this.memory);
                     this.memory.completeSubRound();
-                    if (this.vertexProgram.terminate(this.memory)) {
-                        this.memory.incrIteration();
-                        this.memory.completeSubRound();
-                        break;
-                    } else {
-                        this.memory.incrIteration();
+                }
+                // execute the vertex program
+                final List<Worker> workers = this.createWorkers(vertices);
+                final ExecutorService executor = workers.size() > 1 ? Executors.newFixedThreadPool(workers.size()) : null;
+                try {
+                    while (true) {
+                        this.executeSuperstep(workers, executor);
+                        workers.forEach(Worker::combineMessages);
+                        this.messageBoard.completeIteration();
                         this.memory.completeSubRound();
+                        if (this.vertexProgram.terminate(this.memory)) {
+                            this.memory.incrIteration();
+                            this.memory.completeSubRound();
+                            break;
+                        } else {
+                            this.memory.incrIteration();
+                            this.memory.completeSubRound();
+                            if (null != checkpoint && this.memory.getIteration() % this.checkpointSupersteps == 0)
+                                checkpoint.write(this.vertexProgram, this.memory, view, this.messageBoard, vertices);
+                        }
                     }
+                } finally {
+                    if (null != executor) executor.shutdownNow();
                 }
+                if (null != checkpoint)
+                    checkpoint.clear();
             }
 
             // execute mapreduce jobs
-            for (final MapReduce mapReduce : this.mapReduces) {
-                if (mapReduce.doStage(MapReduce.Stage.MAP)) {
-                    final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    TinkerHelper.getVertices(this.graph).parallelStream().forEach(vertex -> mapReduce.map(vertex, mapEmitter));
-                    mapEmitter.complete(mapReduce); // sort results if a map output sort is defined
-                    // no need to run combiners as this is single machine
-                    if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
-                        final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        mapEmitter.reduceMap.entrySet().parallelStream().forEach(entry -> mapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter));
-                        reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
-                        mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
-                    } else {
-                        mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
+            if (!this.mapReduces.isEmpty()) {
+                final TinkerSpill spill = new TinkerSpill(this.graph);
+                for (final MapReduce mapReduce : this.mapReduces) {
+                    if (mapReduce.doStage(MapReduce.Stage.MAP)) {
+                        final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce, spill, this.spillThreshold);
+                        TinkerHelper.getVertices(this.graph).parallelStream().forEach(vertex -> mapReduce.map(vertex, mapEmitter));
+                        if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
+                            final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>(mapReduce, spill, this.spillThreshold);
+                            mapEmitter.reduce(reduceEmitter);
+                            mapReduce.addResultToMemory(this.memory, reduceEmitter.iterator()); // sorted if a reduce output sort is defined
+                        } else {
+                            mapReduce.addResultToMemory(this.memory, mapEmitter.iterator()); // sorted if a map output sort is defined
+                        }
                     }
                 }
             }
@@ -120,4 +204,124 @@ public class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
+    @Override
+    public Features features() {
+        return new Features() {
+            @Override
+            public boolean supportsCheckpointing() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the vertices of the graph indexed by the ordinals of the graph view.
+     */
+    private Vertex[] getVertices() {
+        final Vertex[] vertices = new Vertex[TinkerHelper.getVertices(this.graph).size()];
+        for (final Vertex vertex : TinkerHelper.getVertices(this.graph)) {
+            vertices[TinkerHelper.getViewOrdinal((TinkerVertex) vertex)] = vertex;
+        }
+        return vertices;
+    }
+
+    /**
+     * Partition the vertices across the workers giving each worker its own copy of the {@link VertexProgram}.
+     */
+    private List<Worker> createWorkers(final Vertex[] vertices) {
+        final int size = Math.max(1, Math.min(this.workers, vertices.length));
+        final List<Worker> workers = new ArrayList<>(size);
+        workers.add(new Worker(this.vertexProgram, vertices, 0, vertices.length / size));
+        if (size > 1) {
+            final Configuration configuration = new BaseConfiguration();
+            try {
+                this.vertexProgram.storeState(configuration);
+                for (int i = 1; i < size; i++) {
+                    final VertexProgram<?> copy = VertexProgram.createVertexProgram(configuration);
+                    workers.add(new Worker(copy, vertices, (int) ((long) vertices.length * i / size), (int) ((long) vertices.length * (i + 1) / size)));
+                }
+            } catch (final IllegalStateException e) {
+                // the vertex program can not be recreated from its state so the one instance executes every vertex
+                workers.clear();
+                workers.add(new Worker(this.vertexProgram, vertices, 0, vertices.length));
+            }
+        }
+        return workers;
+    }
+
+    private void executeSuperstep(final List<Worker> workers, final ExecutorService executor) {
+        if (null == executor) {
+            workers.get(0).run();
+            return;
+        }
+        final List<Future<?>> futures = new ArrayList<>(workers.size());
+        for (final Worker worker : workers) {
+            futures.add(executor.submit(worker));
+        }
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            else
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Executes one partition of the vertices, those with ordinals from {@code from} (inclusive) to {@code to}
+     * (exclusive), for a superstep.
+     */
+    private final class Worker implements Runnable {
+
+        private final VertexProgram vertexProgram;
+        private final Optional<MessageCombiner<?>> combiner;
+        private final Map<Vertex, Object> combinedMessages = new HashMap<>();
+        private final Vertex[] vertices;
+        private final int from;
+        private final int to;
+
+        private Worker(final VertexProgram<?> vertexProgram, final Vertex[] vertices, final int from, final int to) {
+            this.vertexProgram = vertexProgram;
+            this.combiner = (Optional) vertexProgram.getMessageCombiner();
+            this.vertices = vertices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            this.vertexProgram.workerIterationStart(memory);
+            if (messageBoard.isTrackingFrontier() && !memory.isInitialIteration()) {
+                final TinkerFrontier frontier = messageBoard.getFrontier();
+                for (int i = frontier.nextSetBit(this.from); i >= 0 && i < this.to; i = frontier.nextSetBit(i + 1)) {
+                    this.execute(this.vertices[i]);
+                }
+            } else {
+                for (int i = this.from; i < this.to; i++) {
+                    this.execute(this.vertices[i]);
+                }
+            }
+            this.vertexProgram.workerIterationEnd(memory);
+        }
+
+        private void execute(final Vertex vertex) {
+            this.vertexProgram.execute(vertex, new TinkerMessenger(vertex, messageBoard, this.combiner, this.combinedMessages), memory);
+        }
+
+        /**
+         * Merge the messages that were combined by this worker in the superstep into the message board.
+         */
+        private void combineMessages() {
+            if (this.combiner.isPresent() && !this.combinedMessages.isEmpty())
+                messageBoard.combineMessages(this.combinedMessages, (MessageCombiner) this.combiner.get());
+        }
+    }
+
 }
@@ -2,52 +2,69 @@ package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
 import com.tinkerpop.gremlin.structure.Element;
+import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerElement;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
-import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerProperty;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
-import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The compute keys written by a {@link com.tinkerpop.gremlin.process.computer.VertexProgram}, which are kept apart from
+ * the properties of the graph.  The vertices are numbered with dense ordinals when the view is created and the values
+ * of each vertex compute key are held in an array indexed by those ordinals.  A slot holds the value itself or, for
+ * multiple properties, a {@link Values}.  The values are read and written directly by {@link TinkerVertex} and are
+ * only wrapped in a {@link TinkerComputeVertexProperty} when a property is requested.  The workers of
+ * {@link TinkerGraphComputer} write the vertices of their own partition.  Edge compute keys are rare and are held in a
+ * map.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerGraphView {
 
     protected final Set<String> computeKeys;
     protected final GraphComputer.Isolation isolation;
-    private Map<Element, Map<String, List<Property>>> computeProperties;
+    private final Map<String, Object[]> vertexValues = new HashMap<>();
+    private final Map<Element, Map<String, Property>> edgeProperties = new ConcurrentHashMap<>();
 
-    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
+    public TinkerGraphView(final GraphComputer.Isolation isolation, final Set<String> computeKeys, final int vertexCount) {
         this.isolation = isolation;
         this.computeKeys = computeKeys;
-        this.computeProperties = new HashMap<>();
+        for (final String key : computeKeys) {
+            this.vertexValues.put(key, new Object[vertexCount]);
+        }
     }
 
     public <V> Property<V> setProperty(final TinkerElement element, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
             if (element instanceof Vertex) {
-                final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) element, key, value) {
-                    @Override
-                    public void remove() {
-                        removeProperty(element, key, this);
-                    }
-                };
-                this.setValue(element, key, property);
-                return property;
+                final Object[] values = this.getValues((TinkerVertex) element, key);
+                final int ordinal = TinkerHelper.getViewOrdinal((TinkerVertex) element);
+                final Object slot = values[ordinal];
+                if (null == slot) {
+                    values[ordinal] = value;
+                } else if (slot instanceof Values) {
+                    final Object[] previous = ((Values) slot).values;
+                    final Object[] next = Arrays.copyOf(previous, previous.length + 1);
+                    next[previous.length] = value;
+                    values[ordinal] = new Values(next);
+                } else {
+                    values[ordinal] = new Values(new Object[]{slot, value});
+                }
+                return new TinkerComputeVertexProperty<>(this, (TinkerVertex) element, key, value);
             } else {
                 final TinkerProperty<V> property = new TinkerProperty<V>(element, key, value) {
                     @Override
@@ -55,7 +72,7 @@ public class TinkerGraphView {
                         removeProperty((TinkerElement) element, key, this);
                     }
                 };
-                this.setValue(element, key, property);
+                this.edgeProperties.computeIfAbsent(element, e -> new ConcurrentHashMap<>()).put(key, property);
                 return property;
             }
         } else {
@@ -63,71 +80,166 @@ public class TinkerGraphView {
         }
     }
 
+    /**
+     * Get the value of a vertex compute key or {@code null} if the vertex has no property for the key.
+     */
+    public <V> V getValue(final TinkerVertex vertex, final String key) {
+        final Object slot = this.getSlot(vertex, key);
+        if (slot instanceof Values)
+            throw Vertex.Exceptions.multiplePropertiesExistForProvidedKey(key);
+        return (V) slot;
+    }
+
+    /**
+     * Replace the values of a vertex compute key with the provided value.
+     */
+    public <V> VertexProperty<V> setSingleProperty(final TinkerVertex vertex, final String key, final V value) {
+        ElementHelper.validateProperty(key, value);
+        this.getValues(vertex, key)[TinkerHelper.getViewOrdinal(vertex)] = value;
+        return new TinkerComputeVertexProperty<>(this, vertex, key, value);
+    }
 
     public List<Property> getProperty(final TinkerElement element, final String key) {
         if (isComputeKey(key)) {
-            return this.getValue(element, key);
+            if (element instanceof Vertex) {
+                final Object slot = this.getSlot((TinkerVertex) element, key);
+                if (null == slot)
+                    return Collections.emptyList();
+                else if (slot instanceof Values) {
+                    final List<Property> properties = new ArrayList<>(((Values) slot).values.length);
+                    this.addProperties((TinkerVertex) element, key, slot, properties);
+                    return properties;
+                } else
+                    return Collections.singletonList(new TinkerComputeVertexProperty<>(this, (TinkerVertex) element, key, slot));
+            } else {
+                final Map<String, Property> map = this.edgeProperties.get(element);
+                final Property property = null == map ? null : map.get(key);
+                return null == property ? Collections.emptyList() : Collections.singletonList(property);
+            }
         } else {
             return (List) TinkerHelper.getProperties(element).getOrDefault(key, Collections.emptyList());
         }
     }
 
     public List<Property> getProperties(final TinkerElement element) {
-        final Stream<Property> a = TinkerHelper.getProperties(element).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(element) ?
-                this.computeProperties.get(element).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
-        return Stream.concat(a, b).collect(Collectors.toList());
+        final List<Property> properties = new ArrayList<>();
+        for (final List<Property> list : TinkerHelper.getProperties(element).values()) {
+            properties.addAll(list);
+        }
+        if (element instanceof Vertex) {
+            for (final String key : this.vertexValues.keySet()) {
+                final Object slot = this.getSlot((TinkerVertex) element, key);
+                if (null != slot)
+                    this.addProperties((TinkerVertex) element, key, slot, properties);
+            }
+        } else {
+            final Map<String, Property> map = this.edgeProperties.get(element);
+            if (null != map)
+                properties.addAll(map.values());
+        }
+        return properties;
+    }
+
+    /**
+     * Get the properties of the element with the provided keys that are either all hidden or all not hidden.
+     *
+     * @param hidden       whether the hidden or the not hidden properties are wanted
+     * @param propertyKeys the keys of the properties, which are unhidden for hidden properties, or all if none
+     */
+    public List<Property> getProperties(final TinkerElement element, final boolean hidden, final String... propertyKeys) {
+        final List<Property> properties;
+        if (0 == propertyKeys.length) {
+            properties = this.getProperties(element);
+        } else {
+            properties = new ArrayList<>();
+            for (final String key : propertyKeys) {
+                properties.addAll(this.getProperty(element, hidden ? Graph.Key.hide(key) : key));
+            }
+        }
+        properties.removeIf(property -> property.isHidden() != hidden);
+        return properties;
     }
 
     public void removeProperty(final TinkerElement element, final String key, final Property property) {
         if (isComputeKey(key)) {
             if (element instanceof Vertex)
-                this.removeValue(element, key, property);
-            else
-                this.removeValue(element, key);
+                this.removeValue((TinkerVertex) element, key, property.value());
+            else {
+                final Map<String, Property> map = this.edgeProperties.get(element);
+                if (null != map)
+                    map.remove(key);
+            }
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
     }
 
+    public boolean isComputeKey(final String key) {
+        return this.computeKeys.contains(key);
+    }
+
+    /**
+     * Get the edges that have compute key properties.
+     */
+    public Set<Element> getComputeEdges() {
+        return this.edgeProperties.keySet();
+    }
+
     //////////////////////
 
-    private void setValue(final Element element, final String key, final Property property) {
-        final Map<String, List<Property>> nextMap = this.computeProperties.getOrDefault(element, new HashMap<>());
-        this.computeProperties.put(element, nextMap);
-        if (nextMap.containsKey(key)) {
-            if (element instanceof Vertex) {
-                nextMap.get(key).add(property);
-            } else {
-                nextMap.get(key).clear();
-                nextMap.get(key).add(property);
-            }
-        } else {
-            final List<Property> list = new ArrayList<>();
-            list.add(property);
-            nextMap.put(key, list);
-        }
+    private Object[] getValues(final TinkerVertex vertex, final String key) {
+        final int ordinal = TinkerHelper.getViewOrdinal(vertex);
+        if (ordinal < 0 || ordinal >= this.vertexValues.get(key).length)
+            throw new IllegalStateException("The vertex was added after the graph computer started: " + vertex.id());
+        return this.vertexValues.get(key);
     }
 
-    private void removeValue(final Element element, final String key) {
-        final Map<String, List<Property>> map = this.computeProperties.get(element);
-        if (null != map)
-            map.remove(key);
+    private Object getSlot(final TinkerVertex vertex, final String key) {
+        final Object[] values = this.vertexValues.get(key);
+        final int ordinal = TinkerHelper.getViewOrdinal(vertex);
+        return ordinal < 0 || ordinal >= values.length ? null : values[ordinal];
     }
 
-    private void removeValue(final Element element, final String key, final Property property) {
-        final Map<String, List<Property>> map = this.computeProperties.get(element);
-        if (null != map)
-            map.get(key).remove(property);
+    private void addProperties(final TinkerVertex vertex, final String key, final Object slot, final List<Property> properties) {
+        if (slot instanceof Values) {
+            for (final Object value : ((Values) slot).values) {
+                properties.add(new TinkerComputeVertexProperty<>(this, vertex, key, value));
+            }
+        } else {
+            properties.add(new TinkerComputeVertexProperty<>(this, vertex, key, slot));
+        }
     }
 
-    private List<Property> getValue(final Element element, final String key) {
-        final Map<String, List<Property>> map = this.computeProperties.get(element);
-        return (null == map) ? Collections.emptyList() : map.getOrDefault(key, Collections.emptyList());
+    private void removeValue(final TinkerVertex vertex, final String key, final Object value) {
+        final Object[] values = this.getValues(vertex, key);
+        final int ordinal = TinkerHelper.getViewOrdinal(vertex);
+        final Object slot = values[ordinal];
+        if (slot instanceof Values) {
+            final Object[] previous = ((Values) slot).values;
+            final int position = Arrays.asList(previous).indexOf(value);
+            if (-1 != position) {
+                if (previous.length == 2) {
+                    values[ordinal] = previous[1 - position];
+                } else {
+                    final Object[] next = new Object[previous.length - 1];
+                    System.arraycopy(previous, 0, next, 0, position);
+                    System.arraycopy(previous, position + 1, next, position, next.length - position);
+                    values[ordinal] = new Values(next);
+                }
+            }
+        } else if (null != slot && slot.equals(value)) {
+            values[ordinal] = null;
+        }
     }
 
-    public boolean isComputeKey(final String key) {
-        return this.computeKeys.contains(key);
+    /**
+     * The values of a vertex with multiple properties for a compute key.
+     */
+    private static final class Values {
+        private final Object[] values;
+
+        private Values(final Object[] values) {
+            this.values = values;
+        }
     }
-}
\ No newline at end of file
+}
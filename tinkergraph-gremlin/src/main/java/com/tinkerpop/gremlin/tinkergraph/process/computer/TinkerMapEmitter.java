@@ -1,58 +1,203 @@
 package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
 import com.tinkerpop.gremlin.process.computer.MapReduce;
-import com.tinkerpop.gremlin.process.util.MapHelper;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Each thread that emits into a {@link TinkerMapEmitter} emits into a buffer of its own.  If the {@link MapReduce} has
+ * a combine stage, a thread combines the values of its buffer whenever the buffer has doubled in size since it was
+ * last combined, so that a buffer holds about as many values as it has distinct keys.  Once the emitter holds more
+ * pairs than its spill threshold, the next thread to emit that holds at least its share of them sorts its buffer and
+ * writes it to a run file with {@link TinkerSpill}.  If nothing was spilled the pairs are reduced from memory in
+ * parallel, else the runs are merged by key and reduced one key at a time.  A buffer with pairs that can not be
+ * serialized is kept in memory while the other buffers go on spilling.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerMapEmitter<K, V> implements MapReduce.MapEmitter<K, V> {
 
-    public Map<K, Queue<V>> reduceMap;
-    public Queue<Pair<K, V>> mapQueue;
+    private static final long COMBINE_SIZE = 1024l;
+
+    private final MapReduce mapReduce;
     private final boolean doReduce;
+    private final boolean doCombine;
+    private final Comparator<K> mapKeySort;
+    private final TinkerSpill spill;
+    private final long spillThreshold;
+    private final AtomicLong buffered = new AtomicLong(0l);
+    private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+    private final Queue<File> runs = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Buffer> buffer = ThreadLocal.withInitial(() -> {
+        final Buffer buffer = new Buffer();
+        this.buffers.add(buffer);
+        return buffer;
+    });
 
-    public TinkerMapEmitter(final boolean doReduce) {
-        this.doReduce = doReduce;
-        if (this.doReduce)
-            this.reduceMap = new ConcurrentHashMap<>();
-        else
-            this.mapQueue = new ConcurrentLinkedQueue<>();
+    public TinkerMapEmitter(final MapReduce<K, V, ?, ?, ?> mapReduce, final TinkerSpill spill, final long spillThreshold) {
+        this.mapReduce = mapReduce;
+        this.doReduce = mapReduce.doStage(MapReduce.Stage.REDUCE);
+        this.doCombine = this.doReduce && mapReduce.doStage(MapReduce.Stage.COMBINE);
+        this.mapKeySort = mapReduce.getMapKeySort().orElse(null);
+        this.spill = spill;
+        this.spillThreshold = spillThreshold;
     }
 
     @Override
-    public void emit(K key, V value) {
-        if (this.doReduce)
-            MapHelper.concurrentIncr(this.reduceMap, key, value);
-        else
-            this.mapQueue.add(new Pair<>(key, value));
+    public void emit(final K key, final V value) {
+        final Buffer buffer = this.buffer.get();
+        buffer.add(key, value);
+        if (this.buffered.incrementAndGet() > this.spillThreshold && buffer.spillable && buffer.size * this.buffers.size() >= this.spillThreshold)
+            buffer.spill();
+    }
+
+    /**
+     * Reduce the values of each emitted key into the reduce emitter.
+     */
+    protected void reduce(final TinkerReduceEmitter<?, ?> reduceEmitter) {
+        if (this.runs.isEmpty()) {
+            if (this.doCombine)
+                this.buffers.parallelStream().forEach(Buffer::combine);
+            final Map<K, List<V>> reduceMap = new HashMap<>();
+            this.buffers.forEach(buffer -> buffer.reduceMap.forEach((key, values) -> {
+                final List<V> list = reduceMap.get(key);
+                if (null == list)
+                    reduceMap.put(key, values);
+                else
+                    list.addAll(values);
+            }));
+            this.buffers.clear();
+            reduceMap.entrySet().parallelStream().forEach(entry -> this.mapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter));
+        } else {
+            final Comparator<K> order = TinkerSpill.getOrder(this.mapKeySort);
+            final List<Iterator<Pair<K, List<V>>>> memory = new ArrayList<>();
+            this.buffers.forEach(buffer -> {
+                if (this.doCombine)
+                    buffer.combine();
+                memory.add(buffer.sortReduceMap(order));
+            });
+            this.buffers.clear();
+            TinkerSpill.group(this.spill.read(new ArrayList<>(this.runs), memory, order), order)
+                    .forEachRemaining(pair -> this.mapReduce.reduce(pair.getValue0(), pair.getValue1().iterator(), reduceEmitter));
+        }
+    }
+
+    /**
+     * Get the emitted pairs of a {@link MapReduce} without a reduce stage, sorted if a map key sort is defined.
+     */
+    protected Iterator<Pair<K, V>> iterator() {
+        if (this.runs.isEmpty()) {
+            final List<Pair<K, V>> list = new ArrayList<>();
+            this.buffers.forEach(buffer -> list.addAll(buffer.mapList));
+            this.buffers.clear();
+            if (null != this.mapKeySort)
+                Collections.sort(list, Comparator.comparing(Pair::getValue0, this.mapKeySort));
+            return list.iterator();
+        } else {
+            final List<Iterator<Pair<K, V>>> memory = new ArrayList<>();
+            this.buffers.forEach(buffer -> memory.add(buffer.sortMapList()));
+            this.buffers.clear();
+            return this.spill.read(new ArrayList<>(this.runs), memory, this.mapKeySort);
+        }
+    }
+
+    private final class Buffer {
+
+        private Map<K, List<V>> reduceMap;
+        private List<Pair<K, V>> mapList;
+        private long size = 0l;
+        private long combineSize = COMBINE_SIZE;
+        private boolean spillable = true;
+
+        private Buffer() {
+            this.clear();
+        }
+
+        private void add(final K key, final V value) {
+            if (doReduce)
+                addValue(this.reduceMap, key, value);
+            else
+                this.mapList.add(new Pair<>(key, value));
+            if (++this.size >= this.combineSize && doCombine) {
+                this.combine();
+                this.combineSize = Math.max(COMBINE_SIZE, this.size * 2);
+            }
+        }
+
+        /**
+         * Replace the values of each key that has more than one value with the values that the combine stage of the
+         * {@link MapReduce} emits for them.
+         */
+        private void combine() {
+            final Map<K, List<V>> combined = new HashMap<>();
+            this.reduceMap.forEach((key, values) -> {
+                if (values.size() == 1)
+                    addValue(combined, key, values.get(0));
+                else
+                    mapReduce.combine(key, values.iterator(), (k, v) -> addValue(combined, (K) k, (V) v));
+            });
+            long size = 0l;
+            for (final List<V> values : combined.values()) {
+                size = size + values.size();
+            }
+            buffered.addAndGet(size - this.size);
+            this.reduceMap = combined;
+            this.size = size;
+        }
+
+        private void spill() {
+            if (doCombine)
+                this.combine();
+            try {
+                runs.add(doReduce ?
+                        spill.write(this.sortReduceMap(TinkerSpill.getOrder(mapKeySort))) :
+                        spill.write(this.sortMapList()));
+            } catch (final IllegalStateException e) {
+                // the pairs of this buffer stay in memory if they can not be written
+                this.spillable = false;
+                return;
+            }
+            buffered.addAndGet(-this.size);
+            this.clear();
+        }
+
+        private Iterator<Pair<K, List<V>>> sortReduceMap(final Comparator<K> order) {
+            final List<Map.Entry<K, List<V>>> entries = new ArrayList<>(this.reduceMap.entrySet());
+            Collections.sort(entries, Map.Entry.comparingByKey(order));
+            return entries.stream().map(entry -> new Pair<>(entry.getKey(), entry.getValue())).iterator();
+        }
+
+        private Iterator<Pair<K, V>> sortMapList() {
+            if (null != mapKeySort)
+                Collections.sort(this.mapList, Comparator.comparing(Pair::getValue0, mapKeySort));
+            return this.mapList.iterator();
+        }
+
+        private void clear() {
+            this.reduceMap = doReduce ? new HashMap<>() : null;
+            this.mapList = doReduce ? null : new ArrayList<>();
+            this.size = 0l;
+            this.combineSize = COMBINE_SIZE;
+        }
     }
 
-    protected void complete(final MapReduce<K, V, ?, ?, ?> mapReduce) {
-        if (!this.doReduce && mapReduce.getMapKeySort().isPresent()) {
-            final Comparator<K> comparator = mapReduce.getMapKeySort().get();
-            final List<Pair<K, V>> list = new ArrayList<>(this.mapQueue);
-            Collections.sort(list, Comparator.comparing(Pair::getValue0, comparator));
-            this.mapQueue.clear();
-            this.mapQueue.addAll(list);
-        } else if (mapReduce.getMapKeySort().isPresent()) {
-            final Comparator<K> comparator = mapReduce.getMapKeySort().get();
-            final List<Map.Entry<K, Queue<V>>> list = new ArrayList<>();
-            list.addAll(this.reduceMap.entrySet());
-            Collections.sort(list, Comparator.comparing(Map.Entry::getKey, comparator));
-            this.reduceMap = new LinkedHashMap<>();
-            list.forEach(entry -> this.reduceMap.put(entry.getKey(), entry.getValue()));
+    private static <K, V> void addValue(final Map<K, List<V>> map, final K key, final V value) {
+        List<V> values = map.get(key);
+        if (null == values) {
+            values = new ArrayList<>();
+            map.put(key, values);
         }
+        values.add(value);
     }
 }
@@ -11,23 +11,38 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * The memory of a {@link TinkerGraphComputer}.  The values written in the current sub-round are held in accumulators,
+ * a {@link LongAdder} for {@link #incr} and an {@link AtomicBoolean} for {@link #and} and {@link #or}, such that the
+ * workers can update them concurrently without losing updates.  The values read are those of the previous sub-round.
+ * Only the keys written in a sub-round are copied when it completes.  With {@link GraphComputer.Isolation#DIRTY_BSP}
+ * the values read are those of the accumulators such that an update is visible at once, and {@link #incr} uses an
+ * {@link AtomicLong} instead such that each increment returns the sum that it produced.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-// TODO: add TinkerASPMemory
 public class TinkerMemory implements Memory.Admin {
 
     public final Set<String> memoryKeys = new HashSet<>();
     public Map<String, Object> previousMap;
     public Map<String, Object> currentMap;
+    private final Set<String> changedKeys = ConcurrentHashMap.newKeySet();
     private final AtomicInteger iteration = new AtomicInteger(0);
     private final AtomicLong runtime = new AtomicLong(0l);
     private boolean complete = false;
+    private final boolean dirty;
 
     public TinkerMemory(final VertexProgram<?> vertexProgram, final Set<MapReduce> mapReducers) {
+        this(vertexProgram, mapReducers, GraphComputer.Isolation.BSP);
+    }
+
+    public TinkerMemory(final VertexProgram<?> vertexProgram, final Set<MapReduce> mapReducers, final GraphComputer.Isolation isolation) {
+        this.dirty = GraphComputer.Isolation.DIRTY_BSP.equals(isolation);
         this.currentMap = new ConcurrentHashMap<>();
         this.previousMap = new ConcurrentHashMap<>();
         if (null != vertexProgram) {
@@ -43,7 +58,7 @@ public class TinkerMemory implements Memory.Admin {
 
     @Override
     public Set<String> keys() {
-        return this.previousMap.keySet();
+        return this.dirty && !this.complete ? this.currentMap.keySet() : this.previousMap.keySet();
     }
 
     @Override
@@ -69,13 +84,24 @@ public class TinkerMemory implements Memory.Admin {
 
     protected void complete() {
         this.iteration.decrementAndGet();
+        this.completeSubRound();
         this.complete = true;
-        this.previousMap = this.currentMap;
     }
 
-    protected void completeSubRound() {
-        this.previousMap = new ConcurrentHashMap<>(this.currentMap);
+    /**
+     * Restore the iteration and the values of the memory, as when a computation is resumed from a checkpoint.
+     */
+    protected void restore(final int iteration, final Map<String, Object> values) {
+        this.iteration.set(iteration);
+        this.previousMap.putAll(values);
+        this.currentMap.putAll(values);
+    }
 
+    protected void completeSubRound() {
+        for (final String key : this.changedKeys) {
+            this.previousMap.put(key, valueOf(this.currentMap.get(key)));
+        }
+        this.changedKeys.clear();
     }
 
     @Override
@@ -85,7 +111,7 @@ public class TinkerMemory implements Memory.Admin {
 
     @Override
     public <R> R get(final String key) throws IllegalArgumentException {
-        final R r = (R) this.previousMap.get(key);
+        final R r = (R) (this.dirty && !this.complete ? valueOf(this.currentMap.get(key)) : this.previousMap.get(key));
         if (null == r)
             throw Memory.Exceptions.memoryDoesNotExist(key);
         else
@@ -95,9 +121,19 @@ public class TinkerMemory implements Memory.Admin {
     @Override
     public long incr(final String key, final long delta) {
         checkKeyValue(key, delta);
-        final Long currentValue = (Long) this.currentMap.getOrDefault(key, 0l);
-        this.currentMap.put(key, delta + currentValue);
+        if (this.dirty) {
+            Object current = this.currentMap.get(key);
+            if (!(current instanceof AtomicLong))
+                current = this.currentMap.compute(key, (k, value) -> value instanceof AtomicLong ? value : new AtomicLong(null == value ? 0l : (Long) valueOf(value)));
+            this.changed(key);
+            return ((AtomicLong) current).addAndGet(delta);
+        }
 
+        Object current = this.currentMap.get(key);
+        if (!(current instanceof LongAdder))
+            current = this.currentMap.compute(key, (k, value) -> value instanceof LongAdder ? value : newAdder((Long) value));
+        ((LongAdder) current).add(delta);
+        this.changed(key);
         final Long previousValue = (Long) this.previousMap.getOrDefault(key, 0l);
         return previousValue + delta;
     }
@@ -105,8 +141,12 @@ public class TinkerMemory implements Memory.Admin {
     @Override
     public boolean and(final String key, final boolean bool) {
         checkKeyValue(key, bool);
-        final Boolean currentValue = (Boolean) this.currentMap.getOrDefault(key, true);
-        this.currentMap.put(key, bool && currentValue);
+        final AtomicBoolean current = this.getBoolean(key, true);
+        if (!bool && current.get())
+            current.set(false);
+        this.changed(key);
+        if (this.dirty)
+            return current.get();
 
         final Boolean previousValue = (Boolean) this.previousMap.getOrDefault(key, true);
         return previousValue && bool;
@@ -115,10 +155,14 @@ public class TinkerMemory implements Memory.Admin {
     @Override
     public boolean or(final String key, final boolean bool) {
         checkKeyValue(key, bool);
-        final Boolean currentValue = (Boolean) this.currentMap.getOrDefault(key, true);
-        this.currentMap.put(key, bool || currentValue);
-
-        final Boolean previousValue = (Boolean) this.previousMap.getOrDefault(key, true);
+        final AtomicBoolean current = this.getBoolean(key, false);
+        if (bool && !current.get())
+            current.set(true);
+        this.changed(key);
+        if (this.dirty)
+            return current.get();
+
+        final Boolean previousValue = (Boolean) this.previousMap.getOrDefault(key, false);
         return previousValue || bool;
     }
 
@@ -126,6 +170,7 @@ public class TinkerMemory implements Memory.Admin {
     public void set(final String key, final Object value) {
         checkKeyValue(key, value);
         this.currentMap.put(key, value);
+        this.changed(key);
     }
 
     @Override
@@ -139,4 +184,36 @@ public class TinkerMemory implements Memory.Admin {
             throw GraphComputer.Exceptions.providedKeyIsNotAMemoryComputeKey(key);
         MemoryHelper.validateValue(value);
     }
+
+    private void changed(final String key) {
+        if (!this.changedKeys.contains(key))
+            this.changedKeys.add(key);
+    }
+
+    private AtomicBoolean getBoolean(final String key, final boolean identity) {
+        final Object current = this.currentMap.get(key);
+        return current instanceof AtomicBoolean ?
+                (AtomicBoolean) current :
+                (AtomicBoolean) this.currentMap.compute(key, (k, value) -> value instanceof AtomicBoolean ?
+                        value :
+                        new AtomicBoolean(null == value ? identity : (Boolean) value));
+    }
+
+    private static LongAdder newAdder(final Long value) {
+        final LongAdder adder = new LongAdder();
+        if (null != value)
+            adder.add(value);
+        return adder;
+    }
+
+    private static Object valueOf(final Object value) {
+        if (value instanceof LongAdder)
+            return ((LongAdder) value).sum();
+        else if (value instanceof AtomicLong)
+            return ((AtomicLong) value).get();
+        else if (value instanceof AtomicBoolean)
+            return ((AtomicBoolean) value).get();
+        else
+            return value;
+    }
 }
@@ -1,21 +1,178 @@
 package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
+import com.tinkerpop.gremlin.process.computer.MessageType;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
+import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The messages of the current and the previous superstep.  Messages are sent concurrently by the workers of
+ * {@link TinkerGraphComputer} and are only received after the superstep completes.  {@link MessageType.Global}
+ * messages are held by their receiver and {@link MessageType.Local} messages are held by their sender.
+ * <p/>
+ * With {@link GraphComputer.Isolation#DIRTY_BSP} the messages are sent and received through the same maps such that
+ * they are visible at once.  A receiver then takes its {@link MessageType.Global} messages out of its inbox and a
+ * sender replaces its {@link MessageType.Local} messages with those of its latest execution.
+ * <p/>
+ * When the {@link com.tinkerpop.gremlin.process.computer.VertexProgram} has a {@link MessageCombiner}, the messages
+ * are held in the combined maps as a single value for each vertex.  The {@link MessageType.Global} messages of a worker
+ * are combined in a map of its own and merged into the board at the end of the superstep.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new HashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new HashMap<>();
+    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
+    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
+    public Map<Vertex, Queue<M>> sendLocalMessages = new ConcurrentHashMap<>();
+    public Map<Vertex, Queue<M>> receiveLocalMessages = new ConcurrentHashMap<>();
+    public Map<Vertex, M> sendCombinedMessages = new ConcurrentHashMap<>();
+    public Map<Vertex, M> receiveCombinedMessages = new ConcurrentHashMap<>();
+    public Map<Vertex, M> sendCombinedLocalMessages = new ConcurrentHashMap<>();
+    public Map<Vertex, M> receiveCombinedLocalMessages = new ConcurrentHashMap<>();
+
+    private final Map<MessageType.Local, Optional<VertexStep>> incidentSteps = new ConcurrentHashMap<>();
+    private boolean dirty = false;
+    private Set<Vertex> localSenders = ConcurrentHashMap.newKeySet();
+    private TinkerGraph graph = null;
+    private TinkerFrontier sendFrontier = null;
+    private TinkerFrontier receiveFrontier = null;
+
+    public void isolation(final GraphComputer.Isolation isolation) {
+        this.dirty = GraphComputer.Isolation.DIRTY_BSP.equals(isolation);
+        if (this.dirty) {
+            this.receiveMessages = this.sendMessages;
+            this.receiveLocalMessages = this.sendLocalMessages;
+            this.receiveCombinedMessages = this.sendCombinedMessages;
+            this.receiveCombinedLocalMessages = this.sendCombinedLocalMessages;
+        }
+    }
+
+    public boolean isDirty() {
+        return this.dirty;
+    }
+
+    /**
+     * Replace the {@link MessageType.Local} messages of the sender with those of its current execution.
+     */
+    public void resetLocalMessages(final Vertex sender) {
+        this.sendLocalMessages.remove(sender);
+        this.sendCombinedLocalMessages.remove(sender);
+        this.localSenders.add(sender);
+    }
+
+    /**
+     * Merge the {@link MessageType.Global} messages that a worker combined in the superstep into the messages to be
+     * received and clear them from the worker.
+     */
+    public void combineMessages(final Map<Vertex, M> messages, final MessageCombiner<M> combiner) {
+        for (final Map.Entry<Vertex, M> entry : messages.entrySet()) {
+            this.sendCombinedMessages.merge(entry.getKey(), entry.getValue(), combiner::combine);
+        }
+        messages.clear();
+    }
 
     public void completeIteration() {
-        this.receiveMessages = this.sendMessages;
-        this.sendMessages = new HashMap<>();
+        if (this.dirty) {
+            // the local messages of the senders that did not send in this superstep are no longer current
+            this.sendLocalMessages.keySet().retainAll(this.localSenders);
+            this.sendCombinedLocalMessages.keySet().retainAll(this.localSenders);
+            this.localSenders = ConcurrentHashMap.newKeySet();
+        } else {
+            this.receiveMessages = this.sendMessages;
+            this.sendMessages = new ConcurrentHashMap<>();
+            this.receiveLocalMessages = this.sendLocalMessages;
+            this.sendLocalMessages = new ConcurrentHashMap<>();
+            this.receiveCombinedMessages = this.sendCombinedMessages;
+            this.sendCombinedMessages = new ConcurrentHashMap<>();
+            this.receiveCombinedLocalMessages = this.sendCombinedLocalMessages;
+            this.sendCombinedLocalMessages = new ConcurrentHashMap<>();
+        }
+        if (null != this.sendFrontier) {
+            final TinkerFrontier frontier = this.receiveFrontier;
+            this.receiveFrontier = this.sendFrontier;
+            this.sendFrontier = frontier;
+            this.sendFrontier.clear();
+        }
+    }
+
+    /**
+     * Track the vertices that are sent messages such that only they need to be executed in the next superstep.
+     */
+    public void trackFrontier(final TinkerGraph graph, final int vertexCount) {
+        this.graph = graph;
+        this.sendFrontier = new TinkerFrontier(vertexCount);
+        this.receiveFrontier = new TinkerFrontier(vertexCount);
+    }
+
+    public boolean isTrackingFrontier() {
+        return null != this.sendFrontier;
+    }
+
+    /**
+     * Mark the vertex as active in the next superstep.  A vertex that is not in the graph or that was added after the
+     * computation started is ignored.
+     */
+    public void activate(final Vertex vertex) {
+        final int ordinal = this.getOrdinal(vertex);
+        if (ordinal >= 0)
+            this.sendFrontier.set(ordinal);
+    }
+
+    /**
+     * Mark the vertex as active in the current superstep, as when the messages of the previous superstep are restored
+     * from a checkpoint.
+     */
+    public void activateReceiver(final Vertex vertex) {
+        final int ordinal = this.getOrdinal(vertex);
+        if (ordinal >= 0)
+            this.receiveFrontier.set(ordinal);
+    }
+
+    private int getOrdinal(final Vertex vertex) {
+        if (vertex instanceof TinkerVertex)
+            return TinkerHelper.getViewOrdinal((TinkerVertex) vertex);
+        else {
+            try {
+                return TinkerHelper.getViewOrdinal((TinkerVertex) this.graph.v(vertex.id()));
+            } catch (final NoSuchElementException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Get the vertices that were sent messages in the previous superstep.
+     */
+    public TinkerFrontier getFrontier() {
+        return this.receiveFrontier;
+    }
+
+    /**
+     * Get the {@link VertexStep} of an incident traversal that is a single step to edges such that its receivers can
+     * be read from the adjacency of the graph.  The incident traversal is only created once for each message type.
+     */
+    public Optional<VertexStep> getIncidentStep(final MessageType.Local messageType) {
+        return this.incidentSteps.computeIfAbsent(messageType, m -> {
+            final Traversal<Vertex, Edge> traversal = (Traversal) m.getIncidentTraversal().get();
+            return traversal.getSteps().size() == 1 &&
+                    traversal.getSteps().get(0) instanceof VertexStep &&
+                    Edge.class.isAssignableFrom(((VertexStep) traversal.getSteps().get(0)).getReturnClass()) ?
+                    Optional.of((VertexStep) traversal.getSteps().get(0)) :
+                    Optional.empty();
+        });
     }
 }
@@ -1,74 +1,183 @@
 package com.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
 import com.tinkerpop.gremlin.process.computer.MessageType;
 import com.tinkerpop.gremlin.process.computer.Messenger;
+import com.tinkerpop.gremlin.process.graph.step.map.VertexStep;
+import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Vertex;
-import com.tinkerpop.gremlin.util.StreamFactory;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiFunction;
 
 /**
+ * Sends and receives the messages of a vertex by way of the {@link TinkerMessageBoard}.  When the
+ * {@link com.tinkerpop.gremlin.process.computer.VertexProgram} has a {@link MessageCombiner}, a message is combined
+ * with the message already held for its receiver (or sender) such that a single message is held.  The
+ * {@link MessageType.Global} messages are combined in the map of the worker, when one is given, which is merged into
+ * the board at the end of the superstep.
+ * A {@link MessageType.Local} message is held once by its sender.  Its receivers pull it over their incident edges,
+ * which are read from the adjacency of the graph when the incident traversal is a single step to edges.  With
+ * {@link com.tinkerpop.gremlin.process.computer.GraphComputer.Isolation#DIRTY_BSP} the messages are visible to their
+ * receivers as soon as they are sent.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerMessenger<M> implements Messenger<M> {
 
     private final Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
-    //private final Optional<MessageCombiner<M>> combiner;
-
+    private final Optional<MessageCombiner<M>> combiner;
+    private final Map<Vertex, M> combinedMessages;
+    private List<M> globalMessages = null;
+    private boolean sentLocalMessages = false;
 
     public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard) {
+        this(vertex, messageBoard, Optional.empty());
+    }
+
+    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
+        this(vertex, messageBoard, combiner, null);
+    }
+
+    /**
+     * @param combinedMessages the map of the worker in which the {@link MessageType.Global} messages are combined or
+     *                         {@code null} to combine them in the board
+     */
+    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner,
+                           final Map<Vertex, M> combinedMessages) {
         this.vertex = vertex;
         this.messageBoard = messageBoard;
-        //this.combiner = combiner;
+        this.combiner = combiner;
+        this.combinedMessages = null == combinedMessages || messageBoard.isDirty() ? messageBoard.sendCombinedMessages : combinedMessages;
     }
 
     @Override
     public Iterable<M> receiveMessages(final MessageType messageType) {
         if (messageType instanceof MessageType.Local) {
             final MessageType.Local<Object, M> localMessageType = (MessageType.Local) messageType;
-            final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
-            return StreamFactory.iterable(StreamFactory.stream(localMessageType.edges(this.vertex).reverse())
-                    .map(e -> {
-                        edge[0] = e;
-                        return this.messageBoard.receiveMessages.get(e.toV(localMessageType.getDirection()).next());
-                    })
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream())
-                    .map(message -> localMessageType.getEdgeFunction().apply(message, edge[0])));
-
+            final BiFunction<Object, Edge, M> edgeFunction = localMessageType.getEdgeFunction();
+            final List<M> messages = new ArrayList<>();
+            final Optional<VertexStep> incidentStep = this.messageBoard.getIncidentStep(localMessageType);
+            if (incidentStep.isPresent()) {
+                final Direction direction = incidentStep.get().getDirection();
+                final Iterator<TinkerEdge> edges = TinkerHelper.getEdges((TinkerVertex) this.vertex, direction.opposite(), incidentStep.get().getEdgeLabels());
+                while (edges.hasNext()) {
+                    final TinkerEdge edge = edges.next();
+                    final Vertex sender = direction.equals(Direction.BOTH) ?
+                            (TinkerHelper.getVertex(edge, Direction.OUT).equals(this.vertex) ? TinkerHelper.getVertex(edge, Direction.IN) : TinkerHelper.getVertex(edge, Direction.OUT)) :
+                            TinkerHelper.getVertex(edge, direction);
+                    this.addMessages(sender, edge, edgeFunction, messages);
+                }
+            } else {
+                final Direction direction = localMessageType.getDirection();
+                final Iterator<Edge> edges = localMessageType.edges(this.vertex).reverse();
+                while (edges.hasNext()) {
+                    final Edge edge = edges.next();
+                    this.addMessages(edge.iterators().vertexIterator(direction).next(), edge, edgeFunction, messages);
+                }
+            }
+            return messages;
+        } else if (this.messageBoard.isDirty()) {
+            // take the messages out of the inbox once, leaving those that are still being sent for the next execution
+            if (null == this.globalMessages) {
+                this.globalMessages = new ArrayList<>();
+                if (this.combiner.isPresent()) {
+                    final M message = this.messageBoard.receiveCombinedMessages.remove(this.vertex);
+                    if (null != message)
+                        this.globalMessages.add(message);
+                    return this.globalMessages;
+                }
+                final Queue<M> messages = this.messageBoard.receiveMessages.get(this.vertex);
+                if (null != messages) {
+                    M message;
+                    while (null != (message = messages.poll())) {
+                        this.globalMessages.add(message);
+                    }
+                }
+            }
+            return this.globalMessages;
+        } else if (this.combiner.isPresent()) {
+            final M message = this.messageBoard.receiveCombinedMessages.get(this.vertex);
+            return null == message ? Collections.emptyList() : Collections.singletonList(message);
         } else {
-            return StreamFactory.iterable(Arrays.asList(this.vertex).stream()
-                    .map(this.messageBoard.receiveMessages::get)
-                    .filter(q -> null != q)
-                    .flatMap(q -> q.stream()));
+            final Queue<M> messages = this.messageBoard.receiveMessages.get(this.vertex);
+            return null == messages ? Collections.emptyList() : messages;
         }
     }
 
     @Override
     public void sendMessage(final MessageType messageType, final M message) {
         if (messageType instanceof MessageType.Local) {
-            getMessageList(this.vertex).add(message);
+            if (this.messageBoard.isDirty() && !this.sentLocalMessages) {
+                this.messageBoard.resetLocalMessages(this.vertex);
+                this.sentLocalMessages = true;
+            }
+            if (this.combiner.isPresent())
+                this.messageBoard.sendCombinedLocalMessages.merge(this.vertex, message, this.combiner.get()::combine);
+            else
+                getMessageList(this.messageBoard.sendLocalMessages, this.vertex).add(message);
+            if (this.messageBoard.isTrackingFrontier())
+                this.activateReceivers((MessageType.Local) messageType);
         } else {
-            ((MessageType.Global) messageType).vertices().forEach(v -> {
-                final Queue<M> queue = getMessageList(v);
-                /*if (this.combiner.isPresent() && !queue.isEmpty()) {
-                    this.combiner.get().combine(queue.remove(), message).forEachRemaining(queue::add);
-                } else*/
-                queue.add(message);
-            });
+            for (final Vertex receiver : ((MessageType.Global) messageType).vertices()) {
+                if (this.combiner.isPresent())
+                    this.combinedMessages.merge(receiver, message, this.combiner.get()::combine);
+                else
+                    getMessageList(this.messageBoard.sendMessages, receiver).add(message);
+                if (this.messageBoard.isTrackingFrontier())
+                    this.messageBoard.activate(receiver);
+            }
+        }
+    }
+
+    private void activateReceivers(final MessageType.Local messageType) {
+        final Optional<VertexStep> incidentStep = this.messageBoard.getIncidentStep(messageType);
+        final Iterator<? extends Vertex> receivers = incidentStep.isPresent() ?
+                TinkerHelper.getVertices((TinkerVertex) this.vertex, incidentStep.get().getDirection(), incidentStep.get().getEdgeLabels()) :
+                messageType.vertices(this.vertex);
+        while (receivers.hasNext()) {
+            this.messageBoard.activate(receivers.next());
         }
     }
 
-    private Queue<M> getMessageList(final Vertex vertex) {
-        Queue<M> messages = this.messageBoard.sendMessages.get(vertex);
-        if (null == messages) {
-            messages = new ConcurrentLinkedQueue<>();
-            this.messageBoard.sendMessages.put(vertex, messages);
+    private void addMessages(final Vertex sender, final Edge edge, final BiFunction<Object, Edge, M> edgeFunction, final List<M> messages) {
+        if (this.combiner.isPresent()) {
+            final M sent = this.messageBoard.receiveCombinedLocalMessages.get(sender);
+            if (null != sent)
+                this.addMessage(edgeFunction.apply(sent, edge), messages);
+        } else {
+            final Queue<M> sent = this.messageBoard.receiveLocalMessages.get(sender);
+            if (null != sent) {
+                for (final M message : sent) {
+                    messages.add(edgeFunction.apply(message, edge));
+                }
+            }
         }
-        return messages;
+    }
+
+    private void addMessage(final M received, final List<M> messages) {
+        if (messages.isEmpty())
+            messages.add(received);
+        else
+            messages.set(0, this.combiner.get().combine(messages.get(0), received));
+    }
+
+    private static <M> Queue<M> getMessageList(final Map<Vertex, Queue<M>> sendMessages, final Vertex vertex) {
+        final Queue<M> messages = sendMessages.get(vertex);
+        return null == messages ?
+                sendMessages.computeIfAbsent(vertex, v -> new ConcurrentLinkedQueue<>()) :
+                messages;
     }
 }
@@ -3,32 +3,88 @@ package com.tinkerpop.gremlin.tinkergraph.process.computer;
 import com.tinkerpop.gremlin.process.computer.MapReduce;
 import org.javatuples.Pair;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Each thread that emits into a {@link TinkerReduceEmitter} emits into a buffer of its own and spills it to a run file
+ * with {@link TinkerSpill} in the same way as a {@link TinkerMapEmitter} does.  A buffer with pairs that can not be
+ * serialized is kept in memory while the other buffers go on spilling.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerReduceEmitter<OK, OV> implements MapReduce.ReduceEmitter<OK, OV> {
 
-    protected Queue<Pair<OK, OV>> reduceQueue = new ConcurrentLinkedQueue<>();
+    private final Comparator<OK> reduceKeySort;
+    private final TinkerSpill spill;
+    private final long spillThreshold;
+    private final AtomicLong buffered = new AtomicLong(0l);
+    private final Queue<Buffer<OK, OV>> buffers = new ConcurrentLinkedQueue<>();
+    private final Queue<File> runs = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Buffer<OK, OV>> buffer = ThreadLocal.withInitial(() -> {
+        final Buffer<OK, OV> buffer = new Buffer<>();
+        this.buffers.add(buffer);
+        return buffer;
+    });
+
+    public TinkerReduceEmitter(final MapReduce<?, ?, OK, OV, ?> mapReduce, final TinkerSpill spill, final long spillThreshold) {
+        this.reduceKeySort = mapReduce.getReduceKeySort().orElse(null);
+        this.spill = spill;
+        this.spillThreshold = spillThreshold;
+    }
 
     @Override
     public void emit(final OK key, final OV value) {
-        this.reduceQueue.add(new Pair<>(key, value));
+        final Buffer<OK, OV> buffer = this.buffer.get();
+        buffer.pairs.add(new Pair<>(key, value));
+        if (this.buffered.incrementAndGet() > this.spillThreshold && buffer.spillable && (long) buffer.pairs.size() * this.buffers.size() >= this.spillThreshold)
+            this.spill(buffer);
+    }
+
+    /**
+     * Get the emitted pairs, sorted if a reduce key sort is defined.
+     */
+    protected Iterator<Pair<OK, OV>> iterator() {
+        if (this.runs.isEmpty()) {
+            final List<Pair<OK, OV>> list = new ArrayList<>();
+            this.buffers.forEach(buffer -> list.addAll(buffer.pairs));
+            this.buffers.clear();
+            return this.sort(list);
+        } else {
+            final List<Iterator<Pair<OK, OV>>> memory = new ArrayList<>();
+            this.buffers.forEach(buffer -> memory.add(this.sort(buffer.pairs)));
+            this.buffers.clear();
+            return this.spill.read(new ArrayList<>(this.runs), memory, this.reduceKeySort);
+        }
     }
 
-    protected void complete(final MapReduce<?, ?, OK, OV, ?> mapReduce) {
-        if (mapReduce.getReduceKeySort().isPresent()) {
-            final Comparator<OK> comparator = mapReduce.getReduceKeySort().get();
-            final List<Pair<OK, OV>> list = new ArrayList<>(this.reduceQueue);
-            Collections.sort(list, Comparator.comparing(Pair::getValue0, comparator));
-            this.reduceQueue.clear();
-            this.reduceQueue.addAll(list);
+    private void spill(final Buffer<OK, OV> buffer) {
+        try {
+            this.runs.add(this.spill.write(this.sort(buffer.pairs)));
+        } catch (final IllegalStateException e) {
+            // the pairs of this buffer stay in memory if they can not be written
+            buffer.spillable = false;
+            return;
         }
+        this.buffered.addAndGet(-buffer.pairs.size());
+        buffer.pairs.clear();
+    }
+
+    private Iterator<Pair<OK, OV>> sort(final List<Pair<OK, OV>> buffer) {
+        if (null != this.reduceKeySort)
+            Collections.sort(buffer, Comparator.comparing(Pair::getValue0, this.reduceKeySort));
+        return buffer.iterator();
+    }
+
+    private static final class Buffer<OK, OV> {
+        private final List<Pair<OK, OV>> pairs = new ArrayList<>();
+        private boolean spillable = true;
     }
 }
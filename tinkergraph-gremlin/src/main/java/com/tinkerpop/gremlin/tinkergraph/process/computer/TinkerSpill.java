@@ -0,0 +1,226 @@
+package com.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import com.tinkerpop.gremlin.process.util.MultiIterator;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.javatuples.Pair;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Writes the key/value pairs emitted by a {@link MapReduce} to runs in temporary files with
+ * {@link TinkerComputerKryo} and reads them back.  A run file is deleted once it has been read to its end.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerSpill {
+
+    /**
+     * The order of the runs of a {@link MapReduce} without a key sort.  Keys that are not equal may share a hash code,
+     * so runs merged in this order must be grouped by {@link #group}.
+     */
+    private static final Comparator<Object> HASH_ORDER = Comparator.comparingInt(Objects::hashCode);
+
+    private final TinkerComputerKryo kryo;
+
+    public TinkerSpill(final TinkerGraph graph) {
+        this.kryo = new TinkerComputerKryo(graph);
+    }
+
+    /**
+     * Get the key sort if there is one, else the hash code order of the keys.
+     */
+    public static <K> Comparator<K> getOrder(final Comparator<K> keySort) {
+        return null == keySort ? (Comparator) HASH_ORDER : keySort;
+    }
+
+    /**
+     * Write the pairs to a new run file in the order that they are given.
+     */
+    public <K, V> File write(final Iterator<Pair<K, V>> pairs) {
+        final File file;
+        try {
+            file = File.createTempFile("tinkergraph-", ".spill");
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        final Kryo kryo = this.kryo.create();
+        try (final Output output = new Output(new FileOutputStream(file))) {
+            while (pairs.hasNext()) {
+                final Pair<K, V> pair = pairs.next();
+                output.writeBoolean(true);
+                kryo.writeClassAndObject(output, pair.getValue0());
+                kryo.writeClassAndObject(output, pair.getValue1());
+            }
+            output.writeBoolean(false);
+        } catch (final IOException | RuntimeException e) {
+            file.delete();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return file;
+    }
+
+    /**
+     * Read the pairs of the run files along with those of runs that are still in memory.  If there is no key order
+     * the runs are read one after the other, else they are merged into the key order that each of them is in.
+     */
+    public <K, V> Iterator<Pair<K, V>> read(final List<File> files, final List<Iterator<Pair<K, V>>> memory, final Comparator<K> order) {
+        final List<Iterator<Pair<K, V>>> runs = new ArrayList<>(files.size() + memory.size());
+        files.forEach(file -> runs.add(new Run<>(file, this.kryo.create())));
+        runs.addAll(memory);
+        if (null != order)
+            return new Merge<>(runs, order);
+        final MultiIterator<Pair<K, V>> iterator = new MultiIterator<>();
+        runs.forEach(iterator::addIterator);
+        return iterator;
+    }
+
+    /**
+     * Group the values of the pairs, which are in key order, by key.  The values of keys that are equal according to
+     * the order but are not equal to one another are kept apart.
+     */
+    public static <K, V> Iterator<Pair<K, List<V>>> group(final Iterator<Pair<K, List<V>>> pairs, final Comparator<K> order) {
+        return new Iterator<Pair<K, List<V>>>() {
+            private Pair<K, List<V>> next = null;
+            private Iterator<Map.Entry<K, List<V>>> group = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                return this.group.hasNext() || null != this.next || pairs.hasNext();
+            }
+
+            @Override
+            public Pair<K, List<V>> next() {
+                if (!this.group.hasNext()) {
+                    final Map<K, List<V>> map = new LinkedHashMap<>();
+                    Pair<K, List<V>> pair = null == this.next ? pairs.next() : this.next;
+                    final K first = pair.getValue0();
+                    this.next = null;
+                    while (true) {
+                        final List<V> values = map.get(pair.getValue0());
+                        if (null == values)
+                            map.put(pair.getValue0(), pair.getValue1());
+                        else
+                            values.addAll(pair.getValue1());
+                        if (!pairs.hasNext())
+                            break;
+                        pair = pairs.next();
+                        if (order.compare(first, pair.getValue0()) != 0) {
+                            this.next = pair;
+                            break;
+                        }
+                    }
+                    this.group = map.entrySet().iterator();
+                }
+                final Map.Entry<K, List<V>> entry = this.group.next();
+                return new Pair<>(entry.getKey(), entry.getValue());
+            }
+        };
+    }
+
+    ////////////////////////////////
+
+    private static final class Run<K, V> implements Iterator<Pair<K, V>> {
+
+        private final File file;
+        private final Kryo kryo;
+        private Input input;
+        private Pair<K, V> next;
+        private boolean done = false;
+
+        private Run(final File file, final Kryo kryo) {
+            this.file = file;
+            this.kryo = kryo;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == this.next && !this.done) {
+                try {
+                    if (null == this.input)
+                        this.input = new Input(new FileInputStream(this.file));
+                    if (this.input.readBoolean())
+                        this.next = new Pair<>((K) this.kryo.readClassAndObject(this.input), (V) this.kryo.readClassAndObject(this.input));
+                    else
+                        this.close();
+                } catch (final IOException | RuntimeException e) {
+                    this.close();
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }
+            return null != this.next;
+        }
+
+        @Override
+        public Pair<K, V> next() {
+            if (!this.hasNext())
+                throw new NoSuchElementException();
+            final Pair<K, V> pair = this.next;
+            this.next = null;
+            return pair;
+        }
+
+        private void close() {
+            this.done = true;
+            if (null != this.input)
+                this.input.close();
+            this.input = null;
+            this.file.delete();
+        }
+    }
+
+    private static final class Merge<K, V> implements Iterator<Pair<K, V>> {
+
+        private final PriorityQueue<Head<K, V>> heads;
+
+        private Merge(final List<Iterator<Pair<K, V>>> runs, final Comparator<K> order) {
+            this.heads = new PriorityQueue<>(Math.max(1, runs.size()), (a, b) -> order.compare(a.pair.getValue0(), b.pair.getValue0()));
+            runs.stream().filter(Iterator::hasNext).forEach(run -> this.heads.add(new Head<>(run)));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.heads.isEmpty();
+        }
+
+        @Override
+        public Pair<K, V> next() {
+            final Head<K, V> head = this.heads.poll();
+            if (null == head)
+                throw new NoSuchElementException();
+            final Pair<K, V> pair = head.pair;
+            if (head.run.hasNext()) {
+                head.pair = head.run.next();
+                this.heads.add(head);
+            }
+            return pair;
+        }
+    }
+
+    private static final class Head<K, V> {
+
+        private final Iterator<Pair<K, V>> run;
+        private Pair<K, V> pair;
+
+        private Head(final Iterator<Pair<K, V>> run) {
+            this.run = run;
+            this.pair = run.next();
+        }
+    }
+}
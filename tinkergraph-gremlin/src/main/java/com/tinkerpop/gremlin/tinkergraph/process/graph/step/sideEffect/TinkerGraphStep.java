@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.tinkergraph.process.graph.step.sideEffect;
 
 import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.Traverser;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
 import com.tinkerpop.gremlin.process.TraverserGenerator;
 import com.tinkerpop.gremlin.process.util.TraversalHelper;
@@ -14,11 +15,15 @@ import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -26,45 +31,197 @@ import java.util.stream.Stream;
 public class TinkerGraphStep<E extends Element> extends GraphStep<E> {
 
     public final List<HasContainer> hasContainers = new ArrayList<>();
+    private boolean countPushedDown = false;
 
     public TinkerGraphStep(final Traversal traversal, final Class<E> returnClass) {
         super(traversal, returnClass);
     }
 
+    /**
+     * Have this step only generate what the {@link com.tinkerpop.gremlin.process.graph.step.sideEffect.CountStep}
+     * that follows it needs.  If the {@link HasContainer}s are fully covered by an index, a single traverser is
+     * generated with a bulk of the number of indexed elements instead of a traverser for each of them.
+     */
+    public void pushDownCount() {
+        this.countPushedDown = true;
+    }
+
     @Override
     public void generateTraversers(final TraverserGenerator traverserGenerator) {
         if (PROFILING_ENABLED) TraversalMetrics.start(this);
-        this.start = Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges();
-        super.generateTraversers(traverserGenerator);
+        final Collection<? extends Element> covered = this.countPushedDown ? this.getCoveredElements() : null;
+        if (null != covered) {
+            if (!covered.isEmpty()) {
+                final Traverser.Admin<E> traverser = traverserGenerator.generate((E) covered.iterator().next(), this);
+                traverser.setBulk(covered.size());
+                this.starts.add(traverser);
+            }
+        } else {
+            this.start = Vertex.class.isAssignableFrom(this.returnClass) ? this.vertices() : this.edges();
+            super.generateTraversers(traverserGenerator);
+        }
         if (PROFILING_ENABLED) TraversalMetrics.stop(this);
     }
 
     private Iterator<? extends Edge> edges() {
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
-        final Stream<? extends Edge> edgeStream = (null == indexedContainer) ?
-                TinkerHelper.getEdges((TinkerGraph)this.traversal.sideEffects().getGraph()).stream() :
-                TinkerHelper.queryEdgeIndex((TinkerGraph)this.traversal.sideEffects().getGraph(), indexedContainer.key, indexedContainer.value).stream();
-
-        // the copy to a new List is intentional as remove() operations will cause ConcurrentModificationException otherwise
-        return edgeStream.filter(e -> HasContainer.testAll(e, hasContainers)).collect(Collectors.<Edge>toList()).iterator();
+        final TinkerGraph graph = (TinkerGraph) this.traversal.sideEffects().getGraph();
+        final List<HasContainer> indexedContainers = getIndexKeys(Edge.class);
+        final HasContainer[] range = null == indexedContainers ? getIndexRange(Edge.class) : null;
+        if (null != range) {
+            // the elements of a range are already copied out of the index
+            return this.filter(TinkerHelper.queryEdgeIndex(graph, getRangeKey(range), getRangeValue(range[0]), isRangeInclusive(range[0]), getRangeValue(range[1]), isRangeInclusive(range[1])));
+        }
+        final Collection<? extends Edge> edges = null != indexedContainers ?
+                TinkerHelper.queryEdgeIndex(graph, getKeys(indexedContainers), getValues(indexedContainers)) :
+                TinkerHelper.getEdges(graph);
+        return this.snapshot(graph, edges);
     }
 
     private Iterator<? extends Vertex> vertices() {
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
-        final Stream<? extends Vertex> vertexStream = (null == indexedContainer) ?
-                TinkerHelper.getVertices((TinkerGraph)this.traversal.sideEffects().getGraph()).stream() :
-                TinkerHelper.queryVertexIndex((TinkerGraph)this.traversal.sideEffects().getGraph(), indexedContainer.key, indexedContainer.value).stream();
+        final TinkerGraph graph = (TinkerGraph) this.traversal.sideEffects().getGraph();
+        final List<HasContainer> indexedContainers = getIndexKeys(Vertex.class);
+        final HasContainer[] range = null == indexedContainers ? getIndexRange(Vertex.class) : null;
+        if (null != range) {
+            // the elements of a range are already copied out of the index
+            return this.filter(TinkerHelper.queryVertexIndex(graph, getRangeKey(range), getRangeValue(range[0]), isRangeInclusive(range[0]), getRangeValue(range[1]), isRangeInclusive(range[1])));
+        }
+        final Collection<? extends Vertex> vertices = null != indexedContainers ?
+                TinkerHelper.queryVertexIndex(graph, getKeys(indexedContainers), getValues(indexedContainers)) :
+                TinkerHelper.getVertices(graph);
+        return this.snapshot(graph, vertices);
+    }
+
+    /**
+     * Iterate the live elements of the graph or of an index bucket.  The concurrent collections of a concurrent graph
+     * tolerate remove() operations while they are iterated and a frozen graph can not be mutated, so those are
+     * filtered lazily.  Otherwise, the elements that pass the {@link HasContainer}s are copied to a new List as
+     * remove() operations will cause ConcurrentModificationException.
+     */
+    private <T extends Element> Iterator<T> snapshot(final TinkerGraph graph, final Collection<T> elements) {
+        if (TinkerHelper.isConcurrent(graph) || graph.isFrozen())
+            return this.filter(elements);
+        return elements.stream().filter(element -> HasContainer.testAll(element, this.hasContainers)).collect(Collectors.<T>toList()).iterator();
+    }
+
+    /**
+     * Iterate the elements lazily, filtering each by the {@link HasContainer}s as it is requested.
+     */
+    private <T extends Element> Iterator<T> filter(final Collection<T> elements) {
+        return elements.stream().filter(element -> HasContainer.testAll(element, this.hasContainers)).iterator();
+    }
+
+    /**
+     * Get the live index bucket, or all elements, that is exactly the set of elements satisfying the
+     * {@link HasContainer}s.  This is the case when there are no containers or when each container is an equality on
+     * a distinct key and together they match a key index or a composite index.  Otherwise {@code null} is returned.
+     */
+    private Collection<? extends Element> getCoveredElements() {
+        final TinkerGraph graph = (TinkerGraph) this.traversal.sideEffects().getGraph();
+        final boolean vertices = Vertex.class.isAssignableFrom(this.returnClass);
+        if (this.hasContainers.isEmpty())
+            return vertices ? TinkerHelper.getVertices(graph) : TinkerHelper.getEdges(graph);
+
+        final Map<String, Object> equalities = new HashMap<>();
+        for (final HasContainer c : this.hasContainers) {
+            if (!c.predicate.equals(Compare.eq) || null == c.value || null != equalities.put(c.key, c.value))
+                return null;
+        }
+
+        final List<String> keys;
+        if (equalities.size() == 1 && graph.getIndexedKeys(this.returnClass).containsAll(equalities.keySet())) {
+            keys = new ArrayList<>(equalities.keySet());
+        } else {
+            keys = graph.getCompositeIndexedKeys(this.returnClass).stream()
+                    .filter(compositeKeys -> compositeKeys.size() == equalities.size() && equalities.keySet().containsAll(compositeKeys))
+                    .findAny()
+                    .orElse(null);
+            if (null == keys)
+                return null;
+        }
+        final List<Object> values = keys.stream().map(equalities::get).collect(Collectors.toList());
+        return vertices ? TinkerHelper.queryVertexIndex(graph, keys, values) : TinkerHelper.queryEdgeIndex(graph, keys, values);
+    }
+
+    /**
+     * Find the equality {@link HasContainer}s answered by the most selective index, being either a key index or a
+     * composite index with an equality container for each of its keys.  The selectivity of each candidate is the
+     * number of elements it indexes for the values of the containers.  If there is no such index, {@code null} is
+     * returned.
+     */
+    private List<HasContainer> getIndexKeys(final Class<? extends Element> indexedClass) {
+        final TinkerGraph graph = (TinkerGraph) this.traversal.sideEffects().getGraph();
+        final Map<String, HasContainer> equalities = new LinkedHashMap<>();
+        this.hasContainers.stream()
+                .filter(c -> c.predicate.equals(Compare.eq))
+                .forEach(c -> equalities.putIfAbsent(c.key, c));
+        if (equalities.isEmpty())
+            return null;
+
+        final List<List<HasContainer>> candidates = new ArrayList<>();
+        final Set<String> indexedKeys = graph.getIndexedKeys(indexedClass);
+        equalities.values().stream()
+                .filter(c -> indexedKeys.contains(c.key))
+                .forEach(c -> candidates.add(Collections.singletonList(c)));
+        graph.getCompositeIndexedKeys(indexedClass).stream()
+                .filter(equalities.keySet()::containsAll)
+                .forEach(keys -> candidates.add(keys.stream().map(equalities::get).collect(Collectors.toList())));
+
+        final boolean vertices = Vertex.class.isAssignableFrom(indexedClass);
+        List<HasContainer> best = null;
+        long bestCount = Long.MAX_VALUE;
+        for (final List<HasContainer> candidate : candidates) {
+            final long count = vertices ?
+                    TinkerHelper.countVertexIndex(graph, getKeys(candidate), getValues(candidate)) :
+                    TinkerHelper.countEdgeIndex(graph, getKeys(candidate), getValues(candidate));
+            if (count < bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private static List<String> getKeys(final List<HasContainer> containers) {
+        return containers.stream().map(c -> c.key).collect(Collectors.toList());
+    }
+
+    private static List<Object> getValues(final List<HasContainer> containers) {
+        return containers.stream().map(c -> c.value).collect(Collectors.toList());
+    }
+
+    /**
+     * Find the lower and upper bound {@link HasContainer} of a range over a key with a sorted index.  Either bound
+     * may be {@code null} but not both.  If there is no range that can be answered by an index, {@code null} is returned.
+     */
+    private HasContainer[] getIndexRange(final Class<? extends Element> indexedClass) {
+        final Set<String> sortedKeys = ((TinkerGraph) this.traversal.sideEffects().getGraph()).getIndexedKeys(indexedClass, TinkerGraph.IndexType.SORTED);
+        if (sortedKeys.isEmpty())
+            return null;
+
+        final HasContainer[] range = new HasContainer[2];
+        for (final HasContainer c : this.hasContainers) {
+            if (!sortedKeys.contains(c.key) || !(c.value instanceof Comparable))
+                continue;
+            if ((null != range[0] || null != range[1]) && !c.key.equals(getRangeKey(range)))
+                continue;
+            if (null == range[0] && (c.predicate.equals(Compare.gt) || c.predicate.equals(Compare.gte)))
+                range[0] = c;
+            else if (null == range[1] && (c.predicate.equals(Compare.lt) || c.predicate.equals(Compare.lte)))
+                range[1] = c;
+        }
+        return null == range[0] && null == range[1] ? null : range;
+    }
+
+    private static String getRangeKey(final HasContainer[] range) {
+        return null == range[0] ? range[1].key : range[0].key;
+    }
 
-        // the copy to a new List is intentional as remove() operations will cause ConcurrentModificationException otherwise
-        return vertexStream.filter(v -> HasContainer.testAll(v, this.hasContainers)).collect(Collectors.<Vertex>toList()).iterator();
+    private static Object getRangeValue(final HasContainer bound) {
+        return null == bound ? null : bound.value;
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph)this.traversal.sideEffects().getGraph()).getIndexedKeys(indexedClass);
-        return this.hasContainers.stream()
-                .filter(c -> indexedKeys.contains(c.key) && c.predicate.equals(Compare.eq))
-                .findAny()
-                .orElseGet(() -> null);
+    private static boolean isRangeInclusive(final HasContainer bound) {
+        return null != bound && (bound.predicate.equals(Compare.gte) || bound.predicate.equals(Compare.lte));
     }
 
     public String toString() {
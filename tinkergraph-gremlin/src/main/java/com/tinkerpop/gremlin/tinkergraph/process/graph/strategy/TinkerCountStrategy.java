@@ -0,0 +1,55 @@
+package com.tinkerpop.gremlin.tinkergraph.process.graph.strategy;
+
+import com.tinkerpop.gremlin.process.Step;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.process.TraversalStrategy;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.CountStep;
+import com.tinkerpop.gremlin.process.graph.step.sideEffect.IdentityStep;
+import com.tinkerpop.gremlin.process.graph.strategy.AbstractTraversalStrategy;
+import com.tinkerpop.gremlin.process.util.TraversalHelper;
+import com.tinkerpop.gremlin.tinkergraph.process.graph.step.sideEffect.TinkerGraphStep;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Pushes a {@link CountStep} that directly follows a {@link TinkerGraphStep} down into the {@link TinkerGraphStep} so
+ * that a count whose {@link com.tinkerpop.gremlin.structure.util.HasContainer}s are covered by an index is answered
+ * by the size of the index rather than by iterating the elements.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerCountStrategy extends AbstractTraversalStrategy {
+
+    private static final TinkerCountStrategy INSTANCE = new TinkerCountStrategy();
+    private static final Set<Class<? extends TraversalStrategy>> PRIORS = Collections.singleton(TinkerGraphStepStrategy.class);
+
+    private TinkerCountStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal<?, ?> traversal, final TraversalEngine engine) {
+        if (engine.equals(TraversalEngine.COMPUTER))
+            return;
+
+        final TinkerGraphStep<?> tinkerGraphStep = (TinkerGraphStep) TraversalHelper.getStart(traversal);
+        if (TraversalHelper.isLabeled(tinkerGraphStep))
+            return;
+        Step<?, ?> currentStep = tinkerGraphStep.getNextStep();
+        while (currentStep instanceof IdentityStep && !TraversalHelper.isLabeled(currentStep)) {
+            currentStep = currentStep.getNextStep();
+        }
+        if (currentStep instanceof CountStep)
+            tinkerGraphStep.pushDownCount();
+    }
+
+    @Override
+    public Set<Class<? extends TraversalStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static TinkerCountStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -58,6 +58,11 @@ public class TinkerGraphStepStrategy extends AbstractTraversalStrategy {
         return POSTS;
     }
 
+    @Override
+    public boolean dependsOnlyOnShape() {
+        return true;
+    }
+
     public static TinkerGraphStepStrategy instance() {
         return INSTANCE;
     }
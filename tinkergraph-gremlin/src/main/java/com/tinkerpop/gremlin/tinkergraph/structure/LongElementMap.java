@@ -0,0 +1,110 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.carrotsearch.hppc.LongObjectOpenHashMap;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+import com.carrotsearch.hppc.cursors.ObjectCursor;
+import com.tinkerpop.gremlin.structure.Element;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link Map} of elements keyed by a numeric identifier that stores its keys as primitive longs in an open addressing
+ * hash map, thus avoiding the boxed keys and entry objects of a {@link java.util.HashMap}.  Identifiers are expected to
+ * have already been converted by a numeric {@link TinkerGraph.IdManager} and as the element carries its own identifier,
+ * the boxed key is only ever recreated when iterating the entry set.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class LongElementMap<E extends Element> extends AbstractMap<Object, E> {
+
+    private final LongObjectOpenHashMap<E> map = new LongObjectOpenHashMap<>();
+
+    @Override
+    public E get(final Object key) {
+        return key instanceof Number ? this.map.get(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof Number && this.map.containsKey(((Number) key).longValue());
+    }
+
+    @Override
+    public E put(final Object key, final E element) {
+        return this.map.put(((Number) key).longValue(), element);
+    }
+
+    @Override
+    public E remove(final Object key) {
+        return key instanceof Number ? this.map.remove(((Number) key).longValue()) : null;
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public void clear() {
+        this.map.clear();
+    }
+
+    @Override
+    public Collection<E> values() {
+        return new AbstractCollection<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                final Iterator<ObjectCursor<E>> cursors = map.values().iterator();
+                return new Iterator<E>() {
+                    @Override
+                    public boolean hasNext() {
+                        return cursors.hasNext();
+                    }
+
+                    @Override
+                    public E next() {
+                        return cursors.next().value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Object, E>> entrySet() {
+        return new AbstractSet<Map.Entry<Object, E>>() {
+            @Override
+            public Iterator<Map.Entry<Object, E>> iterator() {
+                final Iterator<LongObjectCursor<E>> cursors = map.iterator();
+                return new Iterator<Map.Entry<Object, E>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return cursors.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<Object, E> next() {
+                        final E element = cursors.next().value;
+                        return new AbstractMap.SimpleImmutableEntry<>(element.id(), element);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+}
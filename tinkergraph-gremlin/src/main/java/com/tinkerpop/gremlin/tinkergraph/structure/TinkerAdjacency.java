@@ -0,0 +1,144 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The adjacency of a frozen {@link TinkerGraph}.  Vertices are numbered with dense ordinals and for each direction and
+ * edge label, the edges are laid out in compressed sparse row form: the edges of the vertex with ordinal {@code i} are
+ * those between {@code offsets[i]} and {@code offsets[i + 1]}, next to the ordinal of the vertex on the other end.
+ * Walking the adjacency is then a scan over a slice of an array rather than over the sets of a map.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerAdjacency {
+
+    protected final TinkerVertex[] vertices;
+    private final Map<String, Rows> outRows = new HashMap<>();
+    private final Map<String, Rows> inRows = new HashMap<>();
+
+    protected TinkerAdjacency(final TinkerGraph graph) {
+        this.vertices = new TinkerVertex[graph.vertices.size()];
+        int ordinal = 0;
+        for (final Vertex vertex : graph.vertices.values()) {
+            ((TinkerVertex) vertex).ordinal = ordinal;
+            this.vertices[ordinal++] = (TinkerVertex) vertex;
+        }
+        for (final Edge edge : graph.edges.values()) {
+            this.outRows.computeIfAbsent(edge.label(), label -> new Rows(this.vertices.length));
+            this.inRows.computeIfAbsent(edge.label(), label -> new Rows(this.vertices.length));
+        }
+        this.outRows.forEach((label, rows) -> rows.fill(this.vertices, label, Direction.OUT));
+        this.inRows.forEach((label, rows) -> rows.fill(this.vertices, label, Direction.IN));
+    }
+
+    public Iterator<TinkerEdge> edges(final TinkerVertex vertex, final Direction direction, final String... labels) {
+        return new RowIterator<>(this.getRows(direction, labels), vertex.ordinal, false);
+    }
+
+    public Iterator<TinkerVertex> vertices(final TinkerVertex vertex, final Direction direction, final String... labels) {
+        return new RowIterator<>(this.getRows(direction, labels), vertex.ordinal, true);
+    }
+
+    private List<Rows> getRows(final Direction direction, final String... labels) {
+        final List<Rows> rows = new ArrayList<>();
+        if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
+            addRows(this.outRows, rows, labels);
+        if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH))
+            addRows(this.inRows, rows, labels);
+        return rows;
+    }
+
+    private static void addRows(final Map<String, Rows> rowsByLabel, final List<Rows> rows, final String... labels) {
+        if (labels.length == 0) {
+            rows.addAll(rowsByLabel.values());
+        } else {
+            for (final String label : labels) {
+                final Rows labelRows = rowsByLabel.get(label);
+                if (null != labelRows)
+                    rows.add(labelRows);
+            }
+        }
+    }
+
+    /**
+     * The edges of a single label and direction in compressed sparse row form.
+     */
+    private static final class Rows {
+
+        private final int[] offsets;
+        private TinkerEdge[] edges;
+        private int[] adjacent;
+
+        private Rows(final int vertexCount) {
+            this.offsets = new int[vertexCount + 1];
+        }
+
+        private void fill(final TinkerVertex[] vertices, final String label, final Direction direction) {
+            for (int i = 0; i < vertices.length; i++) {
+                this.offsets[i + 1] = this.offsets[i] + getEdges(vertices[i], label, direction).size();
+            }
+            this.edges = new TinkerEdge[this.offsets[vertices.length]];
+            this.adjacent = new int[this.offsets[vertices.length]];
+            for (int i = 0; i < vertices.length; i++) {
+                int position = this.offsets[i];
+                for (final Edge edge : getEdges(vertices[i], label, direction)) {
+                    final TinkerEdge tinkerEdge = (TinkerEdge) edge;
+                    this.edges[position] = tinkerEdge;
+                    this.adjacent[position++] = ((TinkerVertex) (direction.equals(Direction.OUT) ? tinkerEdge.inVertex : tinkerEdge.outVertex)).ordinal;
+                }
+            }
+        }
+
+        private static Set<Edge> getEdges(final TinkerVertex vertex, final String label, final Direction direction) {
+            return (direction.equals(Direction.OUT) ? vertex.outEdges : vertex.inEdges).getOrDefault(label, Collections.emptySet());
+        }
+    }
+
+    private final class RowIterator<E> implements Iterator<E> {
+
+        private final List<Rows> rows;
+        private final int ordinal;
+        private final boolean adjacentVertices;
+        private int current = -1;
+        private int position = 0;
+        private int end = 0;
+
+        private RowIterator(final List<Rows> rows, final int ordinal, final boolean adjacentVertices) {
+            this.rows = rows;
+            this.ordinal = ordinal;
+            this.adjacentVertices = adjacentVertices;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.position == this.end) {
+                if (this.current + 1 >= this.rows.size())
+                    return false;
+                final Rows next = this.rows.get(++this.current);
+                this.position = next.offsets[this.ordinal];
+                this.end = next.offsets[this.ordinal + 1];
+            }
+            return true;
+        }
+
+        @Override
+        public E next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            final Rows next = this.rows.get(this.current);
+            final int index = this.position++;
+            return (E) (this.adjacentVertices ? vertices[next.adjacent[index]] : next.edges[index]);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes the labels and property keys of a {@link TinkerGraph} as small integer codes.  A graph typically has a
+ * handful of distinct keys shared by millions of elements, so elements hold the codes (or the canonical string of a
+ * code) rather than their own copy of each string.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerDictionary {
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] strings = new String[16];
+
+    /**
+     * Get the code of the string, assigning the next code if the string has not been seen before.
+     */
+    public int encode(final String string) {
+        final Integer code = this.codes.get(string);
+        return null == code ? this.assign(string) : code;
+    }
+
+    /**
+     * Get the code of the string or {@code -1} if the string has not been seen before.
+     */
+    public int lookup(final Object string) {
+        final Integer code = null == string ? null : this.codes.get(string);
+        return null == code ? -1 : code;
+    }
+
+    public String decode(final int code) {
+        return this.strings[code];
+    }
+
+    /**
+     * Get the canonical instance of the string so that equal strings held by elements are stored once.
+     */
+    public String intern(final String string) {
+        return null == string ? null : this.decode(this.encode(string));
+    }
+
+    private synchronized int assign(final String string) {
+        final Integer existing = this.codes.get(string);
+        if (null != existing)
+            return existing;
+        final int code = this.codes.size();
+        if (code == this.strings.length)
+            this.strings = Arrays.copyOf(this.strings, code * 2);
+        this.strings[code] = string;
+        this.codes.put(string, code);
+        return code;
+    }
+}
@@ -1,6 +1,5 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
-import com.tinkerpop.gremlin.process.T;
 import com.tinkerpop.gremlin.process.graph.GraphTraversal;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
@@ -27,7 +26,6 @@ public class TinkerEdge extends TinkerElement implements Edge, Edge.Iterators {
         super(id, label, graph);
         this.outVertex = outVertex;
         this.inVertex = inVertex;
-        this.graph.edgeIndex.autoUpdate(T.label.getAccessor(), this.label, null, this);
     }
 
     @Override
@@ -35,11 +33,15 @@ public class TinkerEdge extends TinkerElement implements Edge, Edge.Iterators {
         if (TinkerHelper.inComputerMode(this.graph)) {
             return this.graph.graphView.setProperty(this, key, value);
         } else {
+            if (this.graph.isFrozen()) throw Element.Exceptions.propertyAdditionNotSupported();
             ElementHelper.validateProperty(key, value);
-            final Property oldProperty = super.property(key);
             final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-            this.properties.put(key, Arrays.asList(newProperty));
-            this.graph.edgeIndex.autoUpdate(key, value, oldProperty.isPresent() ? oldProperty.value() : null, this);
+            synchronized (this.properties) {
+                final Property oldProperty = super.property(key);
+                this.properties.put(key, Arrays.asList(newProperty));
+                this.graph.edgeIndex.autoUpdate(key, value, oldProperty.isPresent() ? oldProperty.value() : null, this);
+            }
+            if (null != this.graph.storage) this.graph.storage.setEdgeProperty(this, key, value);
             return newProperty;
         }
     }
@@ -49,6 +51,8 @@ public class TinkerEdge extends TinkerElement implements Edge, Edge.Iterators {
     public void remove() {
         if (this.removed)
             throw Element.Exceptions.elementAlreadyRemoved(Edge.class, this.id);
+        if (this.graph.isFrozen())
+            throw Edge.Exceptions.edgeRemovalNotSupported();
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
@@ -63,10 +67,13 @@ public class TinkerEdge extends TinkerElement implements Edge, Edge.Iterators {
                 edges.remove(this);
         }
 
-        this.graph.edgeIndex.removeElement(this);
+        synchronized (this.properties) {
+            this.graph.edgeIndex.removeElement(this);
+            this.properties.clear();
+        }
         this.graph.edges.remove(this.id());
-        this.properties.clear();
         this.removed = true;
+        if (null != this.graph.storage) this.graph.storage.removeEdge(this);
     }
 
     @Override
@@ -5,10 +5,8 @@ import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.util.ElementHelper;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -17,7 +15,11 @@ import java.util.stream.Collectors;
  */
 public abstract class TinkerElement implements Element, Element.Iterators {
 
-    protected Map<String, List<Property>> properties = new HashMap<>();
+    /**
+     * The properties of the element, whose monitor is held while they and the index are mutated together such that
+     * concurrent writers can not leave the index out of step with the element.
+     */
+    protected TinkerProperties properties;
     protected final Object id;
     protected final String label;
     protected final TinkerGraph graph;
@@ -26,7 +28,8 @@ public abstract class TinkerElement implements Element, Element.Iterators {
     protected TinkerElement(final Object id, final String label, final TinkerGraph graph) {
         this.graph = graph;
         this.id = id;
-        this.label = label;
+        this.label = graph.dictionary.intern(label);
+        this.properties = new TinkerProperties(graph.dictionary);
     }
 
     @Override
@@ -85,14 +88,14 @@ public abstract class TinkerElement implements Element, Element.Iterators {
     @Override
     public <V> Iterator<? extends Property<V>> hiddenPropertyIterator(final String... propertyKeys) {
         return (Iterator) (TinkerHelper.inComputerMode(this.graph) ?
-                this.graph.graphView.getProperties(TinkerElement.this).stream().filter(Property::isHidden).filter(p -> keyExists(p.key(), propertyKeys)).iterator() :
+                this.graph.graphView.getProperties(TinkerElement.this, true, propertyKeys).iterator() :
                 this.properties.values().stream().flatMap(list -> list.stream()).filter(Property::isHidden).filter(p -> keyExists(p.key(), propertyKeys)).collect(Collectors.toList()).iterator());
     }
 
     @Override
     public <V> Iterator<? extends Property<V>> propertyIterator(final String... propertyKeys) {
         return (Iterator) (TinkerHelper.inComputerMode(this.graph) ?
-                this.graph.graphView.getProperties(TinkerElement.this).stream().filter(p -> !p.isHidden()).filter(p -> keyExists(p.key(), propertyKeys)).iterator() :
+                this.graph.graphView.getProperties(TinkerElement.this, false, propertyKeys).iterator() :
                 this.properties.values().stream().flatMap(list -> list.stream()).filter(p -> !p.isHidden()).filter(p -> keyExists(p.key(), propertyKeys)).collect(Collectors.toList()).iterator());
     }
 
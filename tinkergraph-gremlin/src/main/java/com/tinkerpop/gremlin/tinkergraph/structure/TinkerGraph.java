@@ -1,5 +1,6 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
+import com.tinkerpop.gremlin.process.T;
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
 import com.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
 import com.tinkerpop.gremlin.process.graph.GraphTraversal;
@@ -17,9 +18,13 @@ import com.tinkerpop.gremlin.tinkergraph.process.graph.TinkerTraversal;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An in-sideEffects, reference implementation of the property graph interfaces provided by Gremlin3.
@@ -31,6 +36,7 @@ import java.util.Set;
 @Graph.OptIn(Graph.OptIn.SUITE_STRUCTURE_PERFORMANCE)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_STANDARD)
 @Graph.OptIn(Graph.OptIn.SUITE_PROCESS_COMPUTER)
+@Graph.OptIn(Graph.OptIn.SUITE_PROCESS_PERFORMANCE)
 @Graph.OptIn(Graph.OptIn.SUITE_GROOVY_PROCESS_STANDARD)
 @Graph.OptIn(Graph.OptIn.SUITE_GROOVY_PROCESS_COMPUTER)
 @Graph.OptIn(Graph.OptIn.SUITE_GROOVY_ENVIRONMENT)
@@ -41,20 +47,55 @@ public class TinkerGraph implements Graph {
         this.setProperty(Graph.GRAPH, TinkerGraph.class.getName());
     }};
 
-    protected Long currentId = -1l;
-    protected Map<Object, Vertex> vertices = new HashMap<>();
-    protected Map<Object, Edge> edges = new HashMap<>();
-    protected TinkerGraphVariables variables = new TinkerGraphVariables();
+    public static final String CONFIG_VERTEX_ID_MANAGER = "gremlin.tinkergraph.vertexIdManager";
+    public static final String CONFIG_EDGE_ID_MANAGER = "gremlin.tinkergraph.edgeIdManager";
+    public static final String CONFIG_CONCURRENT = "gremlin.tinkergraph.concurrent";
+    public static final String CONFIG_DIRECTORY = "gremlin.tinkergraph.directory";
+    public static final String CONFIG_COMPACTION_THRESHOLD = "gremlin.tinkergraph.compactionThreshold";
+    public static final String CONFIG_SYNC_LOG = "gremlin.tinkergraph.syncLog";
+
+    private final BaseConfiguration configuration = new BaseConfiguration();
+
+    protected final IdManager<?> vertexIdManager;
+    protected final IdManager<?> edgeIdManager;
+    protected final boolean concurrent;
+
+    protected TinkerIdAllocator idAllocator = new TinkerIdAllocator(0l);
+    protected Map<Object, Vertex> vertices;
+    protected Map<Object, Edge> edges;
+    protected TinkerGraphVariables variables = new TinkerGraphVariables(this);
     protected TinkerGraphView graphView = null;
 
     protected TinkerIndex<TinkerVertex> vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
     protected TinkerIndex<TinkerEdge> edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+    protected TinkerAdjacency adjacency = null;
+    protected final TinkerDictionary dictionary = new TinkerDictionary();
+    protected TinkerStorage storage = null;
 
     /**
      * An empty private constructor that initializes {@link TinkerGraph} with no {@link com.tinkerpop.gremlin.structure.strategy.GraphStrategy}.  Primarily
      * used for purposes of serialization issues.
      */
     private TinkerGraph() {
+        this(EMPTY_CONFIGURATION);
+    }
+
+    private TinkerGraph(final Configuration configuration) {
+        this.configuration.copy(EMPTY_CONFIGURATION);
+        this.configuration.copy(configuration);
+        this.vertexIdManager = selectIdManager(this.configuration, CONFIG_VERTEX_ID_MANAGER);
+        this.edgeIdManager = selectIdManager(this.configuration, CONFIG_EDGE_ID_MANAGER);
+        this.concurrent = this.configuration.getBoolean(CONFIG_CONCURRENT, false);
+        this.vertices = this.concurrent ? new ConcurrentHashMap<>() : this.vertexIdManager.createElementMap();
+        this.edges = this.concurrent ? new ConcurrentHashMap<>() : this.edgeIdManager.createElementMap();
+        if (this.configuration.containsKey(CONFIG_DIRECTORY)) {
+            if (this.concurrent)
+                throw new IllegalStateException(String.format("A graph with %s can not be persisted with %s", CONFIG_CONCURRENT, CONFIG_DIRECTORY));
+            this.storage = new TinkerStorage(this, new File(this.configuration.getString(CONFIG_DIRECTORY)),
+                    this.configuration.getLong(CONFIG_COMPACTION_THRESHOLD, 100000l),
+                    this.configuration.getBoolean(CONFIG_SYNC_LOG, false));
+            this.storage.open();
+        }
     }
 
     /**
@@ -81,11 +122,27 @@ public class TinkerGraph implements Graph {
      * behind that facade and since {@link com.tinkerpop.gremlin.structure.util.GraphFactory} is the preferred method
      * to opening graphs it will be consistent at that level.
      *
+     * <p/>
+     * The {@link #CONFIG_VERTEX_ID_MANAGER} and {@link #CONFIG_EDGE_ID_MANAGER} settings accept the name of a
+     * {@link DefaultIdManager} or the fully qualified class name of an {@link IdManager} implementation.  They
+     * default to {@link DefaultIdManager#ANY}.
+     * <p/>
+     * When {@link #CONFIG_CONCURRENT} is {@code true} the element stores, adjacency lists, properties and indices are
+     * backed by concurrent collections so that multiple threads may add, remove and read elements at the same time.
+     * It defaults to {@code false} as the concurrent collections are slower and larger for single threaded use.
+     * <p/>
+     * When {@link #CONFIG_DIRECTORY} is set the graph is loaded from and persisted to that directory.  Mutations are
+     * appended to a log which is compacted into a snapshot of the graph in the background every
+     * {@link #CONFIG_COMPACTION_THRESHOLD} records (defaults to 100000) and on {@link #close()}.  The log is flushed to
+     * the operating system after every record and when {@link #CONFIG_SYNC_LOG} is {@code true} (defaults to
+     * {@code false}) it is also synced to the device, so that the mutations survive the operating system failing as
+     * well.  A graph with {@link #CONFIG_CONCURRENT} can not be persisted.
+     *
      * @param configuration the configuration for the instance
      * @return a newly opened {@link com.tinkerpop.gremlin.structure.Graph}
      */
     public static TinkerGraph open(final Configuration configuration) {
-        return new TinkerGraph();
+        return null == configuration ? new TinkerGraph() : new TinkerGraph(configuration);
     }
 
     ////////////// STRUCTURE API METHODS //////////////////
@@ -93,7 +150,7 @@ public class TinkerGraph implements Graph {
     @Override
     public Vertex v(final Object id) {
         if (null == id) throw Graph.Exceptions.elementNotFound(Vertex.class, null);
-        final Vertex vertex = this.vertices.get(id);
+        final Vertex vertex = this.vertices.get(TinkerHelper.convertId(this.vertexIdManager, Vertex.class, id));
         if (null == vertex)
             throw Graph.Exceptions.elementNotFound(Vertex.class, id);
         else
@@ -103,7 +160,7 @@ public class TinkerGraph implements Graph {
     @Override
     public Edge e(final Object id) {
         if (null == id) throw Graph.Exceptions.elementNotFound(Edge.class, null);
-        final Edge edge = this.edges.get(id);
+        final Edge edge = this.edges.get(TinkerHelper.convertId(this.edgeIdManager, Edge.class, id));
         if (null == edge)
             throw Graph.Exceptions.elementNotFound(Edge.class, id);
         else
@@ -127,19 +184,29 @@ public class TinkerGraph implements Graph {
 
     @Override
     public Vertex addVertex(final Object... keyValues) {
+        if (this.isFrozen())
+            throw Exceptions.vertexAdditionsNotSupported();
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
         final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
 
+        Vertex vertex;
         if (null != idValue) {
+            idValue = this.vertexIdManager.convert(idValue);
             if (this.vertices.containsKey(idValue))
                 throw Exceptions.vertexWithIdAlreadyExists(idValue);
+            this.idAllocator.observe(idValue);
+            vertex = new TinkerVertex(idValue, label, this);
+            if (null != this.vertices.putIfAbsent(vertex.id(), vertex))
+                throw Exceptions.vertexWithIdAlreadyExists(idValue);
         } else {
-            idValue = TinkerHelper.getNextId(this);
+            // a user supplied id can take a generated one in the moment before its vertex is added
+            do {
+                vertex = new TinkerVertex(this.vertexIdManager.getNextId(this), label, this);
+            } while (null != this.vertices.putIfAbsent(vertex.id(), vertex));
         }
-
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+        this.vertexIndex.autoUpdate(T.label.getAccessor(), label, null, (TinkerVertex) vertex);
+        if (null != this.storage) this.storage.addVertex((TinkerVertex) vertex);
         ElementHelper.attachProperties(vertex, keyValues);
         return vertex;
     }
@@ -166,15 +233,54 @@ public class TinkerGraph implements Graph {
     public void clear() {
         this.vertices.clear();
         this.edges.clear();
-        this.variables = new TinkerGraphVariables();
-        this.currentId = 0l;
+        this.variables = new TinkerGraphVariables(this);
+        this.idAllocator = new TinkerIdAllocator(0l);
         this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
         this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+        this.adjacency = null;
+        if (null != this.storage) this.storage.clear();
+    }
+
+    /**
+     * Freeze the graph for read-only, analytical use.  The vertices are numbered densely and the edges of each vertex
+     * are compacted into arrays per direction and edge label, which are then walked by the adjacency iterators of the
+     * vertices and by {@link TinkerGraphComputer}.  A frozen graph can no longer be mutated, though indices may still
+     * be created and {@link TinkerGraphComputer} may still write its compute keys.  Only {@link #clear()} makes the
+     * graph mutable again.  The graph must not be mutated by other threads while it is being frozen.
+     */
+    public void freeze() {
+        if (this.isFrozen())
+            return;
+        final TinkerAdjacency adjacency = new TinkerAdjacency(this);
+        for (final TinkerVertex vertex : adjacency.vertices) {
+            vertex.outEdges = null;
+            vertex.inEdges = null;
+        }
+        this.adjacency = adjacency;
+    }
+
+    /**
+     * Determine if the graph was frozen with {@link #freeze()}.
+     */
+    public boolean isFrozen() {
+        return null != this.adjacency;
+    }
+
+    /**
+     * Write the graph to a new snapshot in its {@link #CONFIG_DIRECTORY} and start a new log.
+     */
+    public void compact() {
+        if (null == this.storage)
+            throw new IllegalStateException("The graph is not persisted as " + CONFIG_DIRECTORY + " is not configured");
+        this.storage.compact();
     }
 
     @Override
     public void close() {
-
+        if (null != this.storage) {
+            this.storage.close();
+            this.storage = null;
+        }
     }
 
     @Override
@@ -184,7 +290,7 @@ public class TinkerGraph implements Graph {
 
     @Override
     public Configuration configuration() {
-        return EMPTY_CONFIGURATION;
+        return this.configuration;
     }
 
     /**
@@ -198,7 +304,7 @@ public class TinkerGraph implements Graph {
         return new TinkerGraphFeatures();
     }
 
-    public static class TinkerGraphFeatures implements Features {
+    public class TinkerGraphFeatures implements Features {
         @Override
         public GraphFeatures graph() {
             return new TinkerGraphGraphFeatures();
@@ -234,7 +340,7 @@ public class TinkerGraph implements Graph {
         }
     }
 
-    public static class TinkerGraphGraphFeatures implements Features.GraphFeatures {
+    public class TinkerGraphGraphFeatures implements Features.GraphFeatures {
         @Override
         public boolean supportsTransactions() {
             return false;
@@ -242,7 +348,7 @@ public class TinkerGraph implements Graph {
 
         @Override
         public boolean supportsPersistence() {
-            return false;
+            return null != TinkerGraph.this.storage;
         }
 
         @Override
@@ -254,7 +360,22 @@ public class TinkerGraph implements Graph {
     ///////////// GRAPH SPECIFIC INDEXING METHODS ///////////////
 
     /**
-     * Create an index for said element class ({@link Vertex} or {@link Edge}) and said property key.
+     * The types of index that {@link TinkerGraph} can maintain for a property key.
+     */
+    public enum IndexType {
+        /**
+         * A hash based index that can only answer equality lookups.
+         */
+        HASH,
+        /**
+         * An index sorted by property value that can answer equality lookups as well as {@code gt}, {@code gte},
+         * {@code lt}, {@code lte} and {@code interval} range lookups.
+         */
+        SORTED
+    }
+
+    /**
+     * Create a {@link IndexType#HASH} index for said element class ({@link Vertex} or {@link Edge}) and said property key.
      * Whenever an element has the specified key mutated, the index is updated.
      * When the index is created, all existing elements are indexed to ensure that they are captured by the index.
      *
@@ -263,10 +384,23 @@ public class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified type for said element class ({@link Vertex} or {@link Edge}) and said property key.
+     * If the key is already indexed, the existing index is left untouched.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to maintain
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
         if (Vertex.class.isAssignableFrom(elementClass)) {
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, indexType);
         } else if (Edge.class.isAssignableFrom(elementClass)) {
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createKeyIndex(key, indexType);
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -306,10 +440,215 @@ public class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the keys currently being indexed with the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the indexed keys for
+     * @param indexType    the type of index
+     * @param <E>          The type of the element class
+     * @return the set of keys currently being indexed with the index type
+     */
+    public <E extends Element> Set<String> getIndexedKeys(final Class<E> elementClass, final IndexType indexType) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return this.vertexIndex.getIndexedKeys(indexType);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return this.edgeIndex.getIndexedKeys(indexType);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the ordered list of keys.
+     * The composite index answers traversals that have an equality {@code has()} for each of its keys.  The label of
+     * the element can be included with {@link T#label}'s accessor.  Whenever an element has one of the keys mutated,
+     * the index is updated and when the index is created, all existing elements are indexed.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the at least two distinct keys to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexIndex.createCompositeKeyIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeIndex.createCompositeKeyIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and ordered list of keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the keys of the composite index to drop
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            this.vertexIndex.dropCompositeKeyIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            this.edgeIndex.dropCompositeKeyIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the ordered lists of keys of the composite indices of said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     /**
      * {@link TinkerGraphComputer} generates a view of the original graph. When the view is no longer needed, it can be dropped.
      */
     public void dropGraphView() {
         this.graphView = null;
     }
+
+    ///////////// ID MANAGEMENT ///////////////
+
+    private static IdManager<?> selectIdManager(final Configuration configuration, final String configKey) {
+        final String idManager = configuration.getString(configKey, DefaultIdManager.ANY.name());
+        try {
+            return DefaultIdManager.valueOf(idManager.toUpperCase());
+        } catch (IllegalArgumentException iae) {
+            try {
+                return (IdManager<?>) Class.forName(idManager).newInstance();
+            } catch (Exception e) {
+                throw new IllegalStateException(String.format("Could not configure %s with %s", configKey, idManager), e);
+            }
+        }
+    }
+
+    /**
+     * A mechanism for generating, coercing and storing the identifiers of {@link TinkerGraph} elements.
+     */
+    public interface IdManager<T> {
+
+        /**
+         * Generate an identifier for an element that was added without a user supplied one.
+         */
+        T getNextId(final TinkerGraph graph);
+
+        /**
+         * Coerce a user supplied identifier into the type managed by this {@code IdManager}.
+         *
+         * @throws IllegalArgumentException if the identifier cannot be converted
+         */
+        T convert(final Object id);
+
+        /**
+         * Create the map that holds the elements of the graph keyed by their (converted) identifier.
+         */
+        <E extends Element> Map<Object, E> createElementMap();
+    }
+
+    /**
+     * The {@link IdManager} implementations that ship with {@link TinkerGraph}.  The numeric managers store elements
+     * in primitive-keyed maps and coerce any {@link Number} (or numeric {@link String}) so that {@code v(1)} and
+     * {@code v(1l)} return the same vertex.
+     */
+    public enum DefaultIdManager implements IdManager<Object> {
+
+        LONG {
+            @Override
+            public Long getNextId(final TinkerGraph graph) {
+                return TinkerHelper.getNextId(graph);
+            }
+
+            @Override
+            public Object convert(final Object id) {
+                if (id instanceof Long)
+                    return id;
+                else if (id instanceof Number)
+                    return ((Number) id).longValue();
+                else if (id instanceof String)
+                    return Long.parseLong((String) id);
+                else
+                    throw new IllegalArgumentException(String.format("Expected an id that is convertible to Long but received %s", id.getClass()));
+            }
+
+            @Override
+            public <E extends Element> Map<Object, E> createElementMap() {
+                return new LongElementMap<>();
+            }
+        },
+
+        INTEGER {
+            @Override
+            public Integer getNextId(final TinkerGraph graph) {
+                return (int) TinkerHelper.getNextId(graph);
+            }
+
+            @Override
+            public Object convert(final Object id) {
+                if (id instanceof Integer)
+                    return id;
+                else if (id instanceof Number)
+                    return ((Number) id).intValue();
+                else if (id instanceof String)
+                    return Integer.parseInt((String) id);
+                else
+                    throw new IllegalArgumentException(String.format("Expected an id that is convertible to Integer but received %s", id.getClass()));
+            }
+
+            @Override
+            public <E extends Element> Map<Object, E> createElementMap() {
+                return new LongElementMap<>();
+            }
+        },
+
+        UUID {
+            @Override
+            public java.util.UUID getNextId(final TinkerGraph graph) {
+                return java.util.UUID.randomUUID();
+            }
+
+            @Override
+            public Object convert(final Object id) {
+                if (id instanceof java.util.UUID)
+                    return id;
+                else if (id instanceof String)
+                    return java.util.UUID.fromString((String) id);
+                else
+                    throw new IllegalArgumentException(String.format("Expected an id that is convertible to UUID but received %s", id.getClass()));
+            }
+
+            @Override
+            public <E extends Element> Map<Object, E> createElementMap() {
+                return new HashMap<>();
+            }
+        },
+
+        ANY {
+            @Override
+            public Long getNextId(final TinkerGraph graph) {
+                return TinkerHelper.getNextId(graph);
+            }
+
+            @Override
+            public Object convert(final Object id) {
+                return id;
+            }
+
+            @Override
+            public <E extends Element> Map<Object, E> createElementMap() {
+                return new HashMap<>();
+            }
+        }
+    }
 }
@@ -15,9 +15,14 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TinkerGraphVariables implements Graph.Variables {
 
     private final Map<String, Object> variables = new ConcurrentHashMap<>();
+    private final TinkerGraph graph;
 
     public TinkerGraphVariables() {
+        this(null);
+    }
 
+    protected TinkerGraphVariables(final TinkerGraph graph) {
+        this.graph = graph;
     }
 
     @Override
@@ -32,13 +37,15 @@ public class TinkerGraphVariables implements Graph.Variables {
 
     @Override
     public void remove(final String key) {
-        this.variables.remove(key);
+        if (null != this.variables.remove(key) && null != this.graph && null != this.graph.storage)
+            this.graph.storage.removeVariable(key);
     }
 
     @Override
     public void set(final String key, final Object value) {
         GraphVariableHelper.validateVariable(key, value);
         this.variables.put(key, value);
+        if (null != this.graph && null != this.graph.storage) this.graph.storage.setVariable(key, value);
     }
 
     public String toString() {
@@ -1,10 +1,12 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
+import com.tinkerpop.gremlin.process.T;
 import com.tinkerpop.gremlin.process.computer.GraphComputer;
 import com.tinkerpop.gremlin.process.util.FastNoSuchElementException;
 import com.tinkerpop.gremlin.process.util.MultiIterator;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
@@ -12,63 +14,80 @@ import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphView;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TinkerHelper {
 
-    protected final synchronized static long getNextId(final TinkerGraph graph) {
-        return Stream.generate(() -> (++graph.currentId)).filter(id -> !graph.vertices.containsKey(id) && !graph.edges.containsKey(id)).findAny().get();
+    protected static long getNextId(final TinkerGraph graph) {
+        return graph.idAllocator.next();
+    }
+
+    protected static Object convertId(final TinkerGraph.IdManager<?> idManager, final Class<? extends Element> elementClass, final Object id) {
+        try {
+            return idManager.convert(id);
+        } catch (IllegalArgumentException e) {
+            throw Graph.Exceptions.elementNotFound(elementClass, id);
+        }
     }
 
     protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
+        if (graph.isFrozen())
+            throw Vertex.Exceptions.edgeAdditionsNotSupported();
         ElementHelper.validateLabel(label);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
         Object idValue = ElementHelper.getIdValue(keyValues).orElse(null);
 
-        final Edge edge;
+        Edge edge;
         if (null != idValue) {
+            idValue = graph.edgeIdManager.convert(idValue);
             if (graph.edges.containsKey(idValue))
                 throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
+            graph.idAllocator.observe(idValue);
+            edge = new TinkerEdge(idValue, outVertex, label, inVertex, graph);
+            if (null != graph.edges.putIfAbsent(edge.id(), edge))
+                throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
         } else {
-            idValue = TinkerHelper.getNextId(graph);
+            // a user supplied id can take a generated one in the moment before its edge is added
+            do {
+                edge = new TinkerEdge(graph.edgeIdManager.getNextId(graph), outVertex, label, inVertex, graph);
+            } while (null != graph.edges.putIfAbsent(edge.id(), edge));
         }
-
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex, graph);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
+        graph.edgeIndex.autoUpdate(T.label.getAccessor(), label, null, (TinkerEdge) edge);
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        if (null != graph.storage) graph.storage.addEdge((TinkerEdge) edge);
+        ElementHelper.attachProperties(edge, keyValues);
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        Set<Edge> edges = vertex.outEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.outEdges.put(label, edges);
-        }
-        edges.add(edge);
+        vertex.outEdges.computeIfAbsent(label, k -> TinkerHelper.newSet(vertex.graph)).add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        Set<Edge> edges = vertex.inEdges.get(label);
-        if (null == edges) {
-            edges = new HashSet<>();
-            vertex.inEdges.put(label, edges);
-        }
-        edges.add(edge);
+        vertex.inEdges.computeIfAbsent(label, k -> TinkerHelper.newSet(vertex.graph)).add(edge);
+    }
+
+    protected static <K, V> Map<K, V> newMap(final TinkerGraph graph) {
+        return graph.concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+    }
+
+    protected static <T> Set<T> newSet(final TinkerGraph graph) {
+        return graph.concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
     }
 
     public static void dropView(final TinkerGraph graph) {
@@ -76,7 +95,7 @@ public class TinkerHelper {
     }
 
     public static Collection<Vertex> getVertices(final TinkerGraph graph) {
-        return graph.vertices.values();
+        return graph.isFrozen() ? Arrays.asList(graph.adjacency.vertices) : graph.vertices.values();
     }
 
     public static Collection<Edge> getEdges(final TinkerGraph graph) {
@@ -91,12 +110,48 @@ public class TinkerHelper {
         return graph.edgeIndex.get(key, value);
     }
 
+    public static Set<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.vertexIndex.get(keys, values);
+    }
+
+    public static Set<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.edgeIndex.get(keys, values);
+    }
+
+    public static long countVertexIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.vertexIndex.count(keys, values);
+    }
+
+    public static long countEdgeIndex(final TinkerGraph graph, final List<String> keys, final List<Object> values) {
+        return graph.edgeIndex.count(keys, values);
+    }
+
+    public static Collection<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object from, final boolean fromInclusive, final Object to, final boolean toInclusive) {
+        return graph.vertexIndex.getRange(key, from, fromInclusive, to, toInclusive);
+    }
+
+    public static Collection<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final String key, final Object from, final boolean fromInclusive, final Object to, final boolean toInclusive) {
+        return graph.edgeIndex.getRange(key, from, fromInclusive, to, toInclusive);
+    }
+
+    public static boolean isConcurrent(final TinkerGraph graph) {
+        return graph.concurrent;
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphView;
     }
 
     public static TinkerGraphView createGraphView(final TinkerGraph graph, final GraphComputer.Isolation isolation, final Set<String> computeKeys) {
-        return graph.graphView = new TinkerGraphView(isolation, computeKeys);
+        int ordinal = 0;
+        for (final Vertex vertex : TinkerHelper.getVertices(graph)) {
+            ((TinkerVertex) vertex).viewOrdinal = ordinal++;
+        }
+        return graph.graphView = new TinkerGraphView(isolation, computeKeys, ordinal);
+    }
+
+    public static int getViewOrdinal(final TinkerVertex vertex) {
+        return vertex.viewOrdinal;
     }
 
     public static Map<String, List<Property>> getProperties(final TinkerElement element) {
@@ -104,6 +159,8 @@ public class TinkerHelper {
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... labels) {
+        if (vertex.graph.isFrozen())
+            return vertex.graph.adjacency.edges(vertex, direction, labels);
         final MultiIterator<Edge> edges = new MultiIterator<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
             if (labels.length > 0) {
@@ -131,6 +188,8 @@ public class TinkerHelper {
     }
 
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... labels) {
+        if (vertex.graph.isFrozen())
+            return vertex.graph.adjacency.vertices(vertex, direction, labels);
         if (direction != Direction.BOTH) {
             return new TinkerVertexIterator(TinkerHelper.getEdges(vertex, direction, labels), direction);
         } else {
@@ -141,6 +200,12 @@ public class TinkerHelper {
         }
     }
 
+    public static TinkerVertex getVertex(final TinkerEdge edge, final Direction direction) {
+        if (direction.equals(Direction.BOTH))
+            throw new IllegalArgumentException("An edge has a single vertex in the " + Direction.OUT + " or " + Direction.IN + " direction");
+        return (TinkerVertex) (direction.equals(Direction.OUT) ? edge.outVertex : edge.inVertex);
+    }
+
     public static Iterator<TinkerVertex> getVertices(final TinkerEdge edge, final Direction direction) {
         final List<TinkerVertex> vertices = new ArrayList<>(2);
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH))
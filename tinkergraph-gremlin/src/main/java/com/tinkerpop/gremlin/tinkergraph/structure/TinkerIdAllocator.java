@@ -0,0 +1,65 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out the numeric identifiers that {@link TinkerGraph} generates for its elements.  Each thread reserves a
+ * contiguous block of identifiers from a shared {@link AtomicLong} and then allocates from that block, which only
+ * that thread ever reads or writes.  Numeric identifiers supplied by the user are observed so that the shared counter
+ * always stays ahead of them.  A user supplied identifier that was already reserved is handed to the blocks through a
+ * concurrent set of skipped identifiers, which a block consults before it returns an identifier and clears of its own
+ * range once that range is used up.  As such, an identifier is never generated after the same identifier was
+ * supplied by the user.  One that was generated just before can still be taken by the user before its element is
+ * added, which is left to the element maps to detect.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerIdAllocator {
+
+    private static final int BLOCK_SIZE = 1000;
+
+    private final AtomicLong reserved;
+    private final ConcurrentSkipListSet<Long> skips = new ConcurrentSkipListSet<>();
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    public TinkerIdAllocator(final long firstId) {
+        this.reserved = new AtomicLong(firstId);
+    }
+
+    public long next() {
+        final Block block = this.blocks.get();
+        while (true) {
+            if (block.next == block.end) {
+                // a skipped identifier of a used up range can no longer be generated
+                if (block.start != block.end && !this.skips.isEmpty())
+                    this.skips.subSet(block.start, block.end).clear();
+                block.start = this.reserved.getAndAdd(BLOCK_SIZE);
+                block.next = block.start;
+                block.end = block.start + BLOCK_SIZE;
+            }
+            final long id = block.next++;
+            if (this.skips.isEmpty() || !this.skips.remove(id))
+                return id;
+        }
+    }
+
+    public void observe(final Object id) {
+        if (id instanceof Long || id instanceof Integer || id instanceof Short || id instanceof Byte) {
+            final long value = ((Number) id).longValue();
+            // an identifier beyond the reserved ones can never be generated as the counter is now ahead of it
+            if (value < 0 || value >= this.reserved.getAndAccumulate(value + 1, Math::max))
+                return;
+            this.skips.add(value);
+        }
+    }
+
+    /**
+     * The range of identifiers reserved by a single thread.  It is confined to that thread and so needs no locking.
+     */
+    private static final class Block {
+        private long start = 0l;
+        private long next = 0l;
+        private long end = 0l;
+    }
+}
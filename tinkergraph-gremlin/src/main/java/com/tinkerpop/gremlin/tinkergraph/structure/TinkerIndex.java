@@ -6,21 +6,40 @@ import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the values of a sorted index.  Values of the same class are ordered naturally while values of different
+     * classes are grouped by class name, as {@link com.tinkerpop.gremlin.structure.Compare} can not compare them anyway.
+     */
+    private static final Comparator<Object> SORTED_ORDER = (a, b) -> a.getClass().equals(b.getClass()) ?
+            ((Comparable) a).compareTo(b) :
+            a.getClass().getName().compareTo(b.getClass().getName());
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<String, NavigableMap<Object, Set<T>>> sortedIndex = new ConcurrentHashMap<>();
+    protected Map<String, Set<T>> multiValued = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> sortedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<List<String>, CompositeIndex> compositeIndex = new ConcurrentHashMap<>();
+    private final Set<String> compositeKeys = ConcurrentHashMap.newKeySet();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
@@ -29,22 +48,79 @@ class TinkerIndex<T extends Element> {
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
+        if (isSorted(key, value)) {
+            this.addToBucket(this.sortedIndex.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>(SORTED_ORDER)), value, element);
+            // a range over a multi-valued key may be satisfied by different values of the same element
+            if (TinkerHelper.getProperties((TinkerElement) element).getOrDefault(key, Collections.emptyList()).size() > 1)
+                this.multiValued.computeIfAbsent(key, k -> TinkerHelper.newSet(this.graph)).add(element);
+        } else {
+            this.addToBucket(this.index.computeIfAbsent(key, k -> new ConcurrentHashMap<>()), value, element);
         }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
+    }
+
+    /**
+     * Add the element to the bucket of the value, creating the bucket if need be.  The bucket is changed within the
+     * computation of the map so that it can not be dropped as empty by a concurrent {@link #removeFromBucket}.
+     */
+    private <K> void addToBucket(final Map<K, Set<T>> map, final K value, final T element) {
+        map.compute(value, (v, set) -> {
+            final Set<T> elements = null == set ? TinkerHelper.newSet(this.graph) : set;
+            elements.add(element);
+            return elements;
+        });
+    }
+
+    /**
+     * Remove the element from the bucket of the value and drop the bucket if it is left empty, atomically with
+     * respect to {@link #addToBucket}.
+     */
+    private static <K, E> void removeFromBucket(final Map<K, Set<E>> map, final K value, final E element) {
+        map.computeIfPresent(value, (v, set) -> {
+            set.remove(element);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private boolean isSorted(final String key, final Object value) {
+        return value instanceof Comparable && this.sortedKeys.contains(key);
+    }
+
+    private Map<Object, Set<T>> getKeyMap(final String key, final Object value) {
+        return isSorted(key, value) ? this.sortedIndex.get(key) : this.index.get(key);
+    }
+
+    /**
+     * Get the elements with a value for the key in the provided range.  A {@code null} bound leaves that end of the
+     * range open.  This is only possible for keys that have a {@link TinkerGraph.IndexType#SORTED} index and the
+     * returned elements must still be filtered as elements with multiple values for the key are always returned.
+     */
+    public Collection<T> getRange(final String key, final Object from, final boolean fromInclusive, final Object to, final boolean toInclusive) {
+        final NavigableMap<Object, Set<T>> keyMap = this.sortedIndex.get(key);
+        final Set<T> elements = new LinkedHashSet<>(this.multiValued.getOrDefault(key, Collections.emptySet()));
+        if (null != keyMap && (null == from || null == to || isValidRange(from, fromInclusive, to, toInclusive))) {
+            final Class<?> valueClass = (null == from ? to : from).getClass();
+            final NavigableMap<Object, Set<T>> range = null == from ?
+                    keyMap.headMap(to, toInclusive) :
+                    null == to ?
+                            keyMap.tailMap(from, fromInclusive) :
+                            keyMap.subMap(from, fromInclusive, to, toInclusive);
+            range.forEach((value, set) -> {
+                if (value.getClass().equals(valueClass))
+                    elements.addAll(set);
+            });
         }
-        objects.add(element);
+        return elements;
+    }
 
+    private static boolean isValidRange(final Object from, final boolean fromInclusive, final Object to, final boolean toInclusive) {
+        if (!from.getClass().equals(to.getClass()))
+            return false;
+        final int compare = SORTED_ORDER.compare(from, to);
+        return compare < 0 || (compare == 0 && fromInclusive && toInclusive);
     }
 
     public List<T> get(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Map<Object, Set<T>> keyMap = getKeyMap(key, value);
         if (null == keyMap) {
             return Collections.emptyList();
         } else {
@@ -57,7 +133,7 @@ class TinkerIndex<T extends Element> {
     }
 
     public long count(final String key, final Object value) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        final Map<Object, Set<T>> keyMap = getKeyMap(key, value);
         if (null == keyMap) {
             return 0;
         } else {
@@ -69,25 +145,58 @@ class TinkerIndex<T extends Element> {
         }
     }
 
-    public void remove(final String key, final Object value, final T element) {
-        final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
-                }
-            }
+    /**
+     * Get the elements with the provided values for the provided keys.  A single key is answered by its key index
+     * while multiple keys must be answered by a composite index over exactly those keys in that order.  The returned
+     * set is an unmodifiable view of the index and as such, it must be copied if the graph is mutated while iterating.
+     */
+    public Set<T> get(final List<String> keys, final List<Object> values) {
+        final Set<T> set;
+        if (keys.size() == 1) {
+            final Map<Object, Set<T>> keyMap = getKeyMap(keys.get(0), values.get(0));
+            set = null == keyMap ? null : keyMap.get(values.get(0));
+        } else {
+            final CompositeIndex composite = this.compositeIndex.get(keys);
+            set = null == composite ? null : composite.index.get(values);
         }
+        return null == set ? Collections.emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    public long count(final List<String> keys, final List<Object> values) {
+        return this.get(keys, values).size();
     }
 
+    /**
+     * Remove the value of the key from the index after it was removed from the element.
+     */
+    public void remove(final String key, final Object value, final T element) {
+        this.removeValue(key, value, element);
+        this.updateMultiValued(key, element);
+        this.updateComposites(key, element, null, value);
+    }
+
+    private void removeValue(final String key, final Object value, final T element) {
+        final Map<Object, Set<T>> keyMap = getKeyMap(key, value);
+        if (null != keyMap)
+            removeFromBucket(keyMap, value, element);
+    }
+
+    /**
+     * Remove the element from the index.  The current values of the element are used to find the affected buckets
+     * and as such this must be called before the properties of the element are cleared.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+            for (final String key : this.indexedKeys) {
+                for (final Object value : getValues(element, key)) {
+                    this.removeValue(key, value, element);
                 }
+                final Set<T> set = this.multiValued.get(key);
+                if (null != set)
+                    set.remove(element);
+            }
+            for (final CompositeIndex composite : this.compositeIndex.values()) {
+                composite.remove(element);
             }
         }
     }
@@ -95,42 +204,198 @@ class TinkerIndex<T extends Element> {
     public void autoUpdate(final String key, final Object newValue, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key)) {
             if (oldValue != null)
-                this.remove(key, oldValue, element);
+                this.removeValue(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateComposites(key, element, newValue, oldValue);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
-        if (this.indexedKeys.contains(key))
-            this.remove(key, oldValue, element);
+        if (this.indexedKeys.contains(key)) {
+            this.removeValue(key, oldValue, element);
+            this.updateMultiValued(key, element);
+        }
+        this.updateComposites(key, element, null, oldValue);
+    }
+
+    /**
+     * Forget that the element is multi-valued for the key once it has a single value for the key left.
+     */
+    private void updateMultiValued(final String key, final T element) {
+        final Set<T> set = this.multiValued.get(key);
+        if (null != set && TinkerHelper.getProperties((TinkerElement) element).getOrDefault(key, Collections.emptyList()).size() < 2)
+            set.remove(element);
     }
 
-    public void createKeyIndex(final String key) {
+    /**
+     * Re-index the element in every composite index over the key.  This is called after the element was mutated so
+     * the current values of the element are the ones to index, while the added and removed values tell the values
+     * that the element was indexed under before.
+     */
+    private void updateComposites(final String key, final T element, final Object addedValue, final Object removedValue) {
+        if (this.compositeKeys.contains(key)) {
+            this.compositeIndex.forEach((keys, composite) -> {
+                if (keys.contains(key))
+                    composite.update(element, key, addedValue, removedValue);
+            });
+        }
+    }
+
+    public void createKeyIndex(final String key, final TinkerGraph.IndexType indexType) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (null == indexType)
+            throw Graph.Exceptions.argumentCanNotBeNull("indexType");
 
         if (this.indexedKeys.contains(key))
             return;
+        if (TinkerGraph.IndexType.SORTED == indexType)
+            this.sortedKeys.add(key);
         this.indexedKeys.add(key);
 
-        (Vertex.class.isAssignableFrom(this.indexClass) ?
-                this.graph.vertices.values().<T>parallelStream() :
-                this.graph.edges.values().<T>parallelStream())
-                .map(e -> new Object[]{((T) e).property(key), e})
-                .filter(a -> ((Property) a[0]).isPresent())
-                .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
+        this.elements().forEach(element -> getValues(element, key).forEach(value -> this.put(key, value, element)));
+    }
+
+    public void createCompositeKeyIndex(final List<String> keys) {
+        if (null == keys)
+            throw Graph.Exceptions.argumentCanNotBeNull("keys");
+        if (keys.stream().anyMatch(key -> null == key))
+            throw Graph.Exceptions.argumentCanNotBeNull("key");
+        if (keys.stream().anyMatch(String::isEmpty))
+            throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (keys.size() < 2 || keys.stream().distinct().count() != keys.size())
+            throw new IllegalArgumentException("A composite index requires at least two distinct keys: " + keys);
+
+        final List<String> compositeKeys = Collections.unmodifiableList(new ArrayList<>(keys));
+        if (this.compositeIndex.containsKey(compositeKeys))
+            return;
+        final CompositeIndex composite = new CompositeIndex(compositeKeys);
+        this.elements().forEach(composite::add);
+        this.compositeIndex.put(compositeKeys, composite);
+        this.compositeKeys.addAll(compositeKeys);
+    }
+
+    public void dropCompositeKeyIndex(final List<String> keys) {
+        final CompositeIndex composite = this.compositeIndex.remove(keys);
+        if (null != composite) {
+            composite.index.clear();
+            this.compositeKeys.clear();
+            this.compositeIndex.keySet().forEach(this.compositeKeys::addAll);
+        }
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return Collections.unmodifiableSet(this.compositeIndex.keySet());
+    }
+
+    /**
+     * Get the elements to build a new index from.  They are only streamed in parallel if the graph is concurrent as
+     * the sets of the index are only thread-safe then.
+     */
+    private Stream<T> elements() {
+        final Collection<T> elements = (Collection<T>) (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values() :
+                this.graph.edges.values());
+        return this.graph.concurrent ? elements.parallelStream() : elements.stream();
+    }
+
+    /**
+     * Get the values of the element for the key where {@link com.tinkerpop.gremlin.process.T#label} denotes the label of the element.
+     */
+    private static List<Object> getValues(final Element element, final String key) {
+        if (key.equals(com.tinkerpop.gremlin.process.T.label.getAccessor()))
+            return Collections.singletonList(element.label());
+        final List<? extends Property> properties = TinkerHelper.getProperties((TinkerElement) element).get(key);
+        if (null == properties)
+            return Collections.emptyList();
+        final List<Object> values = new ArrayList<>(properties.size());
+        properties.forEach(property -> values.add(property.value()));
+        return values;
     }
 
     public void dropKeyIndex(final String key) {
         if (this.index.containsKey(key))
             this.index.remove(key).clear();
+        if (this.sortedIndex.containsKey(key))
+            this.sortedIndex.remove(key).clear();
+        this.multiValued.remove(key);
 
         this.indexedKeys.remove(key);
+        this.sortedKeys.remove(key);
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public Set<String> getIndexedKeys(final TinkerGraph.IndexType indexType) {
+        if (TinkerGraph.IndexType.SORTED == indexType)
+            return this.sortedKeys;
+        else
+            return this.indexedKeys.stream().filter(key -> !this.sortedKeys.contains(key)).collect(Collectors.toSet());
+    }
+
+    /**
+     * An index over the values of an ordered list of keys.  An element is indexed under every combination of its
+     * values for the keys and only if it has a value for each of them.  The combinations an element was indexed under
+     * are derived from its current values and the change that was made to them, so nothing is kept per element.
+     */
+    private final class CompositeIndex {
+
+        private final List<String> keys;
+        private final Map<List<Object>, Set<T>> index = new ConcurrentHashMap<>();
+
+        private CompositeIndex(final List<String> keys) {
+            this.keys = keys;
+        }
+
+        private void add(final T element) {
+            this.tuples(element, null, null, null).forEach(tuple -> addToBucket(this.index, tuple, element));
+        }
+
+        private void remove(final T element) {
+            this.tuples(element, null, null, null).forEach(tuple -> this.removeTuple(tuple, element));
+        }
+
+        private void update(final T element, final String key, final Object addedValue, final Object removedValue) {
+            final Set<List<Object>> tuples = this.tuples(element, null, null, null);
+            this.tuples(element, key, addedValue, removedValue).forEach(tuple -> {
+                if (!tuples.contains(tuple))
+                    this.removeTuple(tuple, element);
+            });
+            tuples.forEach(tuple -> addToBucket(this.index, tuple, element));
+        }
+
+        private void removeTuple(final List<Object> tuple, final T element) {
+            removeFromBucket(this.index, tuple, element);
+        }
+
+        /**
+         * Get the combinations of the values of the element for the keys, where the values of the changed key are
+         * those before the added value was added and the removed value was removed.
+         */
+        private Set<List<Object>> tuples(final T element, final String changedKey, final Object addedValue, final Object removedValue) {
+            Set<List<Object>> tuples = Collections.singleton(Collections.emptyList());
+            for (final String key : this.keys) {
+                List<Object> values = getValues(element, key);
+                if (key.equals(changedKey)) {
+                    values = new ArrayList<>(values);
+                    if (null != addedValue) values.remove(addedValue);
+                    if (null != removedValue) values.add(removedValue);
+                }
+                final Set<List<Object>> extended = new LinkedHashSet<>();
+                for (final List<Object> tuple : tuples) {
+                    for (final Object value : values) {
+                        final List<Object> next = new ArrayList<>(tuple);
+                        next.add(value);
+                        extended.add(next);
+                    }
+                }
+                tuples = extended;
+            }
+            return tuples;
+        }
+    }
 }
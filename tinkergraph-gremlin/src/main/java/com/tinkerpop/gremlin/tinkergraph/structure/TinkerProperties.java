@@ -0,0 +1,219 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.tinkerpop.gremlin.structure.Property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The properties of a {@link TinkerElement} keyed by the {@link TinkerDictionary} code of their key.  The codes and
+ * the properties are held in two parallel arrays where a key with a single property holds the property itself and only
+ * a key with multiple properties holds an array of them.  As elements rarely have more than a handful of keys, a scan
+ * of the codes is as fast as hashing while avoiding the table, entries and lists of a {@link java.util.HashMap} of
+ * {@link java.util.ArrayList}s.
+ * <p/>
+ * The lists handed out are read-only views, so properties are added and removed with {@link #addProperty} and
+ * {@link #removeProperty}.  Mutations copy the arrays and publish them at once such that readers never need to lock.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerProperties extends AbstractMap<String, List<Property>> {
+
+    private static final Entries EMPTY = new Entries(new int[0], new Object[0]);
+
+    private final TinkerDictionary dictionary;
+    private volatile Entries entries = EMPTY;
+
+    public TinkerProperties(final TinkerDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public List<Property> get(final Object key) {
+        final Entries entries = this.entries;
+        final int index = entries.indexOf(this.dictionary.lookup(key));
+        return -1 == index ? null : asList(entries.slots[index]);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return -1 != this.entries.indexOf(this.dictionary.lookup(key));
+    }
+
+    @Override
+    public int size() {
+        return this.entries.codes.length;
+    }
+
+    @Override
+    public synchronized List<Property> put(final String key, final List<Property> properties) {
+        final List<Property> previous = this.remove(key);
+        if (!properties.isEmpty())
+            this.entries = this.entries.with(this.dictionary.encode(key), properties.size() == 1 ? properties.get(0) : properties.toArray(new Property[properties.size()]));
+        return previous;
+    }
+
+    @Override
+    public synchronized List<Property> remove(final Object key) {
+        final Entries entries = this.entries;
+        final int index = entries.indexOf(this.dictionary.lookup(key));
+        if (-1 == index)
+            return null;
+        this.entries = entries.without(index);
+        return asList(entries.slots[index]);
+    }
+
+    @Override
+    public synchronized void clear() {
+        this.entries = EMPTY;
+    }
+
+    /**
+     * Append the property to those of its key.
+     */
+    public synchronized void addProperty(final String key, final Property property) {
+        final Entries entries = this.entries;
+        final int index = entries.indexOf(this.dictionary.lookup(key));
+        if (-1 == index) {
+            this.entries = entries.with(this.dictionary.encode(key), property);
+        } else {
+            final Object slot = entries.slots[index];
+            final Property[] properties;
+            if (slot instanceof Property[]) {
+                properties = Arrays.copyOf((Property[]) slot, ((Property[]) slot).length + 1);
+            } else {
+                properties = new Property[2];
+                properties[0] = (Property) slot;
+            }
+            properties[properties.length - 1] = property;
+            this.entries = entries.replace(index, properties);
+        }
+    }
+
+    /**
+     * Remove the property from those of its key, dropping the key when no property is left.
+     *
+     * @return the number of properties left for the key or {@code -1} if there were no properties for the key
+     */
+    public synchronized int removeProperty(final String key, final Property property) {
+        final Entries entries = this.entries;
+        final int index = entries.indexOf(this.dictionary.lookup(key));
+        if (-1 == index)
+            return -1;
+        final Object slot = entries.slots[index];
+        if (slot instanceof Property[]) {
+            final Property[] properties = (Property[]) slot;
+            final int position = Arrays.asList(properties).indexOf(property);
+            if (-1 == position)
+                return properties.length;
+            if (properties.length == 2) {
+                this.entries = entries.replace(index, properties[1 - position]);
+            } else {
+                final Property[] remaining = new Property[properties.length - 1];
+                System.arraycopy(properties, 0, remaining, 0, position);
+                System.arraycopy(properties, position + 1, remaining, position, remaining.length - position);
+                this.entries = entries.replace(index, remaining);
+            }
+            return properties.length - 1;
+        } else if (slot.equals(property)) {
+            this.entries = entries.without(index);
+            return 0;
+        } else {
+            return 1;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<Property>>> entrySet() {
+        final Entries entries = this.entries;
+        return new AbstractSet<Map.Entry<String, List<Property>>>() {
+            @Override
+            public Iterator<Map.Entry<String, List<Property>>> iterator() {
+                return new Iterator<Map.Entry<String, List<Property>>>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < entries.codes.length;
+                    }
+
+                    @Override
+                    public Map.Entry<String, List<Property>> next() {
+                        if (!this.hasNext())
+                            throw new NoSuchElementException();
+                        final int current = this.index++;
+                        return new AbstractMap.SimpleImmutableEntry<>(dictionary.decode(entries.codes[current]), asList(entries.slots[current]));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.codes.length;
+            }
+        };
+    }
+
+    private static List<Property> asList(final Object slot) {
+        return slot instanceof Property[] ?
+                Collections.unmodifiableList(Arrays.asList((Property[]) slot)) :
+                Collections.singletonList((Property) slot);
+    }
+
+    /**
+     * An immutable snapshot of the codes and their properties.
+     */
+    private static final class Entries {
+
+        private final int[] codes;
+        private final Object[] slots;
+
+        private Entries(final int[] codes, final Object[] slots) {
+            this.codes = codes;
+            this.slots = slots;
+        }
+
+        private int indexOf(final int code) {
+            if (code >= 0) {
+                for (int i = 0; i < this.codes.length; i++) {
+                    if (this.codes[i] == code)
+                        return i;
+                }
+            }
+            return -1;
+        }
+
+        private Entries with(final int code, final Object slot) {
+            final int[] codes = Arrays.copyOf(this.codes, this.codes.length + 1);
+            final Object[] slots = Arrays.copyOf(this.slots, this.slots.length + 1);
+            codes[this.codes.length] = code;
+            slots[this.slots.length] = slot;
+            return new Entries(codes, slots);
+        }
+
+        private Entries replace(final int index, final Object slot) {
+            final Object[] slots = this.slots.clone();
+            slots[index] = slot;
+            return new Entries(this.codes, slots);
+        }
+
+        private Entries without(final int index) {
+            if (this.codes.length == 1)
+                return EMPTY;
+            final int[] codes = new int[this.codes.length - 1];
+            final Object[] slots = new Object[this.slots.length - 1];
+            System.arraycopy(this.codes, 0, codes, 0, index);
+            System.arraycopy(this.codes, index + 1, codes, index, codes.length - index);
+            System.arraycopy(this.slots, 0, slots, 0, index);
+            System.arraycopy(this.slots, index + 1, slots, index, slots.length - index);
+            return new Entries(codes, slots);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.tinkerpop.gremlin.structure.util.ElementHelper;
 import com.tinkerpop.gremlin.structure.util.StringFactory;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -21,9 +22,9 @@ public class TinkerProperty<V> implements Property<V> {
 
     public TinkerProperty(final Element element, final String key, final V value) {
         this.element = element;
-        this.key = key;
-        this.value = value;
         this.graph = ((TinkerElement) this.element).graph;
+        this.key = this.graph.dictionary.intern(key);
+        this.value = value;
     }
 
     @Override
@@ -66,8 +67,22 @@ public class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        ((TinkerElement) this.element).properties.remove(this.key);
-        if (this.element instanceof Edge)
-            this.graph.edgeIndex.remove(key, value, (TinkerEdge) this.element);
+        if (this.graph.isFrozen())
+            throw Element.Exceptions.propertyRemovalNotSupported();
+        final TinkerProperties properties = ((TinkerElement) this.element).properties;
+        final boolean removed;
+        synchronized (properties) {
+            final List<Property> previous = properties.remove(this.key);
+            removed = null != previous;
+            // the property may have been replaced since, so the value the index holds is that of the removed one
+            if (removed && this.element instanceof Edge)
+                this.graph.edgeIndex.remove(this.key, previous.get(0).value(), (TinkerEdge) this.element);
+        }
+        if (removed && null != this.graph.storage) {
+            if (this.element instanceof Edge)
+                this.graph.storage.removeEdgeProperty((TinkerEdge) this.element, this.key);
+            else
+                this.graph.storage.removeMetaProperty((TinkerVertexProperty<?>) this.element, this.key);
+        }
     }
 }
@@ -0,0 +1,597 @@
+package com.tinkerpop.gremlin.tinkergraph.structure;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.ByteBufferInput;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Property;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
+import com.tinkerpop.gremlin.structure.io.kryo.GremlinKryo;
+import org.apache.commons.configuration.BaseConfiguration;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists a {@link TinkerGraph} to a directory as a snapshot plus a write-ahead log.  Every mutation is appended to
+ * the log as it is applied to the graph.  Once the log holds enough records, a new log is started and a background
+ * thread compacts the previous snapshot and the logs before the new one into a new snapshot, such that the thread
+ * that mutates the graph only ever pays for starting a log.  On open, the snapshot is memory-mapped and loaded
+ * straight into the element maps followed by a replay of the logs, such that recovery depends on the volume of
+ * changes since the last compaction rather than on a full import of the graph.
+ * <p/>
+ * The logs are numbered by generation and the snapshot is tagged with the generation of the first log that it does
+ * not hold.  Logs before that generation were already compacted and are deleted, which keeps recovery correct if the
+ * process dies between writing a snapshot and deleting the logs.  A partially written record at the end of a log is
+ * discarded.  Records are flushed to the operating system as they are written, so they survive the process dying but
+ * not the operating system failing, unless the log is configured to be synced to the device after every record.
+ * Snapshots are always synced to the device before they replace the previous one.
+ * <p/>
+ * A background compaction replays the previous snapshot and logs into a scratch graph and as such temporarily holds
+ * a second copy of the graph in memory.  One that fails leaves the logs in place, so they are compacted again later.
+ * The graph is only read and mutated by one thread at a time, which is why a concurrent graph can not be persisted.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+final class TinkerStorage {
+
+    private static final String SNAPSHOT_FILE = "tinkergraph.snapshot";
+    private static final String LOG_FILE = "tinkergraph.log.";
+    private static final byte VERSION = 2;
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte ADD_VERTEX_PROPERTY = 3;
+    private static final byte SET_META_PROPERTY = 4;
+    private static final byte SET_EDGE_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX = 6;
+    private static final byte REMOVE_EDGE = 7;
+    private static final byte REMOVE_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_META_PROPERTY = 9;
+    private static final byte REMOVE_EDGE_PROPERTY = 10;
+    private static final byte SET_VARIABLE = 11;
+    private static final byte REMOVE_VARIABLE = 12;
+    private static final byte CLEAR = 13;
+
+    private final TinkerGraph graph;
+    private final File directory;
+    private final File snapshotFile;
+    private final long compactionThreshold;
+    private final boolean syncLog;
+    private final Kryo kryo = GremlinKryo.build().create().createKryo();
+    private long generation = 0l;
+    private long logGeneration = 0l;
+    private long logRecords = 0l;
+    private boolean replaying = false;
+    private FileOutputStream logStream;
+    private Output log;
+    private Thread compaction = null;
+
+    public TinkerStorage(final TinkerGraph graph, final File directory, final long compactionThreshold, final boolean syncLog) {
+        this.graph = graph;
+        this.directory = directory;
+        this.snapshotFile = new File(directory, SNAPSHOT_FILE);
+        this.compactionThreshold = compactionThreshold;
+        this.syncLog = syncLog;
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IllegalStateException("Could not create the directory of the graph: " + directory);
+    }
+
+    /**
+     * Load the snapshot and the logs into the graph and start logging its mutations.
+     */
+    public synchronized void open() {
+        this.replaying = true;
+        try {
+            final Loader loader = new Loader(this.graph, this.kryo);
+            if (this.snapshotFile.exists())
+                this.generation = loader.loadSnapshot(this.snapshotFile);
+            this.logGeneration = this.generation;
+            long validLength = -1l;
+            for (final long logGeneration : this.getLogGenerations()) {
+                if (logGeneration < this.generation) {
+                    this.deleteLog(logGeneration);
+                } else {
+                    validLength = loader.replayLog(this.getLogFile(logGeneration));
+                    this.logGeneration = logGeneration;
+                }
+            }
+            this.logRecords = loader.records;
+            if (validLength < 0l) {
+                this.startLog();
+            } else {
+                final File logFile = this.getLogFile(this.logGeneration);
+                try (final RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+                    file.setLength(validLength);
+                }
+                this.logStream = new FileOutputStream(logFile, true);
+                this.log = new Output(this.logStream);
+                if (0l == validLength)
+                    this.writeLogHeader();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open the graph in " + this.directory, e);
+        } finally {
+            this.replaying = false;
+        }
+    }
+
+    public void close() {
+        this.awaitCompaction();
+        synchronized (this) {
+            if (null != this.log) {
+                this.compact();
+                this.log.close();
+                this.log = null;
+            }
+        }
+    }
+
+    /**
+     * Write the current state of the graph to a new snapshot and start a new log.  This is done by the thread that
+     * mutates the graph, which is why it is only done on request and on {@link #close()}.
+     */
+    public synchronized void compact() {
+        final long target = this.logGeneration + 1;
+        final File temporary = new File(this.directory, SNAPSHOT_FILE + ".tmp");
+        try {
+            writeSnapshot(this.graph, this.kryo, temporary, target);
+            Files.move(temporary.toPath(), this.snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.generation = target;
+            this.log.close();
+            this.logGeneration = target;
+            this.startLog();
+            this.deleteLogsBefore(target);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not compact the graph into " + this.snapshotFile, e);
+        }
+    }
+
+    /**
+     * Wait for the background compaction, if there is one, to finish.
+     */
+    void awaitCompaction() {
+        final Thread compaction;
+        synchronized (this) {
+            compaction = this.compaction;
+        }
+        if (null != compaction) {
+            try {
+                compaction.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    ///////////////////
+
+    public void addVertex(final TinkerVertex vertex) {
+        if (this.isLogging()) this.append(ADD_VERTEX, vertex.id(), vertex.label());
+    }
+
+    public void addEdge(final TinkerEdge edge) {
+        if (this.isLogging()) this.append(ADD_EDGE, edge.id(), edge.label(), edge.outVertex.id(), edge.inVertex.id());
+    }
+
+    public void addVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        if (this.isLogging())
+            this.append(ADD_VERTEX_PROPERTY, vertexProperty.vertex.id(), vertexProperty.id(), vertexProperty.key, vertexProperty.value());
+    }
+
+    public void setMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key, final Object value) {
+        if (this.isLogging())
+            this.append(SET_META_PROPERTY, vertexProperty.vertex.id(), vertexProperty.id(), vertexProperty.key, key, value);
+    }
+
+    public void setEdgeProperty(final TinkerEdge edge, final String key, final Object value) {
+        if (this.isLogging()) this.append(SET_EDGE_PROPERTY, edge.id(), key, value);
+    }
+
+    public void removeVertex(final TinkerVertex vertex) {
+        if (this.isLogging()) this.append(REMOVE_VERTEX, vertex.id());
+    }
+
+    public void removeEdge(final TinkerEdge edge) {
+        if (this.isLogging()) this.append(REMOVE_EDGE, edge.id());
+    }
+
+    public void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        if (this.isLogging())
+            this.append(REMOVE_VERTEX_PROPERTY, vertexProperty.vertex.id(), vertexProperty.id(), vertexProperty.key);
+    }
+
+    public void removeMetaProperty(final TinkerVertexProperty<?> vertexProperty, final String key) {
+        if (this.isLogging())
+            this.append(REMOVE_META_PROPERTY, vertexProperty.vertex.id(), vertexProperty.id(), vertexProperty.key, key);
+    }
+
+    public void removeEdgeProperty(final TinkerEdge edge, final String key) {
+        if (this.isLogging()) this.append(REMOVE_EDGE_PROPERTY, edge.id(), key);
+    }
+
+    public void setVariable(final String key, final Object value) {
+        if (this.isLogging()) this.append(SET_VARIABLE, key, value);
+    }
+
+    public void removeVariable(final String key) {
+        if (this.isLogging()) this.append(REMOVE_VARIABLE, key);
+    }
+
+    public void clear() {
+        if (this.isLogging()) this.append(CLEAR);
+    }
+
+    private boolean isLogging() {
+        return !this.replaying && null != this.log;
+    }
+
+    private synchronized void append(final byte operation, final Object... arguments) {
+        write(this.log, this.kryo, operation, arguments);
+        this.log.flush();
+        try {
+            if (this.syncLog)
+                this.logStream.getFD().sync();
+            if (++this.logRecords >= this.compactionThreshold) {
+                this.log.close();
+                this.logGeneration++;
+                this.startLog();
+                this.startCompaction();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write to the log of the graph in " + this.directory, e);
+        }
+    }
+
+    private void startLog() throws IOException {
+        this.logStream = new FileOutputStream(this.getLogFile(this.logGeneration), false);
+        this.log = new Output(this.logStream);
+        this.writeLogHeader();
+    }
+
+    private void writeLogHeader() {
+        this.log.writeLong(this.logGeneration);
+        this.log.flush();
+        this.logRecords = 0l;
+    }
+
+    private File getLogFile(final long logGeneration) {
+        return new File(this.directory, LOG_FILE + logGeneration);
+    }
+
+    private List<Long> getLogGenerations() {
+        final List<Long> logGenerations = new ArrayList<>();
+        final String[] names = this.directory.list();
+        if (null != names) {
+            for (final String name : names) {
+                if (name.startsWith(LOG_FILE)) {
+                    try {
+                        logGenerations.add(Long.parseLong(name.substring(LOG_FILE.length())));
+                    } catch (NumberFormatException e) {
+                        // not a log of the graph
+                    }
+                }
+            }
+        }
+        Collections.sort(logGenerations);
+        return logGenerations;
+    }
+
+    private void deleteLog(final long logGeneration) throws IOException {
+        Files.deleteIfExists(this.getLogFile(logGeneration).toPath());
+    }
+
+    private void deleteLogsBefore(final long logGeneration) throws IOException {
+        for (final long generation : this.getLogGenerations()) {
+            if (generation < logGeneration)
+                this.deleteLog(generation);
+        }
+    }
+
+    ///////////////////
+
+    /**
+     * Compact the logs before the current one in the background unless a compaction is already running, in which case
+     * those logs are left to the next one.
+     */
+    private void startCompaction() {
+        if (null != this.compaction && this.compaction.isAlive())
+            return;
+        final long base = this.generation;
+        final long target = this.logGeneration;
+        this.compaction = new Thread(() -> this.compactLogs(base, target), "tinkergraph-compaction");
+        this.compaction.setDaemon(true);
+        this.compaction.start();
+    }
+
+    /**
+     * Write a snapshot of the given generation from the snapshot of the base generation and the logs from the base
+     * generation up to the given one.  The snapshot is discarded if {@link #compact()} wrote a newer one in the
+     * meantime.
+     */
+    private void compactLogs(final long base, final long target) {
+        final File temporary = new File(this.directory, SNAPSHOT_FILE + "." + target + ".tmp");
+        try {
+            final BaseConfiguration configuration = new BaseConfiguration();
+            configuration.copy(this.graph.configuration());
+            configuration.clearProperty(TinkerGraph.CONFIG_DIRECTORY);
+            final TinkerGraph scratch = TinkerGraph.open(configuration);
+            final Kryo kryo = GremlinKryo.build().create().createKryo();
+            final Loader loader = new Loader(scratch, kryo);
+            if (base > 0l && loader.loadSnapshot(this.snapshotFile) != base)
+                return;
+            for (long logGeneration = base; logGeneration < target; logGeneration++) {
+                loader.replayLog(this.getLogFile(logGeneration));
+            }
+            writeSnapshot(scratch, kryo, temporary, target);
+            synchronized (this) {
+                if (target > this.generation) {
+                    Files.move(temporary.toPath(), this.snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    this.generation = target;
+                    this.deleteLogsBefore(target);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // the logs are kept, so they are compacted by the next compaction
+        } finally {
+            temporary.delete();
+        }
+    }
+
+    private static void writeSnapshot(final TinkerGraph graph, final Kryo kryo, final File file, final long generation) throws IOException {
+        try (final FileOutputStream stream = new FileOutputStream(file)) {
+            final Output output = new Output(stream);
+            output.writeByte(VERSION);
+            output.writeLong(generation);
+            writeGraph(graph, kryo, output);
+            output.flush();
+            stream.getFD().sync();
+        }
+    }
+
+    private static void writeGraph(final TinkerGraph graph, final Kryo kryo, final Output output) {
+        for (final Vertex vertex : graph.vertices.values()) {
+            write(output, kryo, ADD_VERTEX, vertex.id(), vertex.label());
+            for (final List<Property> properties : ((TinkerVertex) vertex).properties.values()) {
+                for (final Property property : properties) {
+                    final TinkerVertexProperty<?> vertexProperty = (TinkerVertexProperty<?>) property;
+                    write(output, kryo, ADD_VERTEX_PROPERTY, vertex.id(), vertexProperty.id(), vertexProperty.key, vertexProperty.value());
+                    for (final Map.Entry<String, List<Property>> meta : vertexProperty.properties.entrySet()) {
+                        write(output, kryo, SET_META_PROPERTY, vertex.id(), vertexProperty.id(), vertexProperty.key, meta.getKey(), meta.getValue().get(0).value());
+                    }
+                }
+            }
+        }
+        for (final Edge edge : graph.edges.values()) {
+            final TinkerEdge tinkerEdge = (TinkerEdge) edge;
+            write(output, kryo, ADD_EDGE, edge.id(), edge.label(), tinkerEdge.outVertex.id(), tinkerEdge.inVertex.id());
+            for (final Map.Entry<String, List<Property>> property : tinkerEdge.properties.entrySet()) {
+                write(output, kryo, SET_EDGE_PROPERTY, edge.id(), property.getKey(), property.getValue().get(0).value());
+            }
+        }
+        for (final String key : graph.variables.keys()) {
+            write(output, kryo, SET_VARIABLE, key, graph.variables.get(key).get());
+        }
+    }
+
+    private static void write(final Output output, final Kryo kryo, final byte operation, final Object... arguments) {
+        output.writeByte(operation);
+        for (final Object argument : arguments) {
+            kryo.writeClassAndObject(output, argument);
+        }
+    }
+
+    ///////////////////
+
+    /**
+     * Reads snapshots and logs into a graph.  A snapshot only adds elements, so it is loaded straight into the element
+     * maps without going through the indices, which do not exist yet when a graph is opened.  The records of a log are
+     * replayed through the structure API as they may mutate or remove anything.
+     */
+    private static final class Loader {
+
+        private final TinkerGraph graph;
+        private final Kryo kryo;
+        private long records = 0l;
+
+        private Loader(final TinkerGraph graph, final Kryo kryo) {
+            this.graph = graph;
+            this.kryo = kryo;
+        }
+
+        /**
+         * Load the snapshot into the graph.
+         *
+         * @return the generation of the snapshot
+         */
+        private long loadSnapshot(final File snapshotFile) throws IOException {
+            try (final RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+                final FileChannel channel = file.getChannel();
+                final Input input;
+                if (channel.size() <= Integer.MAX_VALUE) {
+                    // kryo decodes ascii strings in place so the mapping is copy-on-write rather than read-only
+                    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+                    input = new ByteBufferInput(buffer);
+                } else {
+                    input = new Input(Channels.newInputStream(channel));
+                }
+                if (input.readByte() != VERSION)
+                    throw new IllegalStateException("The snapshot was written by an unsupported version: " + snapshotFile);
+                final long snapshotGeneration = input.readLong();
+                while (!input.eof()) {
+                    this.load(input);
+                }
+                return snapshotGeneration;
+            }
+        }
+
+        /**
+         * Replay the records of the log that are complete.
+         *
+         * @return the length of the log up to its last complete record
+         */
+        private long replayLog(final File logFile) throws IOException {
+            try (final Input input = new Input(new FileInputStream(logFile))) {
+                if (input.eof())
+                    return 0l;
+                input.readLong();
+                long validLength = input.total();
+                try {
+                    while (!input.eof()) {
+                        this.replay(input);
+                        validLength = input.total();
+                        this.records++;
+                    }
+                } catch (KryoException e) {
+                    // the record was not completely written before the process stopped
+                }
+                return validLength;
+            }
+        }
+
+        private void load(final Input input) {
+            final byte operation = input.readByte();
+            switch (operation) {
+                case ADD_VERTEX: {
+                    final TinkerVertex vertex = new TinkerVertex(this.read(input), this.read(input), this.graph);
+                    this.graph.idAllocator.observe(vertex.id());
+                    this.graph.vertices.put(vertex.id(), vertex);
+                    break;
+                }
+                case ADD_VERTEX_PROPERTY: {
+                    final TinkerVertex vertex = (TinkerVertex) this.graph.vertices.get(this.read(input));
+                    final Object id = this.read(input);
+                    final String key = this.read(input);
+                    this.graph.idAllocator.observe(id);
+                    vertex.properties.addProperty(key, new TinkerVertexProperty<>(id, vertex, key, this.read(input)));
+                    break;
+                }
+                case SET_META_PROPERTY: {
+                    final TinkerVertexProperty<?> vertexProperty = this.getVertexProperty(input);
+                    final String key = this.read(input);
+                    vertexProperty.properties.put(key, Arrays.asList(new TinkerProperty<>(vertexProperty, key, this.read(input))));
+                    break;
+                }
+                case ADD_EDGE: {
+                    final Object id = this.read(input);
+                    final String label = this.read(input);
+                    final TinkerVertex outVertex = (TinkerVertex) this.graph.vertices.get(this.read(input));
+                    final TinkerVertex inVertex = (TinkerVertex) this.graph.vertices.get(this.read(input));
+                    final TinkerEdge edge = new TinkerEdge(id, outVertex, label, inVertex, this.graph);
+                    this.graph.idAllocator.observe(id);
+                    this.graph.edges.put(id, edge);
+                    TinkerHelper.addOutEdge(outVertex, edge.label(), edge);
+                    TinkerHelper.addInEdge(inVertex, edge.label(), edge);
+                    break;
+                }
+                case SET_EDGE_PROPERTY: {
+                    final TinkerEdge edge = (TinkerEdge) this.graph.edges.get(this.read(input));
+                    final String key = this.read(input);
+                    edge.properties.put(key, Arrays.asList(new TinkerProperty<>(edge, key, this.read(input))));
+                    break;
+                }
+                case SET_VARIABLE:
+                    this.graph.variables.set(this.read(input), this.read(input));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown record in the snapshot of the graph: " + operation);
+            }
+        }
+
+        private void replay(final Input input) {
+            final byte operation = input.readByte();
+            switch (operation) {
+                case ADD_VERTEX:
+                    this.graph.addVertex(T.id, this.read(input), T.label, this.read(input));
+                    break;
+                case ADD_EDGE: {
+                    final Object id = this.read(input);
+                    final String label = this.read(input);
+                    final Vertex outVertex = this.graph.v(this.read(input));
+                    outVertex.addEdge(label, this.graph.v(this.read(input)), T.id, id);
+                    break;
+                }
+                case ADD_VERTEX_PROPERTY: {
+                    final Vertex vertex = this.graph.v(this.read(input));
+                    final Object id = this.read(input);
+                    this.graph.idAllocator.observe(id);
+                    vertex.property(this.<String>read(input), this.read(input), T.id, id);
+                    break;
+                }
+                case SET_META_PROPERTY:
+                    this.getVertexProperty(input).property(this.<String>read(input), this.read(input));
+                    break;
+                case SET_EDGE_PROPERTY:
+                    this.graph.e(this.read(input)).property(this.<String>read(input), this.read(input));
+                    break;
+                case REMOVE_VERTEX:
+                    this.graph.v(this.read(input)).remove();
+                    break;
+                case REMOVE_EDGE:
+                    this.graph.e(this.read(input)).remove();
+                    break;
+                case REMOVE_VERTEX_PROPERTY:
+                    this.getVertexProperty(input).remove();
+                    break;
+                case REMOVE_META_PROPERTY: {
+                    final TinkerVertexProperty<?> vertexProperty = this.getVertexProperty(input);
+                    final String key = this.read(input);
+                    vertexProperty.properties.get(key).get(0).remove();
+                    break;
+                }
+                case REMOVE_EDGE_PROPERTY: {
+                    final TinkerEdge edge = (TinkerEdge) this.graph.e(this.read(input));
+                    final String key = this.read(input);
+                    edge.properties.get(key).get(0).remove();
+                    break;
+                }
+                case SET_VARIABLE:
+                    this.graph.variables.set(this.read(input), this.read(input));
+                    break;
+                case REMOVE_VARIABLE:
+                    this.graph.variables.remove(this.read(input));
+                    break;
+                case CLEAR:
+                    this.graph.clear();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown record in the storage of the graph: " + operation);
+            }
+        }
+
+        private TinkerVertexProperty<?> getVertexProperty(final Input input) {
+            final TinkerVertex vertex = (TinkerVertex) this.graph.vertices.get(this.read(input));
+            final Object id = this.read(input);
+            final String key = this.read(input);
+            final List<Property> properties = null == vertex ? null : vertex.properties.get(key);
+            if (null != properties) {
+                for (final Property property : properties) {
+                    if (((VertexProperty) property).id().equals(id))
+                        return (TinkerVertexProperty<?>) property;
+                }
+            }
+            throw new IllegalStateException("The storage of the graph refers to a vertex property that does not exist: " + id);
+        }
+
+        private <V> V read(final Input input) {
+            return (V) this.kryo.readClassAndObject(input);
+        }
+    }
+}
@@ -13,10 +13,10 @@ import com.tinkerpop.gremlin.structure.util.StringFactory;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.TinkerElementTraversal;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,12 +25,16 @@ import java.util.Set;
  */
 public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterators {
 
-    protected Map<String, Set<Edge>> outEdges = new HashMap<>();
-    protected Map<String, Set<Edge>> inEdges = new HashMap<>();
+    protected Map<String, Set<Edge>> outEdges;
+    protected Map<String, Set<Edge>> inEdges;
+    protected int ordinal = -1;
+    protected int viewOrdinal = -1;
     private static final Object[] EMPTY_ARGS = new Object[0];
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
         super(id, label, graph);
+        this.outEdges = TinkerHelper.newMap(graph);
+        this.inEdges = TinkerHelper.newMap(graph);
     }
 
     @Override
@@ -57,6 +61,28 @@ public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterat
         }
     }
 
+    @Override
+    public <V> V value(final String key) throws NoSuchElementException {
+        if (TinkerHelper.inComputerMode(this.graph) && this.graph.graphView.isComputeKey(key)) {
+            if (removed) throw Element.Exceptions.elementAlreadyRemoved(Vertex.class, this.id);
+            final V value = this.graph.graphView.getValue(this, key);
+            if (null == value)
+                throw Property.Exceptions.propertyDoesNotExist(key);
+            return value;
+        } else
+            return super.value(key);
+    }
+
+    @Override
+    public <V> V value(final String key, final V orElse) {
+        if (TinkerHelper.inComputerMode(this.graph) && this.graph.graphView.isComputeKey(key)) {
+            if (removed) throw Element.Exceptions.elementAlreadyRemoved(Vertex.class, this.id);
+            final V value = this.graph.graphView.getValue(this, key);
+            return null == value ? orElse : value;
+        } else
+            return super.value(key, orElse);
+    }
+
     @Override
     public <V> VertexProperty<V> property(final String key, final V value) {
         return this.property(key, value, EMPTY_ARGS);
@@ -71,16 +97,32 @@ public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterat
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         } else {
+            if (this.graph.isFrozen()) throw Element.Exceptions.propertyAdditionNotSupported();
             ElementHelper.validateProperty(key, value);
             final VertexProperty<V> vertexProperty = optionalId.isPresent() ?
                     new TinkerVertexProperty<V>(optionalId.get(), this, key, value) :
                     new TinkerVertexProperty<V>(this, key, value);
-            final List<Property> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            this.graph.vertexIndex.autoUpdate(key, value, null, this);
+            synchronized (this.properties) {
+                this.properties.addProperty(key, vertexProperty);
+                this.graph.vertexIndex.autoUpdate(key, value, null, this);
+            }
+            if (null != this.graph.storage) this.graph.storage.addVertexProperty((TinkerVertexProperty<V>) vertexProperty);
+            ElementHelper.attachProperties(vertexProperty, keyValues);
+            return vertexProperty;
+        }
+    }
+
+    @Override
+    public <V> VertexProperty<V> singleProperty(final String key, final V value, final Object... keyValues) {
+        if (TinkerHelper.inComputerMode(this.graph) && this.graph.graphView.isComputeKey(key)) {
+            ElementHelper.legalPropertyKeyValueArray(keyValues);
+            final VertexProperty<V> vertexProperty = this.graph.graphView.setSingleProperty(this, key, value);
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
+        } else {
+            synchronized (this.properties) {
+                return Vertex.super.singleProperty(key, value, keyValues);
+            }
         }
     }
 
@@ -94,13 +136,18 @@ public class TinkerVertex extends TinkerElement implements Vertex, Vertex.Iterat
     public void remove() {
         if (this.removed)
             throw Element.Exceptions.elementAlreadyRemoved(Vertex.class, this.id);
+        if (this.graph.isFrozen())
+            throw Vertex.Exceptions.vertexRemovalNotSupported();
         final List<Edge> edges = new ArrayList<>();
         this.iterators().edgeIterator(Direction.BOTH).forEachRemaining(edges::add);
         edges.stream().filter(edge -> !((TinkerEdge)edge).removed).forEach(Edge::remove);
-        this.properties.clear();
-        this.graph.vertexIndex.removeElement(this);
+        synchronized (this.properties) {
+            this.graph.vertexIndex.removeElement(this);
+            this.properties.clear();
+        }
         this.graph.vertices.remove(this.id);
         this.removed = true;
+        if (null != this.graph.storage) this.graph.storage.removeVertex(this);
     }
 
     @Override
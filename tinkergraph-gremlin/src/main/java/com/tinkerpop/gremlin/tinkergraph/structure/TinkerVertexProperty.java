@@ -1,6 +1,7 @@
 package com.tinkerpop.gremlin.tinkergraph.structure;
 
 import com.tinkerpop.gremlin.process.graph.GraphTraversal;
+import com.tinkerpop.gremlin.structure.Element;
 import com.tinkerpop.gremlin.structure.Graph;
 import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
@@ -18,14 +19,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class TinkerVertexProperty<V> extends TinkerElement implements VertexProperty<V>, VertexProperty.Iterators {
 
-    private final TinkerVertex vertex;
-    private final String key;
+    protected final TinkerVertex vertex;
+    protected final String key;
     private final V value;
 
     public TinkerVertexProperty(final TinkerVertex vertex, final String key, final V value, final Object... propertyKeyValues) {
         super(TinkerHelper.getNextId(vertex.graph), key, vertex.graph);
         this.vertex = vertex;
-        this.key = key;
+        this.key = this.label;
         this.value = value;
         ElementHelper.legalPropertyKeyValueArray(propertyKeyValues);
         ElementHelper.attachProperties(this, propertyKeyValues);
@@ -34,7 +35,7 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     public TinkerVertexProperty(final Object id, final TinkerVertex vertex, final String key, final V value, final Object... propertyKeyValues) {
         super(id, key, vertex.graph);
         this.vertex = vertex;
-        this.key = key;
+        this.key = this.label;
         this.value = value;
         ElementHelper.legalPropertyKeyValueArray(propertyKeyValues);
         ElementHelper.attachProperties(this, propertyKeyValues);
@@ -87,8 +88,12 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public <U> Property<U> property(final String key, final U value) {
+        if (this.graph.isFrozen() && !TinkerHelper.inComputerMode(this.graph))
+            throw Element.Exceptions.propertyAdditionNotSupported();
         final Property<U> property = new TinkerProperty<U>(this, key, value);
         this.properties.put(key, Arrays.asList(property));
+        if (null != this.graph.storage && !TinkerHelper.inComputerMode(this.graph))
+            this.graph.storage.setMetaProperty(this, key, value);
         return property;
     }
 
@@ -99,20 +104,23 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
+        if (this.graph.isFrozen())
+            throw Element.Exceptions.propertyRemovalNotSupported();
         if (this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
-                this.graph.vertexIndex.remove(this.key, this.value, this.vertex);
+            synchronized (this.vertex.properties) {
+                if (this.vertex.properties.removeProperty(this.key, this) == 0) {
+                    this.graph.vertexIndex.remove(this.key, this.value, this.vertex);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.propertyIterator(this.key).forEachRemaining(property -> {
+                    if (property.value().equals(this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) this.graph.vertexIndex.remove(this.key, this.value, this.vertex);
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.propertyIterator(this.key).forEachRemaining(property -> {
-                if (property.value().equals(this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) this.graph.vertexIndex.remove(this.key, this.value, this.vertex);
             this.properties.clear();
             this.removed = true;
+            if (null != this.graph.storage) this.graph.storage.removeVertexProperty(this);
         }
     }
 
@@ -6,6 +6,8 @@ import com.tinkerpop.gremlin.process.graph.GraphTraversal;
 import com.tinkerpop.gremlin.process.graph.step.sideEffect.GraphStep;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.GraphConcurrencyPerformanceTest;
+import com.tinkerpop.gremlin.structure.GraphTest;
 import com.tinkerpop.gremlin.structure.Vertex;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.TinkerElementTraversal;
 import com.tinkerpop.gremlin.tinkergraph.process.graph.TinkerGraphTraversal;
@@ -15,6 +17,7 @@ import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import com.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.commons.configuration.Configuration;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,6 +30,10 @@ public class TinkerGraphGraphProvider extends AbstractGraphProvider {
     public Map<String, Object> getBaseConfiguration(final String graphName, final Class<?> test, final String testMethodName) {
         return new HashMap<String, Object>() {{
             put(Graph.GRAPH, TinkerGraph.class.getName());
+            if (test.equals(GraphConcurrencyPerformanceTest.class))
+                put(TinkerGraph.CONFIG_CONCURRENT, true);
+            if (test.equals(GraphTest.class) && testMethodName.equals("shouldPersistDataOnClose"))
+                put(TinkerGraph.CONFIG_DIRECTORY, new File(getWorkingDirectory(), graphName + "-" + testMethodName).getAbsolutePath());
         }};
     }
 
@@ -34,5 +41,7 @@ public class TinkerGraphGraphProvider extends AbstractGraphProvider {
     public void clear(final Graph g, final Configuration configuration) throws Exception {
         if (g != null)
             g.close();
+        if (null != configuration && configuration.containsKey(TinkerGraph.CONFIG_DIRECTORY))
+            deleteDirectory(new File(configuration.getString(TinkerGraph.CONFIG_DIRECTORY)));
     }
 }
@@ -0,0 +1,16 @@
+package com.tinkerpop.gremlin.tinkergraph.process;
+
+import com.tinkerpop.gremlin.process.ProcessPerformanceSuite;
+import com.tinkerpop.gremlin.tinkergraph.TinkerGraphGraphProvider;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.runner.RunWith;
+
+/**
+ * Executes the Gremlin Process Performance Test Suite using TinkerGraph.
+ *
+ * @author Stephen Mallette (http://stephen.genoprime.com)
+ */
+@RunWith(ProcessPerformanceSuite.class)
+@ProcessPerformanceSuite.GraphProviderClass(provider = TinkerGraphGraphProvider.class, graph = TinkerGraph.class)
+public class TinkerGraphProcessPerformanceTest {
+}
@@ -0,0 +1,615 @@
+package com.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import com.esotericsoftware.kryo.DefaultSerializer;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.tinkerpop.gremlin.process.T;
+import com.tinkerpop.gremlin.process.Traversal;
+import com.tinkerpop.gremlin.process.computer.ComputerResult;
+import com.tinkerpop.gremlin.process.computer.GraphComputer;
+import com.tinkerpop.gremlin.process.computer.MapReduce;
+import com.tinkerpop.gremlin.process.computer.Memory;
+import com.tinkerpop.gremlin.process.computer.MessageCombiner;
+import com.tinkerpop.gremlin.process.computer.MessageType;
+import com.tinkerpop.gremlin.process.computer.Messenger;
+import com.tinkerpop.gremlin.process.computer.VertexProgram;
+import com.tinkerpop.gremlin.process.computer.lambda.LambdaMapReduce;
+import com.tinkerpop.gremlin.process.computer.lambda.LambdaVertexProgram;
+import com.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import com.tinkerpop.gremlin.process.graph.GraphTraversal;
+import com.tinkerpop.gremlin.structure.Direction;
+import com.tinkerpop.gremlin.structure.Edge;
+import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import com.tinkerpop.gremlin.util.StreamFactory;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinkerGraphComputerTest {
+
+    private static String tempPath;
+
+    static {
+        final String temp = System.getProperty("java.io.tmpdir", File.separator + "tmp").trim();
+        if (!temp.endsWith(File.separator))
+            tempPath = temp + File.separator;
+        else
+            tempPath = temp;
+
+        tempPath = tempPath + "tinkerpop-computer/";
+    }
+
+    @Test
+    public void shouldExecuteSuperstepsWithMultipleWorkers() throws Exception {
+        final Map<Object, Double> single = pageRanks(1);
+        final Map<Object, Double> multiple = pageRanks(4);
+        assertEquals(single.keySet(), multiple.keySet());
+        single.forEach((id, rank) -> assertEquals(rank, multiple.get(id), 0.000001d));
+    }
+
+    private static Map<Object, Double> pageRanks(final int workers) throws Exception {
+        return pageRanks(workers, GraphComputer.Isolation.BSP, 30);
+    }
+
+    private static Map<Object, Double> pageRanks(final int workers, final GraphComputer.Isolation isolation, final int iterations) throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(g.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 100; i++) {
+            vertices.get(i).addEdge("link", vertices.get((i * 7 + 3) % 100));
+            vertices.get(i).addEdge("link", vertices.get((i * 13 + 1) % 100));
+        }
+        final Graph result = ((TinkerGraphComputer) g.compute()).workers(workers).isolation(isolation)
+                .program(PageRankVertexProgram.build().iterations(iterations).create()).submit().get().graph();
+        final Map<Object, Double> ranks = new HashMap<>();
+        result.V().forEachRemaining(v -> ranks.put(v.id(), v.value(PageRankVertexProgram.PAGE_RANK)));
+        return ranks;
+    }
+
+    @Test
+    public void shouldCombineMessagesSentToTheSameVertex() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex hub = g.addVertex(T.id, 0);
+        for (int i = 1; i <= 50; i++) {
+            g.addVertex(T.id, i);
+        }
+        final Graph result = g.compute().program(new SumToHubVertexProgram()).submit().get().graph();
+        assertEquals(1, result.v(hub.id()).<Integer>value(SumToHubVertexProgram.MESSAGES).intValue());
+        assertEquals(1275l, result.v(hub.id()).<Long>value(SumToHubVertexProgram.TOTAL).longValue());
+    }
+
+    public static class SumToHubVertexProgram implements VertexProgram<Long> {
+
+        public static final String MESSAGES = Graph.Key.hide("messages");
+        public static final String TOTAL = Graph.Key.hide("total");
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Long> messenger, final Memory memory) {
+            if (memory.isInitialIteration()) {
+                messenger.sendMessage(MessageType.Global.of(vertex.graph().v(0)), ((Number) vertex.id()).longValue());
+            } else if (vertex.id().equals(0)) {
+                final List<Long> messages = new ArrayList<>();
+                messenger.receiveMessages(MessageType.Global.of(vertex)).forEach(messages::add);
+                vertex.singleProperty(MESSAGES, messages.size());
+                vertex.singleProperty(TOTAL, messages.stream().mapToLong(Long::longValue).sum());
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 1;
+        }
+
+        @Override
+        public Set<String> getElementComputeKeys() {
+            return new HashSet<>(Arrays.asList(MESSAGES, TOTAL));
+        }
+
+        @Override
+        public Optional<MessageCombiner<Long>> getMessageCombiner() {
+            return Optional.of((a, b) -> a + b);
+        }
+    }
+
+    @Test
+    public void shouldStoreSingleAndMultiComputeKeys() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 10; i++) {
+            g.addVertex(T.id, i, "name", "v" + i);
+        }
+        final Graph result = g.compute().program(new TaggingVertexProgram()).submit().get().graph();
+        result.V().forEachRemaining(v -> {
+            final int id = (Integer) v.id();
+            assertEquals("v" + id, v.value("name"));
+            assertEquals(id * 2, v.<Integer>value(TaggingVertexProgram.COUNT).intValue());
+            final List<Object> tags = new ArrayList<>();
+            v.properties(TaggingVertexProgram.TAGS).forEachRemaining(p -> tags.add(p.value()));
+            assertEquals(Arrays.asList("b", "c"), tags);
+            assertEquals(4, StreamFactory.stream(v.iterators().propertyIterator()).count());
+        });
+    }
+
+    public static class TaggingVertexProgram implements VertexProgram<Object> {
+
+        public static final String COUNT = "count";
+        public static final String TAGS = "tags";
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Object> messenger, final Memory memory) {
+            if (memory.isInitialIteration()) {
+                vertex.singleProperty(COUNT, (Integer) vertex.id());
+                vertex.property(TAGS, "a");
+                vertex.property(TAGS, "b");
+                vertex.property(TAGS, "c");
+            } else {
+                vertex.singleProperty(COUNT, vertex.<Integer>value(COUNT) * 2);
+                vertex.properties(TAGS).forEachRemaining(p -> {
+                    if (p.value().equals("a"))
+                        p.remove();
+                });
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 1;
+        }
+
+        @Override
+        public Set<String> getElementComputeKeys() {
+            return new HashSet<>(Arrays.asList(COUNT, TAGS));
+        }
+    }
+
+    @Test
+    public void shouldDeliverLocalMessagesOverIncidentEdges() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            vertices.add(g.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 20; i++) {
+            vertices.get(i).addEdge("knows", vertices.get((i * 3 + 1) % 20), "weight", 2);
+            vertices.get(i).addEdge("knows", vertices.get((i * 7 + 5) % 20));
+            vertices.get(i).addEdge("likes", vertices.get((i + 1) % 20), "weight", 3);
+        }
+        assertLocalMessageTotals(g, new OutKnowsVertexProgram(), Direction.OUT, false);
+        assertLocalMessageTotals(g, new BothKnowsVertexProgram(), Direction.BOTH, false);
+        assertLocalMessageTotals(g, new WeightedKnowsVertexProgram(), Direction.OUT, true);
+    }
+
+    private static void assertLocalMessageTotals(final TinkerGraph g, final LocalSumVertexProgram program, final Direction direction, final boolean weighted) throws Exception {
+        final Map<Object, Long> expected = new HashMap<>();
+        g.V().forEachRemaining(v -> expected.put(v.id(), 0l));
+        g.E().has(T.label, "knows").forEachRemaining(e -> {
+            if (weighted && !e.property("weight").isPresent())
+                return;
+            final Vertex out = ((Edge) e).iterators().vertexIterator(Direction.OUT).next();
+            final Vertex in = ((Edge) e).iterators().vertexIterator(Direction.IN).next();
+            final long weight = e.<Integer>property("weight").orElse(1);
+            expected.put(in.id(), expected.get(in.id()) + ((Integer) out.id()) * weight);
+            if (direction.equals(Direction.BOTH))
+                expected.put(out.id(), expected.get(out.id()) + ((Integer) in.id()) * weight);
+        });
+        final Graph result = g.compute().program(program).submit().get().graph();
+        result.V().forEachRemaining(v -> assertEquals(expected.get(v.id()), v.<Long>value(LocalSumVertexProgram.TOTAL)));
+    }
+
+    public static abstract class LocalSumVertexProgram implements VertexProgram<Long> {
+
+        public static final String TOTAL = Graph.Key.hide("total");
+
+        private final MessageType.Local<Long, Long> messageType;
+
+        protected LocalSumVertexProgram(final Supplier<? extends Traversal<Vertex, Edge>> incidentTraversal) {
+            this.messageType = MessageType.Local.of(incidentTraversal, (final Long m, final Edge e) -> m * e.<Integer>property("weight").orElse(1));
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Long> messenger, final Memory memory) {
+            if (memory.isInitialIteration()) {
+                messenger.sendMessage(this.messageType, ((Integer) vertex.id()).longValue());
+            } else {
+                long total = 0l;
+                for (final Long message : messenger.receiveMessages(this.messageType)) {
+                    total = total + message;
+                }
+                vertex.singleProperty(TOTAL, total);
+            }
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 1;
+        }
+
+        @Override
+        public Set<String> getElementComputeKeys() {
+            return Collections.singleton(TOTAL);
+        }
+    }
+
+    public static class OutKnowsVertexProgram extends LocalSumVertexProgram {
+        public OutKnowsVertexProgram() {
+            super(() -> GraphTraversal.<Vertex>of().outE("knows"));
+        }
+    }
+
+    public static class BothKnowsVertexProgram extends LocalSumVertexProgram {
+        public BothKnowsVertexProgram() {
+            super(() -> GraphTraversal.<Vertex>of().bothE("knows"));
+        }
+    }
+
+    public static class WeightedKnowsVertexProgram extends LocalSumVertexProgram {
+        public WeightedKnowsVertexProgram() {
+            super(() -> GraphTraversal.<Vertex>of().outE("knows").has("weight"));
+        }
+    }
+
+    @Test
+    public void shouldNotLoseMemoryUpdatesWithMultipleWorkers() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex(T.id, i);
+        }
+        final Memory memory = ((TinkerGraphComputer) g.compute()).workers(8).program(LambdaVertexProgram.build().
+                execute((vertex, messenger, m) -> {
+                    m.incr("count", 1l);
+                    m.incr("sum", ((Integer) vertex.id()).longValue());
+                    m.and("all", (Integer) vertex.id() < 999);
+                    m.or("any", vertex.id().equals(500));
+                    m.or("none", false);
+                }).
+                terminate(m -> m.getIteration() >= 2).
+                memoryComputeKeys("count", "sum", "all", "any", "none").create()).submit().get().memory();
+        assertEquals(3000l, memory.<Long>get("count").longValue());
+        assertEquals(3l * 999 * 1000 / 2, memory.<Long>get("sum").longValue());
+        assertEquals(false, memory.get("all"));
+        assertEquals(true, memory.get("any"));
+        assertEquals(false, memory.get("none"));
+    }
+
+    @Test
+    public void shouldOnlyExecuteVerticesThatReceivedMessages() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        Vertex previous = g.addVertex(T.id, 0);
+        for (int i = 1; i < 100; i++) {
+            final Vertex next = g.addVertex(T.id, i);
+            previous.addEdge("next", next);
+            previous = next;
+        }
+        final Graph result = ((TinkerGraphComputer) g.compute()).workers(4).program(new ChainVertexProgram()).submit().get().graph();
+        assertEquals(100 + 10, result.V().has(ChainVertexProgram.EXECUTIONS).toList().stream().mapToInt(v -> v.<Integer>value(ChainVertexProgram.EXECUTIONS)).sum());
+        for (int i = 0; i <= 10; i++) {
+            assertEquals(i == 0 ? 1 : 2, result.v(i).<Integer>value(ChainVertexProgram.EXECUTIONS).intValue());
+        }
+        assertEquals(1, result.v(50).<Integer>value(ChainVertexProgram.EXECUTIONS).intValue());
+    }
+
+    public static class ChainVertexProgram implements VertexProgram<Integer> {
+
+        public static final String EXECUTIONS = Graph.Key.hide("executions");
+
+        private final MessageType.Local<Integer, Integer> messageType = MessageType.Local.of(() -> GraphTraversal.<Vertex>of().outE("next"));
+
+        @Override
+        public void setup(final Memory memory) {
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<Integer> messenger, final Memory memory) {
+            vertex.singleProperty(EXECUTIONS, vertex.<Integer>property(EXECUTIONS).orElse(0) + 1);
+            if (memory.isInitialIteration() ? vertex.id().equals(0) : messenger.receiveMessages(this.messageType).iterator().hasNext())
+                messenger.sendMessage(this.messageType, 1);
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return memory.getIteration() >= 10;
+        }
+
+        @Override
+        public Set<String> getElementComputeKeys() {
+            return Collections.singleton(EXECUTIONS);
+        }
+
+        @Override
+        public Features getFeatures() {
+            return new Features() {
+                @Override
+                public boolean isActiveOnlyOnMessages() {
+                    return true;
+                }
+            };
+        }
+    }
+
+    @Test
+    public void shouldSeeMemoryUpdatesWithinSuperstepWithDirtyIsolation() throws Exception {
+        for (final GraphComputer.Isolation isolation : GraphComputer.Isolation.values()) {
+            final TinkerGraph g = TinkerGraph.open();
+            for (int i = 0; i < 100; i++) {
+                g.addVertex(T.id, i);
+            }
+            final Graph result = ((TinkerGraphComputer) g.compute()).workers(4).isolation(isolation).program(LambdaVertexProgram.build().
+                    execute((vertex, messenger, memory) -> vertex.singleProperty("count", memory.incr("count", 1l))).
+                    terminate(memory -> true).
+                    elementComputeKeys("count").
+                    memoryComputeKeys("count").create()).submit().get().graph();
+            final Set<Long> counts = new HashSet<>();
+            result.V().forEachRemaining(v -> counts.add(v.value("count")));
+            assertEquals(isolation.equals(GraphComputer.Isolation.BSP) ? 1 : 100, counts.size());
+        }
+    }
+
+    @Test
+    public void shouldReceiveEachGlobalMessageOnceWithDirtyIsolation() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 200; i++) {
+            g.addVertex(T.id, i);
+        }
+        final Graph result = ((TinkerGraphComputer) g.compute()).workers(4).isolation(GraphComputer.Isolation.DIRTY_BSP).program(LambdaVertexProgram.build().
+                execute((vertex, messenger, memory) -> {
+                    if (memory.getIteration() < 2)
+                        messenger.sendMessage(MessageType.Global.of(vertex.graph().v(0)), 1l);
+                    long total = vertex.<Long>property("total").orElse(0l);
+                    for (final Object message : messenger.receiveMessages(MessageType.Global.of(vertex))) {
+                        total = total + (Long) message;
+                    }
+                    vertex.singleProperty("total", total);
+                }).
+                terminate(memory -> memory.getIteration() >= 3).
+                elementComputeKeys("total").create()).submit().get().graph();
+        assertEquals(400l, result.v(0).<Long>value("total").longValue());
+    }
+
+    @Test
+    public void shouldConvergePageRankWithDirtyIsolation() throws Exception {
+        final Map<Object, Double> bsp = pageRanks(1, GraphComputer.Isolation.BSP, 50);
+        final Map<Object, Double> dirty = pageRanks(4, GraphComputer.Isolation.DIRTY_BSP, 50);
+        assertEquals(bsp.keySet(), dirty.keySet());
+        bsp.forEach((id, rank) -> assertEquals(rank, dirty.get(id), 0.0001d));
+    }
+
+    @Test
+    public void shouldSpillMapReducePairsBeyondTheSpillThreshold() throws Exception {
+        final Memory inMemory = mapReduce(1000000l);
+        final Memory spilled = mapReduce(1l);
+        assertEquals(100, inMemory.<Map<Object, Long>>get("inDegree").size());
+        assertEquals(200l, inMemory.<Map<Object, Long>>get("inDegree").values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(inMemory.<Map<Object, Long>>get("inDegree"), spilled.<Map<Object, Long>>get("inDegree"));
+        assertEquals(200, inMemory.<List<Integer>>get("sortedIds").size());
+        assertEquals(inMemory.<List<Integer>>get("sortedIds"), spilled.<List<Integer>>get("sortedIds"));
+        assertEquals(10, inMemory.<List<List<Integer>>>get("groups").size());
+        assertEquals(inMemory.<List<List<Integer>>>get("groups"), spilled.<List<List<Integer>>>get("groups"));
+    }
+
+    @Test
+    public void shouldKeepPairsThatCanNotBeSpilledInMemory() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex(T.id, i);
+        }
+        final List<Integer> ids = ((TinkerGraphComputer) g.compute()).spillThreshold(1l)
+                .mapReduce(LambdaMapReduce.<Integer, Object, Integer, Object, List<Integer>>build()
+                        .map((vertex, emitter) -> emitter.emit((Integer) vertex.id(), 0 == (Integer) vertex.id() % 10 ? new Unserializable() : vertex.id()))
+                        .mapKeySort(() -> Comparator.naturalOrder())
+                        .memory(keyValues -> {
+                            final List<Integer> list = new ArrayList<>();
+                            keyValues.forEachRemaining(pair -> {
+                                assertEquals(0 == pair.getValue0() % 10, pair.getValue1() instanceof Unserializable);
+                                list.add(pair.getValue0());
+                            });
+                            return list;
+                        })
+                        .memoryKey("ids").create()).submit().get().memory().get("ids");
+        assertEquals(100, ids.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), ids.get(i));
+        }
+    }
+
+    @DefaultSerializer(Unserializable.UnserializableSerializer.class)
+    public static class Unserializable {
+
+        public static class UnserializableSerializer extends Serializer<Unserializable> {
+            @Override
+            public void write(final Kryo kryo, final Output output, final Unserializable unserializable) {
+                throw new UnsupportedOperationException("The value can not be serialized");
+            }
+
+            @Override
+            public Unserializable read(final Kryo kryo, final Input input, final Class<Unserializable> unserializableClass) {
+                throw new UnsupportedOperationException("The value can not be serialized");
+            }
+        }
+    }
+
+    private static Memory mapReduce(final long spillThreshold) throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(g.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 100; i++) {
+            vertices.get(i).addEdge("link", vertices.get((i * 7 + 3) % 100));
+            vertices.get(i).addEdge("link", vertices.get((i * 13 + 1) % 100));
+        }
+        return ((TinkerGraphComputer) g.compute()).spillThreshold(spillThreshold)
+                .mapReduce(LambdaMapReduce.<Vertex, Long, Vertex, Long, Map<Object, Long>>build()
+                        .map((vertex, emitter) -> vertex.out().forEachRemaining(v -> emitter.emit(v, 1l)))
+                        .combine((vertex, counts, emitter) -> emitter.emit(vertex, StreamFactory.stream(counts).mapToLong(Long::longValue).sum()))
+                        .reduce((vertex, counts, emitter) -> emitter.emit(vertex, StreamFactory.stream(counts).mapToLong(Long::longValue).sum()))
+                        .memory(keyValues -> {
+                            final Map<Object, Long> map = new HashMap<>();
+                            keyValues.forEachRemaining(pair -> map.put(pair.getValue0().id(), pair.getValue1()));
+                            return map;
+                        })
+                        .memoryKey("inDegree").create())
+                .mapReduce(LambdaMapReduce.<Integer, Vertex, Integer, Vertex, List<Integer>>build()
+                        .map((vertex, emitter) -> vertex.out().forEachRemaining(v -> emitter.emit((Integer) v.id(), v)))
+                        .mapKeySort(() -> Comparator.reverseOrder())
+                        .memory(keyValues -> {
+                            final List<Integer> list = new ArrayList<>();
+                            keyValues.forEachRemaining(pair -> list.add((Integer) pair.getValue1().id()));
+                            return list;
+                        })
+                        .memoryKey("sortedIds").create())
+                .mapReduce(LambdaMapReduce.<Integer, Integer, Integer, List<Integer>, List<List<Integer>>>build()
+                        .map((vertex, emitter) -> emitter.emit((Integer) vertex.id() % 10, (Integer) vertex.id()))
+                        .reduce((key, ids, emitter) -> {
+                            final List<Integer> list = new ArrayList<>();
+                            ids.forEachRemaining(list::add);
+                            Collections.sort(list);
+                            emitter.emit(key, list);
+                        })
+                        .reduceKeySort(() -> Comparator.naturalOrder())
+                        .memory(keyValues -> {
+                            final List<List<Integer>> list = new ArrayList<>();
+                            keyValues.forEachRemaining(pair -> list.add(pair.getValue1()));
+                            return list;
+                        })
+                        .memoryKey("groups").create())
+                .submit().get().memory();
+    }
+
+    @Test
+    public void shouldCombineMapPairsBeforeReduce() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        for (int i = 0; i < 100; i++) {
+            g.addVertex(T.id, i);
+        }
+        final Map<Integer, List<Long>> counts = g.compute().mapReduce(LambdaMapReduce.<Integer, Long, Integer, List<Long>, Map<Integer, List<Long>>>build()
+                .map((vertex, emitter) -> {
+                    for (int i = 0; i < 100; i++) {
+                        emitter.emit(((Integer) vertex.id() * 100 + i) % 3, 1l);
+                    }
+                })
+                .combine((key, values, emitter) -> ((MapReduce.ReduceEmitter) emitter).emit(key, StreamFactory.stream(values).mapToLong(Long::longValue).sum()))
+                .reduce((key, values, emitter) -> {
+                    long sum = 0l;
+                    long size = 0l;
+                    while (values.hasNext()) {
+                        sum = sum + values.next();
+                        size++;
+                    }
+                    emitter.emit(key, Arrays.asList(sum, size));
+                })
+                .memory(keyValues -> {
+                    final Map<Integer, List<Long>> map = new HashMap<>();
+                    keyValues.forEachRemaining(pair -> map.put(pair.getValue0(), pair.getValue1()));
+                    return map;
+                })
+                .memoryKey("counts").create()).submit().get().memory().get("counts");
+        assertEquals(3, counts.size());
+        assertEquals(Long.valueOf(3334l), counts.get(0).get(0));
+        assertEquals(Long.valueOf(3333l), counts.get(1).get(0));
+        assertEquals(Long.valueOf(3333l), counts.get(2).get(0));
+        // each thread that emitted hands the reduce stage one combined value per key
+        counts.values().forEach(sumAndSize -> assertTrue(sumAndSize.get(1) <= Runtime.getRuntime().availableProcessors() + 1));
+    }
+
+    @Test
+    public void shouldResumeFromTheLatestCheckpoint() throws Exception {
+        final File directory = new File(tempPath, "checkpoints");
+        FileUtils.deleteDirectory(directory);
+        final TinkerGraph g = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(g.addVertex(T.id, i));
+        }
+        for (int i = 0; i < 100; i++) {
+            vertices.get(i).addEdge("link", vertices.get((i * 7 + 3) % 100));
+            vertices.get(i).addEdge("link", vertices.get((i * 13 + 1) % 100));
+        }
+        final Map<Object, Long> expected = checkpointedSums(g, null, -1, new AtomicInteger());
+        try {
+            // fails in the superstep after the checkpoint of iteration 6
+            checkpointedSums(g, directory, 7, new AtomicInteger());
+            fail("The computation should have failed");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(1, directory.list().length);
+        // the checkpoint is not restored once the graph has changed
+        final Edge edge = vertices.get(0).addEdge("link", vertices.get(1));
+        try {
+            checkpointedSums(g, directory, -1, new AtomicInteger());
+            fail("The checkpoint should not have been restored");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        edge.remove();
+        assertEquals(1, directory.list().length);
+        final AtomicInteger firstIteration = new AtomicInteger(Integer.MAX_VALUE);
+        assertEquals(expected, checkpointedSums(g, directory, -1, firstIteration));
+        assertEquals(6, firstIteration.get());
+        assertEquals(0, directory.list().length);
+    }
+
+    private static Map<Object, Long> checkpointedSums(final TinkerGraph g, final File directory, final int failingIteration, final AtomicInteger firstIteration) throws Exception {
+        final TinkerGraphComputer computer = ((TinkerGraphComputer) g.compute()).workers(2);
+        if (null != directory)
+            computer.checkpoint(directory.getAbsolutePath(), 3);
+        final ComputerResult result = computer.program(LambdaVertexProgram.build().
+                execute((vertex, messenger, memory) -> {
+                    if (memory.getIteration() == failingIteration)
+                        throw new IllegalStateException("The vertex program failed at iteration " + failingIteration);
+                    firstIteration.accumulateAndGet(memory.getIteration(), Math::min);
+                    long sum = vertex.<Long>property("sum").orElse(((Integer) vertex.id()).longValue());
+                    for (final Object message : messenger.receiveMessages(MessageType.Global.of(vertex))) {
+                        sum = (sum + (Long) message) % 1000003l;
+                    }
+                    vertex.singleProperty("sum", sum);
+                    memory.incr("total", sum);
+                    messenger.sendMessage(MessageType.Global.of(vertex.out().toList()), sum);
+                }).
+                terminate(memory -> memory.getIteration() >= 10).
+                memoryComputeKeys("total").
+                elementComputeKeys("sum").create()).submit().get();
+        final Map<Object, Long> sums = new HashMap<>();
+        result.graph().V().forEachRemaining(v -> sums.put(v.id(), v.value("sum")));
+        sums.put("total", result.memory().get("total"));
+        return sums;
+    }
+}
@@ -3,17 +3,21 @@ package com.tinkerpop.gremlin.tinkergraph.structure;
 import com.tinkerpop.gremlin.AbstractGremlinTest;
 import com.tinkerpop.gremlin.process.T;
 import com.tinkerpop.gremlin.process.Traversal;
-import com.tinkerpop.gremlin.process.TraversalEngine;
+import com.tinkerpop.gremlin.structure.Compare;
 import com.tinkerpop.gremlin.structure.Direction;
 import com.tinkerpop.gremlin.structure.Edge;
 import com.tinkerpop.gremlin.structure.Graph;
+import com.tinkerpop.gremlin.structure.Property;
 import com.tinkerpop.gremlin.structure.Vertex;
+import com.tinkerpop.gremlin.structure.VertexProperty;
 import com.tinkerpop.gremlin.structure.io.GraphReader;
 import com.tinkerpop.gremlin.structure.io.graphml.GraphMLWriter;
 import com.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoReader;
 import com.tinkerpop.gremlin.structure.io.kryo.KryoWriter;
 import com.tinkerpop.gremlin.util.StreamFactory;
+import org.apache.commons.configuration.BaseConfiguration;
+import org.apache.commons.configuration.Configuration;
 import org.apache.commons.io.FileUtils;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -24,10 +28,26 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -328,6 +348,460 @@ public class TinkerGraphTest {
         g.createIndex("", Edge.class);
     }
 
+    @Test
+    public void shouldManageIndicesOfDifferentTypes() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+
+        assertEquals(2, g.getIndexedKeys(Vertex.class).size());
+        assertEquals(Collections.singleton("name"), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.HASH));
+        assertEquals(Collections.singleton("age"), g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.SORTED));
+        assertEquals(Collections.singleton("weight"), g.getIndexedKeys(Edge.class, TinkerGraph.IndexType.SORTED));
+
+        g.dropIndex("age", Vertex.class);
+        assertEquals(0, g.getIndexedKeys(Vertex.class, TinkerGraph.IndexType.SORTED).size());
+        assertEquals(Collections.singleton("name"), g.getIndexedKeys(Vertex.class));
+    }
+
+    @Test
+    public void shouldAnswerRangeQueriesFromSortedIndex() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+        g.addVertex("name", "stephen", "age", 35l);
+
+        assertEquals(2, g.vertexIndex.getRange("age", 29, false, null, false).size());
+        assertEquals(3, g.vertexIndex.getRange("age", 29, true, null, false).size());
+        assertEquals(2, g.vertexIndex.getRange("age", null, false, 32, false).size());
+        assertEquals(1, g.vertexIndex.getRange("age", 29, true, 32, false).size());
+        assertEquals(0, g.vertexIndex.getRange("age", 32, true, 29, false).size());
+        assertEquals(1, g.vertexIndex.getRange("age", 30l, true, null, false).size());
+
+        assertEquals(Arrays.asList("josh", "peter"), g.V().has("age", Compare.gt, 30).<String>values("name").order().toList());
+        assertEquals(Arrays.asList("josh", "marko", "peter"), g.V().has("age", Compare.gte, 29).<String>values("name").order().toList());
+        assertEquals(Arrays.asList("marko", "vadas"), g.V().has("age", Compare.lte, 29).<String>values("name").order().toList());
+        assertEquals(Arrays.asList("marko", "vadas"), g.V().has("age", Compare.lt, 30).<String>values("name").order().toList());
+        assertEquals(Arrays.asList("josh", "marko"), g.V().interval("age", 28, 35).<String>values("name").order().toList());
+        assertEquals(Arrays.asList("marko"), g.V().interval("age", 28, 35).has("name", "marko").<String>values("name").toList());
+        assertEquals(3, g.E().interval("weight", 0.4d, 1.0d).count().next().intValue());
+        assertEquals(2, g.E().has("weight", Compare.gt, 0.5d).count().next().intValue());
+        assertEquals(1, g.V().has("age", 27).count().next().intValue());
+
+        g.v(1).property("age", 31);
+        assertEquals(Arrays.asList("josh", "marko", "peter"), g.V().has("age", Compare.gt, 30).<String>values("name").order().toList());
+        g.v(1).remove();
+        assertEquals(Arrays.asList("josh", "peter"), g.V().has("age", Compare.gt, 30).<String>values("name").order().toList());
+    }
+
+    @Test
+    public void shouldAnswerRangeQueriesFromSortedIndexWithMultiProperties() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("ts", Vertex.class, TinkerGraph.IndexType.SORTED);
+        final Vertex v = g.addVertex("name", "a");
+        v.property("ts", 10);
+        v.property("ts", 40);
+        g.addVertex("name", "b", "ts", 25);
+
+        // neither value of "a" is within the range, but each value satisfies one of the bounds
+        assertEquals(Arrays.asList("a", "b"), g.V().has("ts", Compare.gt, 20).has("ts", Compare.lt, 30).<String>values("name").order().toList());
+        assertEquals(Arrays.asList("a"), g.V().has("ts", Compare.gt, 30).<String>values("name").toList());
+
+        // once "a" is down to a single value it is answered by the sorted index alone
+        assertTrue(g.vertexIndex.multiValued.get("ts").contains(v));
+        v.properties("ts").has(T.value, 40).next().remove();
+        assertFalse(g.vertexIndex.multiValued.get("ts").contains(v));
+        assertEquals(Arrays.asList("b"), g.V().has("ts", Compare.gt, 20).has("ts", Compare.lt, 30).<String>values("name").toList());
+        assertEquals(0, g.V().has("ts", Compare.gt, 30).count().next().intValue());
+    }
+
+    @Test
+    public void shouldManageCompositeIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "email");
+        g.createCompositeIndex(Edge.class, "since", "weight");
+
+        assertEquals(Collections.singleton(Arrays.asList(T.label.getAccessor(), "tenant", "email")), g.getCompositeIndexedKeys(Vertex.class));
+        assertEquals(Collections.singleton(Arrays.asList("since", "weight")), g.getCompositeIndexedKeys(Edge.class));
+        assertEquals(0, g.getIndexedKeys(Vertex.class).size());
+
+        g.dropCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "email");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(1, g.getCompositeIndexedKeys(Edge.class).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotCreateCompositeIndexWithRepeatedKeys() {
+        TinkerGraph.open().createCompositeIndex(Vertex.class, "tenant", "tenant");
+    }
+
+    @Test
+    public void shouldAnswerEqualityLookupsFromCompositeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("tenant", Vertex.class);
+        for (int ix = 0; ix < 100; ix++) {
+            g.addVertex(T.label, "user", "tenant", "a", "email", "user" + ix + "@a.com");
+        }
+        g.addVertex(T.label, "admin", "tenant", "a", "email", "user1@a.com");
+        final Vertex b = g.addVertex(T.label, "user", "tenant", "b", "email", "user1@a.com");
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "tenant", "email");
+
+        assertEquals(1, g.vertexIndex.count(Arrays.asList(T.label.getAccessor(), "tenant", "email"), Arrays.asList("user", "a", "user1@a.com")));
+        assertEquals(1, g.V().has(T.label, "user").has("tenant", "a").has("email", "user1@a.com").count().next().intValue());
+        assertEquals(2, g.V().has("tenant", "a").has("email", "user1@a.com").count().next().intValue());
+        assertEquals(b, g.V().has(T.label, "user").has("tenant", "b").has("email", "user1@a.com").next());
+
+        // elements added, mutated and removed after the index was created are kept current
+        final Vertex c = g.addVertex(T.label, "user", "tenant", "c");
+        assertEquals(0, g.V().has(T.label, "user").has("tenant", "c").has("email", "c@c.com").count().next().intValue());
+        c.property("email", "c@c.com");
+        assertEquals(c, g.V().has(T.label, "user").has("tenant", "c").has("email", "c@c.com").next());
+        b.property("email").remove();
+        assertEquals(0, g.vertexIndex.count(Arrays.asList(T.label.getAccessor(), "tenant", "email"), Arrays.asList("user", "b", "user1@a.com")));
+        b.property("email", "b@b.com");
+        assertEquals(b, g.V().has(T.label, "user").has("tenant", "b").has("email", "b@b.com").next());
+        c.remove();
+        assertEquals(0, g.vertexIndex.count(Arrays.asList(T.label.getAccessor(), "tenant", "email"), Arrays.asList("user", "c", "c@c.com")));
+        assertEquals(0, g.V().has(T.label, "user").has("tenant", "c").has("email", "c@c.com").count().next().intValue());
+
+        // multi-properties are indexed under each of their values
+        b.property("email", "b2@b.com");
+        assertEquals(b, g.V().has(T.label, "user").has("tenant", "b").has("email", "b@b.com").next());
+        assertEquals(b, g.V().has(T.label, "user").has("tenant", "b").has("email", "b2@b.com").next());
+
+        b.properties("email").has(T.value, "b@b.com").next().remove();
+        assertEquals(0, g.V().has(T.label, "user").has("tenant", "b").has("email", "b@b.com").count().next().intValue());
+        assertEquals(b, g.V().has(T.label, "user").has("tenant", "b").has("email", "b2@b.com").next());
+        b.property("tenant").remove();
+        assertEquals(0, g.vertexIndex.count(Arrays.asList(T.label.getAccessor(), "tenant", "email"), Arrays.asList("user", "b", "b2@b.com")));
+    }
+
+    @Test
+    public void shouldAnswerEqualityLookupsFromEdgeCompositeIndex() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        g.createCompositeIndex(Edge.class, T.label.getAccessor(), "weight");
+        assertEquals(2, g.edgeIndex.count(Arrays.asList(T.label.getAccessor(), "weight"), Arrays.asList("created", 0.4d)));
+        assertEquals(2, g.E().has(T.label, "created").has("weight", 0.4d).count().next().intValue());
+        assertEquals(0, g.E().has(T.label, "knows").has("weight", 0.4d).count().next().intValue());
+
+        g.e(11).property("weight", 0.5d);
+        assertEquals(1, g.E().has(T.label, "created").has("weight", 0.4d).count().next().intValue());
+        assertEquals(1, g.E().has(T.label, "created").has("weight", 0.5d).count().next().intValue());
+        g.e(11).property("weight").remove();
+        assertEquals(0, g.E().has(T.label, "created").has("weight", 0.5d).count().next().intValue());
+        g.e(9).remove();
+        assertEquals(0, g.edgeIndex.count(Arrays.asList(T.label.getAccessor(), "weight"), Arrays.asList("created", 0.4d)));
+    }
+
+    @Test
+    public void shouldRemoveEmptyIndexBucketsWhenElementsAreRemoved() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        g.createIndex(T.label.getAccessor(), Edge.class);
+        g.createIndex("weight", Edge.class);
+
+        final Vertex marko = g.v(1);
+        marko.property("age", 30);
+        marko.remove();
+
+        assertEquals(5, g.vertexIndex.index.get("name").size());
+        assertNull(g.vertexIndex.index.get("name").get("marko"));
+        assertEquals(3, g.vertexIndex.sortedIndex.get("age").size());
+        assertEquals(0, g.vertexIndex.multiValued.get("age").size());
+        assertEquals(0, g.V().has("name", "marko").count().next().intValue());
+        assertEquals(0, g.V().has("age", Compare.lt, 31).has("age", Compare.gt, 28).count().next().intValue());
+
+        // the edges of marko are removed from the edge index as well
+        assertEquals(3, g.edgeIndex.index.get("weight").size());
+        assertNull(g.edgeIndex.index.get(T.label.getAccessor()).get("knows"));
+        assertEquals(3, g.edgeIndex.count(T.label.getAccessor(), "created"));
+
+        g.e(12).remove();
+        assertNull(g.edgeIndex.index.get("weight").get(0.2d));
+        assertEquals(2, g.edgeIndex.count(T.label.getAccessor(), "created"));
+        g.E().toList().forEach(Edge::remove);
+        assertEquals(0, g.edgeIndex.index.get("weight").size());
+        assertEquals(0, g.edgeIndex.index.get(T.label.getAccessor()).size());
+    }
+
+    @Test
+    public void shouldCountFromIndicesWhenHasContainersAreCovered() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        g.createIndex("lang", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        g.createCompositeIndex(Edge.class, T.label.getAccessor(), "weight");
+
+        assertEquals(6l, g.V().count().next().longValue());
+        assertEquals(6l, g.E().count().next().longValue());
+        assertEquals(2l, g.V().has("lang", "java").count().next().longValue());
+        assertEquals(0l, g.V().has("lang", "scala").count().next().longValue());
+        assertEquals(1l, g.V().has("age", 29).count().next().longValue());
+        assertEquals(2l, g.E().has(T.label, "created").has("weight", 0.4d).count().next().longValue());
+        assertEquals(2l, g.E().has("weight", 0.4d).has(T.label, "created").count().next().longValue());
+
+        // containers that are not covered by an index are still counted correctly
+        assertEquals(1l, g.V().has("lang", "java").has("name", "lop").count().next().longValue());
+        assertEquals(0l, g.V().has("lang", "java").has("lang", "scala").count().next().longValue());
+        assertEquals(2l, g.V().has("age", Compare.gt, 30).count().next().longValue());
+        assertEquals(1l, g.E().has(T.label, "created").has("weight", 1.0d).count().next().longValue());
+        assertEquals(6l, g.V().out().count().next().longValue());
+
+        // iteration takes a snapshot so the elements can be removed while iterating
+        g.V().has("lang", "java").forEachRemaining(v -> v.remove());
+        assertEquals(0l, g.V().has("lang", "java").count().next().longValue());
+        assertEquals(4l, g.V().count().next().longValue());
+        assertEquals(2l, g.E().count().next().longValue());
+    }
+
+    @Test
+    public void shouldTraverseFrozenGraphLikeMutableGraph() throws Exception {
+        final TinkerGraph g = TinkerFactory.createModern();
+        final TinkerGraph frozen = TinkerFactory.createModern();
+        frozen.v(1).addEdge("knows", frozen.v(1), T.id, 13, "weight", 0.1d);
+        g.v(1).addEdge("knows", g.v(1), T.id, 13, "weight", 0.1d);
+        frozen.freeze();
+        assertTrue(frozen.isFrozen());
+        assertTrue(!g.isFrozen());
+
+        for (final Object id : Arrays.asList(1, 2, 3, 4, 5, 6)) {
+            for (final Direction direction : Direction.values()) {
+                assertEquals(g.v(id).to(direction).<String>values("name").order().toList(), frozen.v(id).to(direction).<String>values("name").order().toList());
+                assertEquals(g.v(id).to(direction, "knows").id().order().toList(), frozen.v(id).to(direction, "knows").id().order().toList());
+                assertEquals(g.v(id).toE(direction).id().order().toList(), frozen.v(id).toE(direction).id().order().toList());
+                assertEquals(g.v(id).toE(direction, "created", "knows").id().order().toList(), frozen.v(id).toE(direction, "created", "knows").id().order().toList());
+                assertEquals(0, frozen.v(id).toE(direction, "unknown").count().next().intValue());
+            }
+        }
+        assertEquals(g.V().out().out().<String>values("name").order().toList(), frozen.V().out().out().<String>values("name").order().toList());
+        assertEquals(g.V().both().both().count().next(), frozen.V().both().both().count().next());
+        assertEquals(g.V().out().count().submit(g.compute()).next(), frozen.V().out().count().submit(frozen.compute()).next());
+    }
+
+    @Test
+    public void shouldNotMutateFrozenGraph() {
+        final TinkerGraph g = TinkerFactory.createModern();
+        g.freeze();
+        shouldFailOnFrozenGraph(() -> g.addVertex("name", "stephen"));
+        shouldFailOnFrozenGraph(() -> g.v(1).addEdge("knows", g.v(2)));
+        shouldFailOnFrozenGraph(() -> g.v(1).property("name", "marko a. rodriguez"));
+        shouldFailOnFrozenGraph(() -> g.v(1).property("name").remove());
+        shouldFailOnFrozenGraph(() -> g.v(1).property("name").property("acl", "public"));
+        shouldFailOnFrozenGraph(() -> g.e(7).property("weight", 0.6d));
+        shouldFailOnFrozenGraph(() -> g.e(7).property("weight").remove());
+        shouldFailOnFrozenGraph(() -> g.e(7).remove());
+        shouldFailOnFrozenGraph(() -> g.v(1).remove());
+        assertEquals(6l, g.V().count().next().longValue());
+        assertEquals(6l, g.E().count().next().longValue());
+
+        g.createIndex("name", Vertex.class);
+        assertEquals(1l, g.V().has("name", "marko").count().next().longValue());
+
+        g.clear();
+        assertTrue(!g.isFrozen());
+        g.addVertex("name", "stephen").addEdge("self", g.V().next());
+        assertEquals(1l, g.V().out().count().next().longValue());
+    }
+
+    private static void shouldFailOnFrozenGraph(final Runnable mutation) {
+        try {
+            mutation.run();
+            fail("The frozen graph should not have been mutated");
+        } catch (UnsupportedOperationException | IllegalStateException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldShareLabelsAndKeysAcrossElements() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex a = g.addVertex(T.label, new String("person"), new String("name"), "a");
+        final Vertex b = g.addVertex(T.label, new String("person"), new String("name"), "b");
+        a.addEdge(new String("knows"), b, new String("since"), 2010);
+        b.addEdge(new String("knows"), a, new String("since"), 2011);
+
+        assertSame(a.label(), b.label());
+        assertSame(a.property("name").key(), b.property("name").key());
+        assertSame(TinkerHelper.getProperties((TinkerElement) a).keySet().iterator().next(), TinkerHelper.getProperties((TinkerElement) b).keySet().iterator().next());
+        final List<Edge> edges = g.E().toList();
+        assertSame(edges.get(0).label(), edges.get(1).label());
+        assertSame(edges.get(0).property("since").key(), edges.get(1).property("since").key());
+    }
+
+    @Test
+    public void shouldStoreSingleAndMultiPropertiesCompactly() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex("name", "marko", "location", "santa fe");
+        final VertexProperty<String> brussels = v.property("location", "brussels");
+        v.property("location", "santa cruz");
+
+        final Map<String, List<Property>> properties = TinkerHelper.getProperties((TinkerElement) v);
+        assertEquals(2, properties.size());
+        assertEquals(1, properties.get("name").size());
+        assertEquals(3, properties.get("location").size());
+        assertNull(properties.get("age"));
+        assertEquals(Arrays.asList("santa fe", "brussels", "santa cruz"), v.<String>values("location").toList());
+
+        brussels.remove();
+        assertEquals(Arrays.asList("santa fe", "santa cruz"), v.<String>values("location").toList());
+        v.properties("location").forEachRemaining(p -> p.remove());
+        assertEquals(1, properties.size());
+        assertTrue(!v.property("location").isPresent());
+
+        v.property("name", "marko a. rodriguez");
+        assertEquals(Arrays.asList("marko", "marko a. rodriguez"), v.<String>values("name").order().toList());
+        v.properties("name").forEachRemaining(p -> {
+            if (p.value().equals("marko")) p.remove();
+        });
+        assertEquals(1, properties.get("name").size());
+        assertEquals("marko a. rodriguez", v.value("name"));
+    }
+
+    @Test
+    public void shouldPersistGraphToDirectory() throws IOException {
+        final Configuration conf = persistentConfiguration("shouldPersistGraphToDirectory");
+        final TinkerGraph g = TinkerGraph.open(conf);
+        final Vertex marko = g.addVertex(T.id, 1, T.label, "person", "name", "marko", "location", "santa fe");
+        marko.property("location", "brussels").property("startTime", 2005);
+        final Vertex lop = g.addVertex(T.id, 3, T.label, "software", "name", "lop");
+        final Vertex peter = g.addVertex(T.id, 6, "name", "peter");
+        marko.addEdge("created", lop, T.id, 9, "weight", 0.4d);
+        peter.addEdge("created", lop, T.id, 12, "weight", 0.2d).property("weight", 0.3d);
+        g.variables().set("creator", "marko");
+        g.close();
+
+        final TinkerGraph g1 = TinkerGraph.open(conf);
+        assertEquals(3, g1.V().count().next().intValue());
+        assertEquals(2, g1.E().count().next().intValue());
+        assertEquals("person", g1.v(1).label());
+        assertEquals(Arrays.asList("santa fe", "brussels"), g1.v(1).<String>values("location").toList());
+        assertEquals(2005, g1.v(1).properties("location").has(T.value, "brussels").next().<Integer>value("startTime").intValue());
+        assertEquals(0.3d, g1.e(12).<Double>value("weight"), 0.0001d);
+        assertEquals(Arrays.asList("lop"), g1.v(6).out("created").<String>values("name").toList());
+        assertEquals("marko", g1.variables().<String>get("creator").get());
+
+        final Vertex vadas = g1.addVertex("name", "vadas");
+        assertTrue(!vadas.id().equals(1) && !vadas.id().equals(3) && !vadas.id().equals(6));
+        g1.close();
+    }
+
+    @Test
+    public void shouldReplayLogWithoutClose() throws IOException {
+        final Configuration conf = persistentConfiguration("shouldReplayLogWithoutClose");
+        final TinkerGraph g = TinkerGraph.open(conf);
+        final Vertex a = g.addVertex(T.id, 1, "name", "a", "age", 29);
+        final Vertex b = g.addVertex(T.id, 2, "name", "b");
+        final Vertex c = g.addVertex(T.id, 3, "name", "c");
+        a.addEdge("knows", b, T.id, 4, "since", 2010);
+        a.addEdge("knows", c, T.id, 5);
+        a.property("age").remove();
+        b.property("name").property("acl", "public");
+        b.property("name").property("acl").remove();
+        g.e(4).property("since").remove();
+        c.remove();
+        g.variables().set("x", 1);
+        g.variables().set("y", 2);
+        g.variables().remove("x");
+
+        // the graph is not closed so only the log is there to read
+        final TinkerGraph g1 = TinkerGraph.open(conf);
+        assertEquals(2, g1.V().count().next().intValue());
+        assertEquals(1, g1.E().count().next().intValue());
+        assertTrue(!g1.v(1).property("age").isPresent());
+        assertTrue(!g1.v(2).property("name").property("acl").isPresent());
+        assertTrue(!g1.e(4).property("since").isPresent());
+        assertEquals(Collections.singleton("y"), g1.variables().keys());
+        g1.clear();
+        g1.close();
+
+        final TinkerGraph g2 = TinkerGraph.open(conf);
+        assertEquals(0, g2.V().count().next().intValue());
+        g2.close();
+    }
+
+    @Test
+    public void shouldIgnoreTruncatedLogRecord() throws IOException {
+        final Configuration conf = persistentConfiguration("shouldIgnoreTruncatedLogRecord");
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.addVertex(T.id, 1, "name", "a");
+        g.addVertex(T.id, 2, "name", "b");
+
+        final File log = new File(conf.getString(TinkerGraph.CONFIG_DIRECTORY), "tinkergraph.log.0");
+        try (final RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.setLength(file.length() - 2);
+        }
+
+        final TinkerGraph g1 = TinkerGraph.open(conf);
+        assertEquals(2, g1.V().count().next().intValue());
+        assertTrue(g1.v(1).property("name").isPresent());
+        assertTrue(!g1.v(2).property("name").isPresent());
+        g1.v(2).property("name", "c");
+        g1.close();
+
+        final TinkerGraph g2 = TinkerGraph.open(conf);
+        assertEquals("c", g2.v(2).value("name"));
+        g2.close();
+    }
+
+    @Test
+    public void shouldCompactLogIntoSnapshot() throws IOException {
+        final Configuration conf = persistentConfiguration("shouldCompactLogIntoSnapshot");
+        conf.setProperty(TinkerGraph.CONFIG_COMPACTION_THRESHOLD, 10);
+        final File directory = new File(conf.getString(TinkerGraph.CONFIG_DIRECTORY));
+        final TinkerGraph g = TinkerGraph.open(conf);
+        for (int i = 0; i < 25; i++) {
+            g.addVertex(T.id, i, "name", "v" + i);
+        }
+        // the logs are compacted in the background as the graph is mutated
+        g.storage.awaitCompaction();
+        assertTrue(new File(directory, "tinkergraph.snapshot").exists());
+        assertTrue(!new File(directory, "tinkergraph.log.0").exists());
+        assertTrue(new File(directory, "tinkergraph.log.5").exists());
+        final TinkerGraph g1 = TinkerGraph.open(conf);
+        assertEquals(25, g1.V().count().next().intValue());
+        assertEquals("v24", g1.v(24).value("name"));
+
+        for (int i = 0; i < 4; i++) {
+            g.v(i).remove();
+        }
+        g.compact();
+        assertEquals(8l, new File(directory, "tinkergraph.log.6").length());
+        assertEquals(1, directory.list((dir, name) -> name.startsWith("tinkergraph.log.")).length);
+
+        final TinkerGraph g2 = TinkerGraph.open(conf);
+        assertEquals(21, g2.V().count().next().intValue());
+        assertEquals("v24", g2.v(24).value("name"));
+        g2.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotPersistConcurrentGraph() throws IOException {
+        final Configuration conf = persistentConfiguration("shouldNotPersistConcurrentGraph");
+        conf.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        TinkerGraph.open(conf);
+    }
+
+    @Test
+    public void shouldSyncLogWhenConfigured() throws IOException {
+        final Configuration conf = persistentConfiguration("shouldSyncLogWhenConfigured");
+        conf.setProperty(TinkerGraph.CONFIG_SYNC_LOG, true);
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.addVertex(T.id, 1, "name", "a").addEdge("self", g.v(1), T.id, 2, "weight", 0.5d);
+
+        final TinkerGraph g1 = TinkerGraph.open(conf);
+        assertEquals("a", g1.v(1).value("name"));
+        assertEquals(0.5d, g1.e(2).<Double>value("weight"), 0.0d);
+        g.close();
+    }
+
+    private static Configuration persistentConfiguration(final String name) throws IOException {
+        final File directory = new File(tempPath, name);
+        FileUtils.deleteDirectory(directory);
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_DIRECTORY, directory.getAbsolutePath());
+        return conf;
+    }
+
     @Ignore
     @Test
     public void shouldUpdateVertexIndicesInNewGraph() {
@@ -481,6 +955,275 @@ public class TinkerGraphTest {
         }, 0.5).has("oid", "1")).count());
     }
 
+    @Test
+    public void shouldCoerceNumericIdsWithLongIdManager() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        conf.setProperty(TinkerGraph.CONFIG_EDGE_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+
+        final Vertex v1 = g.addVertex(T.id, 1);
+        final Vertex v2 = g.addVertex(T.id, 2l);
+        final Edge e = v1.addEdge("knows", v2, T.id, (short) 3);
+        final Vertex v3 = g.addVertex();
+
+        assertEquals(1l, v1.id());
+        assertEquals(3l, e.id());
+        assertTrue(v3.id() instanceof Long);
+        assertEquals(v1, g.v(1));
+        assertEquals(v1, g.v(1l));
+        assertEquals(v1, g.v("1"));
+        assertEquals(v2, g.v(2));
+        assertEquals(e, g.e(3));
+        assertEquals(e, g.e(3l));
+        assertEquals(3, g.V().count().next().intValue());
+        assertEquals(1, g.E().count().next().intValue());
+
+        v1.remove();
+        assertEquals(2, g.V().count().next().intValue());
+        assertEquals(0, g.E().count().next().intValue());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void shouldNotFindVertexWithUnconvertibleIdWithLongIdManager() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.LONG.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.addVertex(T.id, 1);
+        g.v(UUID.randomUUID());
+    }
+
+    @Test
+    public void shouldCoerceIdsWithIntegerAndUuidIdManagers() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_VERTEX_ID_MANAGER, TinkerGraph.DefaultIdManager.INTEGER.name());
+        conf.setProperty(TinkerGraph.CONFIG_EDGE_ID_MANAGER, TinkerGraph.DefaultIdManager.UUID.name());
+        final TinkerGraph g = TinkerGraph.open(conf);
+
+        final UUID edgeId = UUID.randomUUID();
+        final Vertex v1 = g.addVertex(T.id, 1l);
+        final Edge e1 = v1.addEdge("self", v1, T.id, edgeId.toString());
+        final Edge e2 = v1.addEdge("self", v1);
+
+        assertEquals(1, v1.id());
+        assertEquals(edgeId, e1.id());
+        assertTrue(e2.id() instanceof UUID);
+        assertEquals(v1, g.v(1l));
+        assertEquals(e1, g.e(edgeId));
+        assertEquals(e1, g.e(edgeId.toString()));
+    }
+
+    @Test
+    public void shouldNotGenerateIdsThatCollideWithUserSuppliedIds() {
+        final TinkerGraph g = TinkerGraph.open();
+        final Vertex v = g.addVertex(T.id, 5l);
+        g.addVertex().addEdge("self", v, T.id, 7l);
+        g.addVertex(T.id, 2l);
+        for (int i = 0; i < 10; i++) {
+            final Vertex generated = g.addVertex();
+            assertTrue((Long) generated.id() > 7l);
+            assertTrue((Long) generated.addEdge("self", generated).id() > 7l);
+        }
+
+        assertEquals(v, g.v(5l));
+        assertEquals(13, g.V().count().next().intValue());
+        assertEquals(11, g.E().count().next().intValue());
+    }
+
+    @Test
+    public void shouldNotGenerateIdsThatCollideWithUserSuppliedIdsFromOtherThreads() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(conf);
+
+        final int threads = 8;
+        final int verticesPerThread = 5000;
+        final AtomicInteger userVertices = new AtomicInteger(0);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> writerThreads = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final boolean generating = i % 2 == 0;
+            final int writer = i;
+            writerThreads.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < verticesPerThread; j++) {
+                        if (generating)
+                            g.addVertex();
+                        else {
+                            // user supplied ids fall into the blocks that the generating threads are handing out
+                            try {
+                                g.addVertex(T.id, (long) (j * threads + writer));
+                                userVertices.incrementAndGet();
+                            } catch (IllegalArgumentException e) {
+                                if (!e.getMessage().startsWith("Vertex with id already exists"))
+                                    throw e;
+                            }
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        writerThreads.forEach(Thread::start);
+        for (final Thread thread : writerThreads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals((threads / 2) * verticesPerThread + userVertices.get(), g.V().count().next().intValue());
+    }
+
+    @Test
+    public void shouldAllowConcurrentWritersAndReadersInConcurrentMode() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.createIndex("writer", Vertex.class);
+
+        final int writers = 4;
+        final int verticesPerWriter = 2000;
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> writerThreads = new ArrayList<>();
+        final List<Thread> readerThreads = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            final int writer = i;
+            writerThreads.add(new Thread(() -> {
+                try {
+                    Vertex last = g.addVertex("writer", writer);
+                    for (int j = 1; j < verticesPerWriter; j++) {
+                        final Vertex v = g.addVertex("writer", writer);
+                        v.property("index", j);
+                        v.addEdge("parent", last, "weight", 0.5d);
+                        last = v;
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+            readerThreads.add(new Thread(() -> {
+                try {
+                    while (writing.get()) {
+                        g.V().out().count().next();
+                        g.V().has("writer", writer).outE().values("weight").count().next();
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        readerThreads.forEach(Thread::start);
+        writerThreads.forEach(Thread::start);
+        for (final Thread thread : writerThreads) {
+            thread.join();
+        }
+        writing.set(false);
+        for (final Thread thread : readerThreads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(writers * verticesPerWriter, g.V().count().next().intValue());
+        assertEquals(writers * (verticesPerWriter - 1), g.E().count().next().intValue());
+        assertEquals(verticesPerWriter, g.V().has("writer", 2).count().next().intValue());
+    }
+
+    @Test
+    public void shouldKeepIndexEntriesUnderConcurrentAddsAndRemovesInConcurrentMode() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.createIndex("bucket", Vertex.class);
+        g.createCompositeIndex(Vertex.class, "bucket", "group");
+
+        // each value is kept by one writer while the others add and remove it, which empties its index entries
+        final int writers = 4;
+        final int values = 2000;
+        final CyclicBarrier barrier = new CyclicBarrier(writers);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> writerThreads = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            final int writer = i;
+            final Vertex keeper = g.addVertex("group", "a");
+            final Vertex churner = g.addVertex("group", "a");
+            writerThreads.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < values; j++) {
+                        barrier.await();
+                        if (j % writers == writer)
+                            keeper.property("bucket", j);
+                        else
+                            churner.property("bucket", j).remove();
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        writerThreads.forEach(Thread::start);
+        for (final Thread thread : writerThreads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        for (int j = 0; j < values; j++) {
+            assertEquals(1, g.vertexIndex.get("bucket", j).size());
+            assertEquals(1, g.vertexIndex.get(Arrays.asList("bucket", "group"), Arrays.asList(j, "a")).size());
+        }
+        assertEquals(values, g.V().properties("bucket").count().next().intValue());
+    }
+
+    @Test
+    public void shouldKeepTheIndexInStepWithConcurrentWritersOfTheSameKeyInConcurrentMode() throws Exception {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.CONFIG_CONCURRENT, true);
+        final TinkerGraph g = TinkerGraph.open(conf);
+        g.createIndex("value", Vertex.class);
+        g.createIndex("value", Edge.class);
+        final Vertex v = g.addVertex();
+        final Edge e = v.addEdge("self", v);
+
+        final int writers = 4;
+        final int iterations = 2000;
+        final CyclicBarrier barrier = new CyclicBarrier(writers);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> writerThreads = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            final int writer = i;
+            writerThreads.add(new Thread(() -> {
+                try {
+                    for (int j = 0; j < iterations; j++) {
+                        barrier.await();
+                        v.singleProperty("value", writer);
+                        e.property("value", writer);
+                        if (j % 3 == writer % 3)
+                            e.property("value").remove();
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        writerThreads.forEach(Thread::start);
+        for (final Thread thread : writerThreads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(1, g.V().properties("value").count().next().intValue());
+        final int vertexValue = v.value("value");
+        final Object edgeValue = e.property("value").orElse(null);
+        for (int i = 0; i < writers; i++) {
+            assertEquals(i == vertexValue ? 1 : 0, g.vertexIndex.get("value", i).size());
+            assertEquals(Integer.valueOf(i).equals(edgeValue) ? 1 : 0, g.edgeIndex.get("value", i).size());
+        }
+    }
+
     /**
      * This test helps with data conversions on Grateful Dead.  No Assertions...run as needed. Never read from the
      * GraphML source as it will always use a String identifier.